@@ -41,8 +41,32 @@
  *
  */
 
+#include <stdint.h>
 #include <unistd.h>
 
+// Layout must match Sysconf.Values in Java, every field is a 64-bit integer.
+struct sysconf_values {
+    int64_t clk_tck;
+    int64_t page_size;
+    int64_t nprocessors_onln;
+    int64_t nprocessors_conf;
+    int64_t phys_pages;
+    int64_t open_max;
+};
+
 int main(void) {
     return sysconf(_SC_CLK_TCK);
-}
\ No newline at end of file
+}
+
+// Fills all constants in one call and always returns 0.
+// Each field is -1 if sysconf failed or has no value for it, for example _SC_OPEN_MAX when there is no limit.
+// The caller decides which constants it requires.
+int sysconf_values(struct sysconf_values *values) {
+    values->clk_tck = sysconf(_SC_CLK_TCK);
+    values->page_size = sysconf(_SC_PAGESIZE);
+    values->nprocessors_onln = sysconf(_SC_NPROCESSORS_ONLN);
+    values->nprocessors_conf = sysconf(_SC_NPROCESSORS_CONF);
+    values->phys_pages = sysconf(_SC_PHYS_PAGES);
+    values->open_max = sysconf(_SC_OPEN_MAX);
+    return 0;
+}
@@ -0,0 +1,173 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+// Reads the clock tick rate and the page size from the auxiliary vector the kernel passed to the JVM, found in /proc/self/auxv.
+// The vector is a list of type-value pairs of native words in native byte order, ending with a pair of type AT_NULL.
+// The file is read once. Values missing from the vector, or a vector that cannot be read, are asked from the fallback, such as the native Sysconf.
+public class AuxvSysconf implements SysconfInterface {
+
+    private static final long AT_NULL = 0;
+    private static final long AT_PAGESZ = 6;
+    private static final long AT_CLKTCK = 17;
+    private final File auxv;
+    private final int wordSize;
+    private final SysconfInterface fallback;
+    private volatile long[] values;
+
+    // Without a fallback, values missing from the vector throw.
+    public AuxvSysconf() {
+        this(new Missing());
+    }
+
+    public AuxvSysconf(SysconfInterface fallback) {
+        this(new File("/proc/self/auxv"), fallback);
+    }
+
+    public AuxvSysconf(File auxv, SysconfInterface fallback) {
+        this(auxv, "32".equals(System.getProperty("sun.arch.data.model")) ? 4 : 8, fallback);
+    }
+
+    public AuxvSysconf(File auxv, int wordSize, SysconfInterface fallback) {
+        this.auxv = auxv;
+        this.wordSize = wordSize;
+        this.fallback = fallback;
+    }
+
+    // Returns the number of clock ticks per second.
+    @Override
+    public long main() throws Exception {
+        long clkTck = auxv()[0];
+        if (clkTck <= 0) {
+            return fallback.main();
+        }
+        return clkTck;
+    }
+
+    // Returns the page size in bytes.
+    @Override
+    public long pageSize() throws Exception {
+        long pageSize = auxv()[1];
+        if (pageSize <= 0) {
+            return fallback.pageSize();
+        }
+        return pageSize;
+    }
+
+    // Constants other than the clock tick rate and the page size are asked from the fallback.
+    @Override
+    public SysconfValues values() throws Exception {
+        SysconfValues fallbackValues = fallback.values();
+        return new SysconfValues(
+                main(),
+                pageSize(),
+                fallbackValues.onlineProcessors(),
+                fallbackValues.configuredProcessors(),
+                fallbackValues.physicalPages(),
+                fallbackValues.openMax()
+        );
+    }
+
+    private long[] auxv() {
+        long[] current = values;
+        if (current == null) {
+            current = read();
+            values = current;
+        }
+        return current;
+    }
+
+    // Values are 0 when they are not found.
+    private long[] read() {
+        long[] read = new long[2];
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(auxv.toPath())).order(ByteOrder.nativeOrder());
+        }
+        catch (Exception e) {
+            return read;
+        }
+        while (buffer.remaining() >= 2 * wordSize) {
+            long type = word(buffer);
+            long value = word(buffer);
+            if (type == AT_NULL) {
+                break;
+            }
+            if (type == AT_CLKTCK) {
+                read[0] = value;
+            }
+            else if (type == AT_PAGESZ) {
+                read[1] = value;
+            }
+        }
+        return read;
+    }
+
+    private long word(ByteBuffer buffer) {
+        if (wordSize == 4) {
+            return buffer.getInt() & 0xFFFFFFFFL;
+        }
+        return buffer.getLong();
+    }
+
+    private static final class Missing implements SysconfInterface {
+
+        @Override
+        public long main() throws Exception {
+            throw new Exception("Clock tick rate is not in the auxiliary vector!");
+        }
+
+        @Override
+        public long pageSize() throws Exception {
+            throw new Exception("Page size is not in the auxiliary vector!");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+// Calls the origin only once. The clock tick rate and the page size do not change while the system is running, so there is no need to call the native library on every sample.
+// A failed call is not cached, the origin is called again on the next call.
+// values() is not cached, because the number of online processors and the physical pages can change.
+public class CachedSysconf implements SysconfInterface {
+
+    private final SysconfInterface origin;
+    private volatile long cached;
+    private volatile long cachedPageSize;
+
+    public CachedSysconf(SysconfInterface origin) {
+        this.origin = origin;
+        this.cached = -1;
+        this.cachedPageSize = -1;
+    }
+
+    @Override
+    public long main() throws Exception {
+        long value = cached;
+        if (value == -1) {
+            value = origin.main();
+            cached = value;
+        }
+        return value;
+    }
+
+    @Override
+    public long pageSize() throws Exception {
+        long value = cachedPageSize;
+        if (value == -1) {
+            value = origin.pageSize();
+            cachedPageSize = value;
+        }
+        return value;
+    }
+
+    @Override
+    public SysconfValues values() throws Exception {
+        return origin.values();
+    }
+}
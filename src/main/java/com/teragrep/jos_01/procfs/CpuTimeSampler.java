@@ -0,0 +1,120 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.Projection;
+import com.teragrep.jos_01.procfs.status.process.Stat;
+
+import java.util.EnumSet;
+
+// Samples the CPU time of a process or a thread and returns its CPU usage over the interval since the previous sample.
+// Usage uses the same scale as Process.cpuUsage(): 1.0 means one fully used CPU, so a process using 8 CPUs reports 8.0.
+// The interval is measured between the monotonic read times of the samples, so changes to the wall clock do not affect it.
+// The stat file is read with the byte level parser into the same buffer on every sample, and the clock tick rate is read only once.
+// A changed start time means the id now belongs to another process or thread, and the sample starts a new baseline.
+public class CpuTimeSampler {
+
+    // Only the CPU times and the start time are decoded, parsing of the stat file stops after starttime.
+    private static final Projection<Stat.Field> STAT = new Projection<Stat.Field>(
+            EnumSet.of(Stat.Field.utime, Stat.Field.stime, Stat.Field.starttime)
+    );
+    private final ByteText stat;
+    private final long cpuTicksPerSecond;
+    private long previousTicks;
+    private long previousNanos;
+    private long previousStarttime;
+
+    public CpuTimeSampler(Process process) throws Exception {
+        this(
+                new ByteFile(process.procDirectory(), "stat", process.os().handles()),
+                process.os().context().cpuTicksPerSecond()
+        );
+    }
+
+    public CpuTimeSampler(Task task) throws Exception {
+        this(
+                new ByteFile(task.procDirectory(), "stat", task.process().os().handles()),
+                task.process().os().context().cpuTicksPerSecond()
+        );
+    }
+
+    public CpuTimeSampler(ByteText stat, long cpuTicksPerSecond) throws Exception {
+        this.stat = stat;
+        this.cpuTicksPerSecond = cpuTicksPerSecond;
+        Stat first = new Stat(stat, STAT);
+        this.previousNanos = first.readEnd();
+        this.previousTicks = ticks(first);
+        this.previousStarttime = first.starttime();
+    }
+
+    private static long ticks(Stat stat) {
+        return stat.utime() + stat.stime();
+    }
+
+    public synchronized double sample() throws Exception {
+        try {
+            Stat current = new Stat(stat, STAT);
+            long nanos = current.readEnd();
+            long ticks = ticks(current);
+            long elapsedTicks = ticks - previousTicks;
+            long elapsedNanos = nanos - previousNanos;
+            boolean reused = current.starttime() != previousStarttime;
+            previousTicks = ticks;
+            previousNanos = nanos;
+            previousStarttime = current.starttime();
+            // CPU time can only decrease if the id now belongs to another process or thread, which is also seen as a changed start time.
+            if (reused || elapsedTicks < 0 || elapsedNanos <= 0) {
+                return 0;
+            }
+            return (elapsedTicks / (double) cpuTicksPerSecond) / (elapsedNanos / 1e9);
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to sample CPU usage!", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.os.LongStat;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Utilization of the CPUs over the interval between two /proc/stat snapshots, as percentages of the elapsed ticks. The snapshots can be Stat or the primitive LongStat.
+// Index 0 of every array is the aggregate of all CPUs, the following indexes are the CPUs in the order of the later snapshot. ids() gives the numbers of the CPUs.
+// Cores are matched by their numbers, so CPUs that were brought online between the snapshots have no earlier ticks and are reported as NaN.
+// A column that has decreased between the snapshots, for example after a counter reset, contributes no ticks to the interval.
+public class CpuUtilization {
+
+    // Columns of a cpu row of /proc/stat. Guest times are already included in user and nice, so they are not part of the total.
+    private static final int USER = 0;
+    private static final int NICE = 1;
+    private static final int SYSTEM = 2;
+    private static final int IDLE = 3;
+    private static final int IOWAIT = 4;
+    private static final int IRQ = 5;
+    private static final int SOFTIRQ = 6;
+    private static final int STEAL = 7;
+    private static final int COLUMNS = 8;
+
+    private final int[] ids;
+    private final long[] totalTicks;
+    private final double[][] percentages;
+
+    public CpuUtilization(Stat previous, Stat current) {
+        this(ids(previous.cpuIds()), rows(previous.cpus()), ids(current.cpuIds()), rows(current.cpus()));
+    }
+
+    // Computes the utilization from the primitive arrays of LongStat without boxing.
+    public CpuUtilization(LongStat previous, LongStat current) {
+        this(previous.cpuIds(), previous.cpus(), current.cpuIds(), current.cpus());
+    }
+
+    private CpuUtilization(int[] previousIds, long[][] previousCpus, int[] currentIds, long[][] currentCpus) {
+        int count = currentCpus.length;
+        ids = new int[count];
+        totalTicks = new long[count];
+        percentages = new double[COLUMNS][count];
+        long[] deltas = new long[COLUMNS];
+        for (int index = 0; index < count; index++) {
+            ids[index] = currentIds[index];
+            int previousIndex = index;
+            if (index >= previousIds.length || previousIds[index] != currentIds[index]) {
+                previousIndex = indexOf(previousIds, currentIds[index]);
+            }
+            if (previousIndex == -1) {
+                for (double[] column : percentages) {
+                    column[index] = Double.NaN;
+                }
+                continue;
+            }
+            long[] before = previousCpus[previousIndex];
+            long[] after = currentCpus[index];
+            Arrays.fill(deltas, 0);
+            long total = 0;
+            for (int column = 0; column < COLUMNS && column < before.length && column < after.length; column++) {
+                deltas[column] = Math.max(0, after[column] - before[column]);
+                total = total + deltas[column];
+            }
+            totalTicks[index] = total;
+            for (int column = 0; column < COLUMNS; column++) {
+                percentages[column][index] = total == 0 ? Double.NaN : 100.0 * deltas[column] / total;
+            }
+        }
+    }
+
+    private static int indexOf(int[] ids, int id) {
+        for (int index = 0; index < ids.length; index++) {
+            if (ids[index] == id) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] ids(ArrayList<Integer> list) {
+        int[] ids = new int[list.size()];
+        for (int index = 0; index < ids.length; index++) {
+            ids[index] = list.get(index);
+        }
+        return ids;
+    }
+
+    private static long[][] rows(ArrayList<ArrayList<Long>> list) {
+        long[][] rows = new long[list.size()][];
+        for (int row = 0; row < rows.length; row++) {
+            ArrayList<Long> values = list.get(row);
+            rows[row] = new long[values.size()];
+            for (int column = 0; column < rows[row].length; column++) {
+                rows[row][column] = values.get(column);
+            }
+        }
+        return rows;
+    }
+
+    public int cores() {
+        return ids.length - 1;
+    }
+
+    public int[] ids() {
+        return Arrays.copyOf(ids, ids.length);
+    }
+
+    // Ticks elapsed on each CPU during the interval.
+    public long[] totalTicks() {
+        return Arrays.copyOf(totalTicks, totalTicks.length);
+    }
+
+    public double[] user() {
+        return column(USER);
+    }
+
+    public double[] nice() {
+        return column(NICE);
+    }
+
+    public double[] system() {
+        return column(SYSTEM);
+    }
+
+    public double[] idle() {
+        return column(IDLE);
+    }
+
+    public double[] iowait() {
+        return column(IOWAIT);
+    }
+
+    public double[] irq() {
+        return column(IRQ);
+    }
+
+    public double[] softirq() {
+        return column(SOFTIRQ);
+    }
+
+    public double[] steal() {
+        return column(STEAL);
+    }
+
+    // Percentage of the interval spent on anything else than idle or iowait.
+    public double[] busy() {
+        double[] busy = new double[ids.length];
+        for (int index = 0; index < busy.length; index++) {
+            busy[index] = 100.0 - percentages[IDLE][index] - percentages[IOWAIT][index];
+        }
+        return busy;
+    }
+
+    // Aggregate busy percentage of all CPUs.
+    public double aggregate() {
+        return busy()[0];
+    }
+
+    private double[] column(int column) {
+        return Arrays.copyOf(percentages[column], ids.length);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.os.Diskstats;
+
+import java.util.Arrays;
+
+// I/O rates of the block devices over the interval between two /proc/diskstats snapshots, derived the same way as iostat -x.
+// Every array is indexed by the devices in the order of the later snapshot, names() gives the names of the devices.
+// Devices are matched by their names, so a device that appeared between the snapshots has no earlier counters and is reported as NaN.
+// A counter that has decreased between the snapshots, for example after the device was recreated or a 32-bit time counter wrapped around, is assumed to have started from 0, as in Counters.
+public class DiskRates {
+
+    private static final int READS = 0;
+    private static final int WRITES = 1;
+    private static final int DISCARDS = 2;
+    private static final int READ_BYTES = 3;
+    private static final int WRITE_BYTES = 4;
+    private static final int READ_AWAIT = 5;
+    private static final int WRITE_AWAIT = 6;
+    private static final int AWAIT = 7;
+    private static final int UTILIZATION = 8;
+    private static final int QUEUE_SIZE = 9;
+    private static final int RATES = 10;
+    private static final int SECTOR_SIZE = 512;
+
+    private final long intervalNanos;
+    private final String[] names;
+    private final double[][] rates;
+
+    public DiskRates(Diskstats previous, Diskstats current) {
+        intervalNanos = current.readEnd() - previous.readEnd();
+        int count = current.count();
+        names = new String[count];
+        rates = new double[RATES][count];
+        double seconds = intervalNanos / 1e9;
+        double milliseconds = intervalNanos / 1e6;
+        for (int device = 0; device < count; device++) {
+            names[device] = current.name(device);
+            int previousDevice = device;
+            if (device >= previous.count() || !previous.name(device).equals(current.name(device))) {
+                previousDevice = previous.index(current.name(device));
+            }
+            if (previousDevice == -1 || intervalNanos <= 0) {
+                for (double[] rate : rates) {
+                    rate[device] = Double.NaN;
+                }
+                continue;
+            }
+            double reads = delta(previous, previousDevice, current, device, Diskstats.Column.reads_completed);
+            double writes = delta(previous, previousDevice, current, device, Diskstats.Column.writes_completed);
+            double readTime = delta(previous, previousDevice, current, device, Diskstats.Column.time_reading);
+            double writeTime = delta(previous, previousDevice, current, device, Diskstats.Column.time_writing);
+            rates[READS][device] = reads / seconds;
+            rates[WRITES][device] = writes / seconds;
+            rates[DISCARDS][device] = delta(
+                    previous, previousDevice, current, device, Diskstats.Column.discards_completed
+            ) / seconds;
+            rates[READ_BYTES][device] = delta(previous, previousDevice, current, device, Diskstats.Column.sectors_read)
+                    * SECTOR_SIZE / seconds;
+            rates[WRITE_BYTES][device] = delta(
+                    previous, previousDevice, current, device, Diskstats.Column.sectors_written
+            ) * SECTOR_SIZE / seconds;
+            rates[READ_AWAIT][device] = reads == 0 ? Double.NaN : readTime / reads;
+            rates[WRITE_AWAIT][device] = writes == 0 ? Double.NaN : writeTime / writes;
+            rates[AWAIT][device] = reads + writes == 0 ? Double.NaN : (readTime + writeTime) / (reads + writes);
+            rates[UTILIZATION][device] = Math
+                    .min(100.0, 100.0 * delta(previous, previousDevice, current, device, Diskstats.Column.time_doing_io) / milliseconds);
+            rates[QUEUE_SIZE][device] = delta(
+                    previous, previousDevice, current, device, Diskstats.Column.weighted_time_doing_io
+            ) / milliseconds;
+        }
+    }
+
+    private static double delta(
+            Diskstats previous,
+            int previousDevice,
+            Diskstats current,
+            int device,
+            Diskstats.Column column
+    ) {
+        return Counters.increase(previous.value(previousDevice, column), current.value(device, column));
+    }
+
+    public long intervalNanos() {
+        return intervalNanos;
+    }
+
+    public String[] names() {
+        return Arrays.copyOf(names, names.length);
+    }
+
+    // Reads completed per second.
+    public double[] readsPerSecond() {
+        return rate(READS);
+    }
+
+    // Writes completed per second.
+    public double[] writesPerSecond() {
+        return rate(WRITES);
+    }
+
+    // Discards completed per second, 0 on kernels before 4.18.
+    public double[] discardsPerSecond() {
+        return rate(DISCARDS);
+    }
+
+    // Reads and writes completed per second.
+    public double[] iops() {
+        double[] iops = new double[names.length];
+        for (int device = 0; device < iops.length; device++) {
+            iops[device] = rates[READS][device] + rates[WRITES][device];
+        }
+        return iops;
+    }
+
+    public double[] readBytesPerSecond() {
+        return rate(READ_BYTES);
+    }
+
+    public double[] writeBytesPerSecond() {
+        return rate(WRITE_BYTES);
+    }
+
+    // Average time in milliseconds a read took from issue to completion, including the time in the queue. NaN when no reads completed.
+    public double[] readAwait() {
+        return rate(READ_AWAIT);
+    }
+
+    public double[] writeAwait() {
+        return rate(WRITE_AWAIT);
+    }
+
+    // Average time in milliseconds of reads and writes together.
+    public double[] await() {
+        return rate(AWAIT);
+    }
+
+    // Percentage of the interval the device had I/O in flight, capped at 100. This is not a measure of saturation for devices serving requests in parallel, such as NVMe, which can be at 100 while far from saturated.
+    public double[] utilization() {
+        return rate(UTILIZATION);
+    }
+
+    // Average number of requests in flight during the interval.
+    public double[] averageQueueSize() {
+        return rate(QUEUE_SIZE);
+    }
+
+    private double[] rate(int rate) {
+        return Arrays.copyOf(rates[rate], names.length);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteContent;
+import com.teragrep.jos_01.procfs.status.ByteCursor;
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.Handles;
+import com.teragrep.jos_01.procfs.status.OneShotHandles;
+import com.teragrep.jos_01.procfs.status.ReadStatus;
+import com.teragrep.jos_01.procfs.status.process.Stat;
+import com.teragrep.jos_01.procfs.status.process.Statm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// Process table that is kept up to date between sweeps instead of being parsed again from scratch.
+// Processes are identified by their pid and starttime, so a pid reused by a new process is detected as a new process.
+// The stat file of every process is read on every sweep, but only the counters needed to detect changes are parsed from it.
+// Processes whose utime and stime have not moved keep their previous Stat and Statm, and their statm is not read at all.
+// Memory of an idle process can still change, for example when its pages are reclaimed, so idle processes are parsed fully every refreshInterval sweeps.
+public class IncrementalProcessTable {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(IncrementalProcessTable.class);
+    private final LinuxOS os;
+    private final int refreshInterval;
+    private final Handles handles;
+    private final HashMap<Long, Entry> entries;
+    private final long[] ticks;
+    private ByteBuffer buffer;
+    private long[] started;
+    private long[] exited;
+    private int parsed;
+
+    private static final class Entry {
+
+        private final long starttime;
+        private final long cpuTicks;
+        private final Stat stat;
+        private final Statm statm;
+        private final int sweepsSinceParse;
+
+        private Entry(long starttime, long cpuTicks, Stat stat, Statm statm, int sweepsSinceParse) {
+            this.starttime = starttime;
+            this.cpuTicks = cpuTicks;
+            this.stat = stat;
+            this.statm = statm;
+            this.sweepsSinceParse = sweepsSinceParse;
+        }
+    }
+
+    public IncrementalProcessTable(LinuxOS os) {
+        this(os, 10);
+    }
+
+    public IncrementalProcessTable(LinuxOS os, int refreshInterval) {
+        this.os = os;
+        this.refreshInterval = refreshInterval;
+        this.handles = new OneShotHandles();
+        this.entries = new HashMap<Long, Entry>();
+        this.ticks = new long[3];
+        this.buffer = ByteBuffer.allocate(4096);
+        this.started = new long[0];
+        this.exited = new long[0];
+        this.parsed = 0;
+    }
+
+    public synchronized ProcessColumns sweep() throws Exception {
+        long[] pids;
+        try {
+            pids = new Pids(os.procDirectory()).list();
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to sweep the process table!", e);
+        }
+        long[] startedPids = new long[pids.length];
+        int startedCount = 0;
+        int parsedCount = 0;
+        HashMap<Long, Entry> current = new HashMap<Long, Entry>((int) (pids.length / 0.75f) + 1);
+        ProcessColumns columns = new ProcessColumns(pids);
+        for (int row = 0; row < pids.length; row++) {
+            long pid = pids[row];
+            File procDirectory = new File(os.procDirectory(), Long.toString(pid));
+            // A process that has exited during the sweep is reported by the reads as a status, so no exception is built for it.
+            ByteFile statFile = new ByteFile(new File(procDirectory, "stat"), handles, buffer);
+            if (statFile.tryRead() != ReadStatus.ok) {
+                continue;
+            }
+            try {
+                ByteBuffer content = statFile.content();
+                buffer = content;
+                ticks(content);
+                Entry previous = entries.get(pid);
+                boolean isNew = previous == null || previous.starttime != ticks[2];
+                Entry entry;
+                if (
+                    !isNew && previous.cpuTicks == ticks[0] + ticks[1]
+                            && previous.sweepsSinceParse + 1 < refreshInterval
+                ) {
+                    entry = new Entry(
+                            previous.starttime,
+                            previous.cpuTicks,
+                            previous.stat,
+                            previous.statm,
+                            previous.sweepsSinceParse + 1
+                    );
+                }
+                else {
+                    Stat stat = new Stat(new ByteContent(content, statFile));
+                    ByteFile statmFile = new ByteFile(new File(procDirectory, "statm"), handles, buffer);
+                    if (statmFile.tryRead() != ReadStatus.ok) {
+                        continue;
+                    }
+                    Statm statm = new Statm(new ByteContent(statmFile.content(), statmFile));
+                    entry = new Entry(ticks[2], ticks[0] + ticks[1], stat, statm, 0);
+                    parsedCount++;
+                }
+                if (isNew) {
+                    startedPids[startedCount] = pid;
+                    startedCount++;
+                }
+                current.put(pid, entry);
+                columns.set(row, entry.stat, entry.statm);
+            }
+            catch (Exception e) {
+                // The files of the process can not be parsed.
+                LOGGER.trace("Skipping process {}", pid, e);
+            }
+        }
+        long[] exitedPids = new long[entries.size()];
+        int exitedCount = 0;
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Entry> previous = iterator.next();
+            Entry entry = current.get(previous.getKey());
+            if (entry == null || entry.starttime != previous.getValue().starttime) {
+                exitedPids[exitedCount] = previous.getKey();
+                exitedCount++;
+            }
+        }
+        entries.clear();
+        entries.putAll(current);
+        started = Arrays.copyOf(startedPids, startedCount);
+        exited = Arrays.copyOf(exitedPids, exitedCount);
+        Arrays.sort(exited);
+        parsed = parsedCount;
+        return columns.compacted();
+    }
+
+    // Parses only utime, stime and starttime from the stat file, skipping the fields between them without decoding.
+    private void ticks(ByteBuffer content) throws Exception {
+        ByteCursor cursor = new ByteCursor(content);
+        int commEnd = cursor.lastIndexOf((byte) ')');
+        if (commEnd == -1) {
+            throw new Exception("Stat is missing the closing parenthesis of comm!");
+        }
+        cursor.position(commEnd + 1);
+        // Fields from state (3) to cmajflt (13) precede utime (14) and stime (15).
+        for (int field = 3; field < 14; field++) {
+            cursor.skipToken();
+        }
+        ticks[0] = cursor.nextLong();
+        ticks[1] = cursor.nextLong();
+        // Fields from cutime (16) to itrealvalue (21) precede starttime (22).
+        for (int field = 16; field < 22; field++) {
+            cursor.skipToken();
+        }
+        ticks[2] = cursor.nextLong();
+    }
+
+    // Pids of the processes that appeared during the last sweep, including the ones that reused the pid of an exited process.
+    public synchronized long[] started() {
+        return started;
+    }
+
+    // Pids of the processes that were in the table before the last sweep but have since exited.
+    public synchronized long[] exited() {
+        return exited;
+    }
+
+    // Number of processes fully parsed during the last sweep.
+    public synchronized int parsed() {
+        return parsed;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -46,6 +46,9 @@
 package com.teragrep.jos_01.procfs;
 
 import java.io.File;
+import java.util.EnumSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import com.teragrep.jos_01.procfs.status.*;
 import com.teragrep.jos_01.procfs.status.os.*;
@@ -60,61 +63,140 @@ public class LinuxOS {
 
     private final SysconfInterface sysconf;
 
+    private final Handles handles;
+
+    private final SharedOSContext context;
+
+    // Shared by the LinuxOS objects using the default Sysconf, so /proc/self/auxv is read only once.
+    // The native library is loaded only if the auxiliary vector does not have the clock tick rate.
+    private static final SysconfInterface SYSCONF = new AuxvSysconf(new CachedSysconf(new Sysconf()));
+
+    private static final long CONTEXT_TIME_TO_LIVE = TimeUnit.SECONDS.toNanos(10);
+
+    // Shared by the LinuxOS objects of the default /proc, so processes created with their own LinuxOS do not load the context separately.
+    private static final SharedOSContext CONTEXT = new SharedOSContext(
+            new File("/proc"),
+            SYSCONF,
+            CONTEXT_TIME_TO_LIVE
+    );
+
     public LinuxOS(SysconfInterface sysconf) {
         this("/proc", sysconf);
     }
 
     public LinuxOS(String procDirectoryPath) {
-        this(procDirectoryPath, new Sysconf());
+        this(procDirectoryPath, SYSCONF);
     }
 
     public LinuxOS() {
-        this("/proc", new Sysconf());
+        this("/proc", SYSCONF, new OneShotHandles(), CONTEXT);
     }
 
     public LinuxOS(String procDirectoryPath, SysconfInterface sysconf) {
+        this(procDirectoryPath, sysconf, new OneShotHandles());
+    }
+
+    // Handles decide how the /proc files are opened. Use CachedHandles to keep the files open between samples.
+    public LinuxOS(String procDirectoryPath, SysconfInterface sysconf, Handles handles) {
+        this(
+                procDirectoryPath,
+                sysconf,
+                handles,
+                new SharedOSContext(new File(procDirectoryPath), sysconf, CONTEXT_TIME_TO_LIVE)
+        );
+    }
+
+    // LinuxOS objects given the same SharedOSContext load the context only once per time to live.
+    public LinuxOS(String procDirectoryPath, SysconfInterface sysconf, Handles handles, SharedOSContext context) {
         procDirectory = new File(procDirectoryPath);
         this.sysconf = sysconf;
+        this.handles = handles;
+        this.context = context;
     }
 
     public Stat stat() throws Exception {
         try {
-            return new Stat(new RowFile(procDirectory, "stat"));
+            return new Stat(new RowFile(procDirectory, "stat", handles));
         }
         catch (Exception e) {
             throw new Exception("Failed to create a Stat object!", e);
         }
     }
 
+    // Parses stat into primitive arrays instead of Strings and boxed Longs.
+    public LongStat longStat() throws Exception {
+        try {
+            return new LongStat(new ByteFile(procDirectory, "stat", handles));
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create a LongStat object!", e);
+        }
+    }
+
     public Vmstat vmstat() throws Exception {
         try {
-            return new Vmstat(new RowFile(procDirectory, "vmstat"));
+            return new Vmstat(new RowFile(procDirectory, "vmstat", handles));
         }
         catch (Exception e) {
             throw new Exception("Failed to create a Vmstat object!", e);
         }
     }
 
+    // Parses vmstat into a primitive array instead of Strings.
+    public LongVmstat longVmstat() throws Exception {
+        try {
+            return new LongVmstat(new ByteFile(procDirectory, "vmstat", handles));
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create a LongVmstat object!", e);
+        }
+    }
+
     public Meminfo meminfo() throws Exception {
         try {
-            return new Meminfo(new RowFile(procDirectory, "meminfo"));
+            return new Meminfo(new RowFile(procDirectory, "meminfo", handles));
         }
         catch (Exception e) {
             throw new Exception("Failed to create a Meminfo object!", e);
         }
     }
 
-    // Estimates page size in kB.
+    // Reads stat, vmstat, meminfo and uptime back-to-back into one snapshot, so the values of the files are from nearly the same instant.
+    public OSSnapshot snapshot() throws Exception {
+        try {
+            return new OSSnapshot(this);
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create an OSSnapshot object!", e);
+        }
+    }
+
+    public OSSnapshot snapshot(EnumSet<OSSnapshot.Source> sources) throws Exception {
+        try {
+            return new OSSnapshot(this, sources);
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create an OSSnapshot object!", e);
+        }
+    }
+
+    // Reads the files in parallel with the executor.
+    public OSSnapshot snapshot(EnumSet<OSSnapshot.Source> sources, ExecutorService executor) throws Exception {
+        try {
+            return new OSSnapshot(this, sources, executor);
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create an OSSnapshot object!", e);
+        }
+    }
+
+    // Returns page size in kB.
     public long pageSize() throws Exception {
         try {
-            Vmstat vmstat = vmstat();
-            Meminfo meminfo = meminfo();
-            long mapped = meminfo.Mapped();
-            long nr_mapped = vmstat.nr_mapped();
-            return mapped / nr_mapped;
+            return sysconf.pageSize() / 1024;
         }
         catch (Exception e) {
-            throw new Exception("Failed to calculate page size! ", e);
+            throw new Exception("Failed to get system page size!", e);
         }
     }
 
@@ -162,7 +244,7 @@ public class LinuxOS {
 
     public Cpuinfo cpuinfo() throws Exception {
         try {
-            return new Cpuinfo(new RowFile(procDirectory, "cpuinfo"));
+            return new Cpuinfo(new RowFile(procDirectory, "cpuinfo", handles));
         }
         catch (Exception e) {
             throw new Exception("Failed to create a Cpuinfo object!", e);
@@ -171,13 +253,70 @@ public class LinuxOS {
 
     public Uptime uptime() throws Exception {
         try {
-            return new Uptime(new CharacterDelimited(new RowFile(procDirectory, "uptime"), " "));
+            return new Uptime(new CharacterDelimited(new RowFile(procDirectory, "uptime", handles), " "));
         }
         catch (Exception e) {
             throw new Exception("Failed to create a Uptime object!", e);
         }
     }
 
+    // I/O counters of the block devices.
+    public Diskstats diskstats() throws Exception {
+        try {
+            return new Diskstats(new ByteFile(procDirectory, "diskstats", handles));
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create a Diskstats object!", e);
+        }
+    }
+
+    // Samples the I/O rates of the block devices over the interval between samples.
+    public DiskstatsSampler diskstatsSampler() throws Exception {
+        return new DiskstatsSampler(this);
+    }
+
+    // Counters of the network interfaces.
+    public NetDev netDev() throws Exception {
+        try {
+            return new NetDev(new ByteFile(new File(procDirectory, "net"), "dev", handles));
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create a NetDev object!", e);
+        }
+    }
+
+    // Samples the rates of the network interface counters over the interval between samples.
+    public NetDevSampler netDevSampler() throws Exception {
+        return new NetDevSampler(this);
+    }
+
+    // Pressure stall information of the resource. The pressure directory exists on kernels built with CONFIG_PSI, from Linux 4.20 on.
+    public Pressure pressure(Pressure.Resource resource) throws Exception {
+        try {
+            return new Pressure(new RowFile(new File(procDirectory, "pressure"), resource.name(), handles));
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create a Pressure object!", e);
+        }
+    }
+
+    public Pressure cpuPressure() throws Exception {
+        return pressure(Pressure.Resource.cpu);
+    }
+
+    public Pressure memoryPressure() throws Exception {
+        return pressure(Pressure.Resource.memory);
+    }
+
+    public Pressure ioPressure() throws Exception {
+        return pressure(Pressure.Resource.io);
+    }
+
+    // Samples the stall rates of the resource over the interval between samples.
+    public PressureSampler pressureSampler(Pressure.Resource resource) throws Exception {
+        return new PressureSampler(this, resource);
+    }
+
     public long cpuTicksPerSecond() throws Exception {
         try {
             long clkTck = sysconf.main();
@@ -188,8 +327,28 @@ public class LinuxOS {
         }
     }
 
+    // Clock tick rate, page size, number of processors, physical pages and the open file limit from sysconf(3).
+    public SysconfValues sysconfValues() throws Exception {
+        try {
+            return sysconf.values();
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to get system configuration!", e);
+        }
+    }
+
+    // Page size, total RAM, clock tick rate, boot time and online CPUs, cached for the time to live of the SharedOSContext.
+    // Use pageSize(), totalRAM() and cpuTicksPerSecond() to read the current values instead.
+    public OSContext context() throws Exception {
+        return context.context();
+    }
+
     public File procDirectory() {
         return procDirectory;
     }
 
+    public Handles handles() {
+        return handles;
+    }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.os.NetDev;
+
+import java.io.File;
+
+// Samples /proc/net/dev continuously and returns the rates of the interface counters since the previous sample.
+// The file is read into the same buffer on every sample, and the interface names of the previous sample are reused while the interfaces stay the same.
+public class NetDevSampler {
+
+    private final ByteText netDev;
+    private NetDev previous;
+
+    public NetDevSampler(LinuxOS os) throws Exception {
+        this(new ByteFile(new File(os.procDirectory(), "net"), "dev", os.handles()));
+    }
+
+    public NetDevSampler(ByteText netDev) throws Exception {
+        this.netDev = netDev;
+        this.previous = new NetDev(netDev);
+    }
+
+    public synchronized NetRates sample() throws Exception {
+        try {
+            NetDev current = new NetDev(netDev, previous);
+            NetRates rates = new NetRates(previous, current);
+            previous = current;
+            return rates;
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to sample network interfaces!", e);
+        }
+    }
+}
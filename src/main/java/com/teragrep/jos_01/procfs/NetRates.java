@@ -0,0 +1,118 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.os.NetDev;
+
+import java.util.Arrays;
+
+// Per-second rates of the network interface counters over the interval between two /proc/net/dev snapshots.
+// The rates are kept in one double array indexed by the interface and the column, in the order of the later snapshot, so no objects are created per interface.
+// Interfaces are matched by their names, so an interface that appeared between the snapshots has no earlier counters and is reported as NaN.
+// A counter that has decreased was reset, for example by recreating the interface, and is assumed to have started from 0, as in Counters.
+public class NetRates {
+
+    private static final int COLUMNS = NetDev.Column.values().length;
+
+    private final long intervalNanos;
+    private final String[] names;
+    private final double[] rates;
+
+    public NetRates(NetDev previous, NetDev current) {
+        intervalNanos = current.readEnd() - previous.readEnd();
+        int count = current.count();
+        names = new String[count];
+        rates = new double[count * COLUMNS];
+        double seconds = intervalNanos / 1e9;
+        NetDev.Column[] columns = NetDev.Column.values();
+        for (int row = 0; row < count; row++) {
+            names[row] = current.name(row);
+            int previousRow = row;
+            if (row >= previous.count() || !previous.name(row).equals(current.name(row))) {
+                previousRow = previous.index(current.name(row));
+            }
+            for (NetDev.Column column : columns) {
+                if (previousRow == -1 || intervalNanos <= 0) {
+                    rates[row * COLUMNS + column.ordinal()] = Double.NaN;
+                }
+                else {
+                    rates[row * COLUMNS + column.ordinal()] = Counters
+                            .increase(previous.value(previousRow, column), current.value(row, column)) / seconds;
+                }
+            }
+        }
+    }
+
+    public long intervalNanos() {
+        return intervalNanos;
+    }
+
+    public int count() {
+        return names.length;
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    // Increase of the counter per second.
+    public double rate(int row, NetDev.Column column) {
+        return rates[row * COLUMNS + column.ordinal()];
+    }
+
+    // Rates of one column for every interface.
+    public double[] rates(NetDev.Column column) {
+        double[] values = new double[names.length];
+        for (int row = 0; row < values.length; row++) {
+            values[row] = rates[row * COLUMNS + column.ordinal()];
+        }
+        return values;
+    }
+
+    public String[] names() {
+        return Arrays.copyOf(names, names.length);
+    }
+}
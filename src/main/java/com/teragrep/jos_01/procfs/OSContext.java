@@ -0,0 +1,117 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import java.util.Arrays;
+
+// Values of the operating system that derived metrics of processes depend on, but that rarely or never change while the system is running.
+// Loaded by SharedOSContext, which decides how long a context is used before it is loaded again.
+public class OSContext {
+
+    private final long pageSize;
+    private final long totalRAM;
+    private final long cpuTicksPerSecond;
+    private final long bootTime;
+    private final int[] cpuIds;
+    private final long version;
+    private final long loaded;
+
+    public OSContext(
+            long pageSize,
+            long totalRAM,
+            long cpuTicksPerSecond,
+            long bootTime,
+            int[] cpuIds,
+            long version,
+            long loaded
+    ) {
+        this.pageSize = pageSize;
+        this.totalRAM = totalRAM;
+        this.cpuTicksPerSecond = cpuTicksPerSecond;
+        this.bootTime = bootTime;
+        this.cpuIds = cpuIds;
+        this.version = version;
+        this.loaded = loaded;
+    }
+
+    // Page size in kB.
+    public long pageSize() {
+        return pageSize;
+    }
+
+    // Total RAM in kB.
+    public long totalRAM() {
+        return totalRAM;
+    }
+
+    public long cpuTicksPerSecond() {
+        return cpuTicksPerSecond;
+    }
+
+    // Boot time of the system in seconds since the epoch.
+    public long bootTime() {
+        return bootTime;
+    }
+
+    // Numbers of the online CPUs in ascending order.
+    public int[] cpuIds() {
+        return Arrays.copyOf(cpuIds, cpuIds.length);
+    }
+
+    public int cpuCount() {
+        return cpuIds.length;
+    }
+
+    // Number of the load that produced this context, starting from 1. A higher version was loaded later.
+    public long version() {
+        return version;
+    }
+
+    // Value of System.nanoTime() when the context was loaded.
+    public long loaded() {
+        return loaded;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteContent;
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.ByteLines;
+import com.teragrep.jos_01.procfs.status.CharacterDelimited;
+import com.teragrep.jos_01.procfs.status.os.Meminfo;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+import com.teragrep.jos_01.procfs.status.os.Uptime;
+import com.teragrep.jos_01.procfs.status.os.Vmstat;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Reads a set of OS files back-to-back, and only parses them after all of them have been read, so the values of different files are from nearly the same instant.
+// The files can also be read in parallel by an ExecutorService, which narrows the read window further on busy systems.
+// readStart() and readEnd() are System.nanoTime() values taken before the first read and after the last one. Their difference bounds the skew between the files.
+public class OSSnapshot {
+
+    // Files that can be included in a snapshot.
+    public enum Source {
+        stat, vmstat, meminfo, uptime
+    }
+
+    private final EnumSet<Source> sources;
+    private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
+    private final Stat stat;
+    private final Vmstat vmstat;
+    private final Meminfo meminfo;
+    private final Uptime uptime;
+
+    public OSSnapshot(LinuxOS os) throws Exception {
+        this(os, EnumSet.allOf(Source.class));
+    }
+
+    public OSSnapshot(LinuxOS os, EnumSet<Source> sources) throws Exception {
+        this(sources, read(os, sources));
+    }
+
+    public OSSnapshot(LinuxOS os, EnumSet<Source> sources, ExecutorService executor) throws Exception {
+        this(sources, read(os, sources, executor));
+    }
+
+    private OSSnapshot(EnumSet<Source> sources, Reads reads) throws Exception {
+        this.sources = EnumSet.copyOf(sources);
+        this.timestamp = reads.timestamp;
+        this.readStart = reads.start;
+        this.readEnd = reads.end;
+        ByteContent content = reads.content(Source.stat);
+        this.stat = content == null ? null : new Stat(content);
+        content = reads.content(Source.vmstat);
+        this.vmstat = content == null ? null : new Vmstat(content);
+        content = reads.content(Source.meminfo);
+        this.meminfo = content == null ? null : new Meminfo(content);
+        content = reads.content(Source.uptime);
+        this.uptime = content == null ? null : new Uptime(
+                new CharacterDelimited(new ByteLines(content.bytes(), content), " ")
+        );
+    }
+
+    private static Reads read(LinuxOS os, EnumSet<Source> sources) throws Exception {
+        Reads reads = new Reads(Instant.now(), System.nanoTime());
+        for (Source source : sources) {
+            reads.put(source, read(os, source));
+        }
+        reads.end = System.nanoTime();
+        return reads;
+    }
+
+    private static Reads read(LinuxOS os, EnumSet<Source> sources, ExecutorService executor) throws Exception {
+        Reads reads = new Reads(Instant.now(), System.nanoTime());
+        ArrayList<Future<ByteContent>> futures = new ArrayList<Future<ByteContent>>();
+        for (Source source : sources) {
+            futures.add(executor.submit(() -> read(os, source)));
+        }
+        int index = 0;
+        for (Source source : sources) {
+            try {
+                reads.put(source, futures.get(index).get());
+            }
+            catch (Exception e) {
+                throw new Exception("Failed to read " + source + " for the snapshot!", e);
+            }
+            index++;
+        }
+        reads.end = System.nanoTime();
+        return reads;
+    }
+
+    private static ByteContent read(LinuxOS os, Source source) throws Exception {
+        ByteFile file = new ByteFile(os.procDirectory(), source.name(), os.handles());
+        ByteBuffer buffer = file.bytes();
+        return new ByteContent(buffer, file);
+    }
+
+    // Contents of the files, kept until they are parsed.
+    private static final class Reads {
+
+        private final Instant timestamp;
+        private final long start;
+        private final EnumMap<Source, ByteContent> contents;
+        private long end;
+
+        private Reads(Instant timestamp, long start) {
+            this.timestamp = timestamp;
+            this.start = start;
+            this.contents = new EnumMap<Source, ByteContent>(Source.class);
+        }
+
+        private void put(Source source, ByteContent content) {
+            contents.put(source, content);
+        }
+
+        private ByteContent content(Source source) {
+            return contents.get(source);
+        }
+    }
+
+    public EnumSet<Source> sources() {
+        return EnumSet.copyOf(sources);
+    }
+
+    public boolean contains(Source source) {
+        return sources.contains(source);
+    }
+
+    // Wall clock time of the start of the read, for display. Use readStart() and readEnd() for intervals.
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public long readStart() {
+        return readStart;
+    }
+
+    public long readEnd() {
+        return readEnd;
+    }
+
+    // Upper bound of the time between the reads of any two files of the snapshot, in nanoseconds.
+    public long skew() {
+        return readEnd - readStart;
+    }
+
+    public Stat stat() throws Exception {
+        return included(stat, Source.stat);
+    }
+
+    public Vmstat vmstat() throws Exception {
+        return included(vmstat, Source.vmstat);
+    }
+
+    public Meminfo meminfo() throws Exception {
+        return included(meminfo, Source.meminfo);
+    }
+
+    public Uptime uptime() throws Exception {
+        return included(uptime, Source.uptime);
+    }
+
+    private <T> T included(T value, Source source) throws Exception {
+        if (value == null) {
+            throw new Exception("Snapshot does not include " + source + "!");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.os.Pressure;
+
+// Stall rates between two samples of a /proc/pressure file, in microseconds of stall per second of the interval.
+// Dividing a rate by 10 000 gives the percentage of the interval the tasks were stalled, on the same scale as the averages of the file.
+// A total that has decreased between the samples contributes no stall time, and the full rate is NaN when the file has no full row.
+public class PressureRate {
+
+    private final long intervalNanos;
+    private final double some;
+    private final double full;
+
+    public PressureRate(Pressure previous, Pressure current) {
+        this(
+                current.readEnd() - previous.readEnd(),
+                current.someTotal() - previous.someTotal(),
+                current.fullTotal() - previous.fullTotal(),
+                previous.full() && current.full()
+        );
+    }
+
+    private PressureRate(long intervalNanos, long someMicros, long fullMicros, boolean hasFull) {
+        this.intervalNanos = intervalNanos;
+        this.some = rate(intervalNanos, someMicros);
+        this.full = hasFull ? rate(intervalNanos, fullMicros) : Double.NaN;
+    }
+
+    private static double rate(long intervalNanos, long stallMicros) {
+        if (intervalNanos <= 0 || stallMicros < 0) {
+            return 0;
+        }
+        return stallMicros / (intervalNanos / 1e9);
+    }
+
+    public long intervalNanos() {
+        return intervalNanos;
+    }
+
+    // Microseconds per second at least one task was stalled.
+    public double some() {
+        return some;
+    }
+
+    // Microseconds per second all non-idle tasks were stalled at once.
+    public double full() {
+        return full;
+    }
+}
@@ -50,8 +50,11 @@ import java.util.ArrayList;
 
 import com.teragrep.jos_01.procfs.status.process.Stat;
 import com.teragrep.jos_01.procfs.status.RowFile;
-import com.teragrep.jos_01.procfs.status.CharacterDelimited;
+import com.teragrep.jos_01.procfs.status.ByteFile;
 import com.teragrep.jos_01.procfs.status.process.Statm;
+import com.teragrep.jos_01.procfs.status.process.LongStatm;
+import com.teragrep.jos_01.procfs.status.ReadResult;
+import com.teragrep.jos_01.procfs.status.ReadStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,7 +85,7 @@ public class Process {
 
     public Stat stat() throws Exception {
         try {
-            return new Stat(new CharacterDelimited(new RowFile(procDirectory, "stat"), " "));
+            return new Stat(new ByteFile(procDirectory, "stat", os.handles()));
         }
         catch (Exception e) {
             throw new Exception("Failed to create a Stat object!", e);
@@ -91,13 +94,33 @@ public class Process {
 
     public Statm statm() throws Exception {
         try {
-            return new Statm(new RowFile(procDirectory, "statm"));
+            return new Statm(new RowFile(procDirectory, "statm", os.handles()));
         }
         catch (Exception e) {
             throw new Exception("Failed to create a Statm object!", e);
         }
     }
 
+    // Parses statm into a primitive array instead of Strings.
+    public LongStatm longStatm() throws Exception {
+        try {
+            return new LongStatm(new ByteFile(procDirectory, "statm", os.handles()));
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to create a LongStatm object!", e);
+        }
+    }
+
+    // Non-throwing variant of stat(). A process that has exited is the status gone instead of an exception, which makes it cheap to skip during a scan.
+    public ReadResult<Stat> tryStat() {
+        return ReadResult.of(new ByteFile(procDirectory, "stat", os.handles()), Stat::new);
+    }
+
+    // Non-throwing variant of statm().
+    public ReadResult<Statm> tryStatm() {
+        return ReadResult.of(new ByteFile(procDirectory, "statm", os.handles()), Statm::new);
+    }
+
     public ArrayList<Task> tasks() throws Exception {
         ArrayList<Task> tasks = new ArrayList<Task>();
         File processTaskDirectory = new File(procDirectory, "task");
@@ -119,7 +142,7 @@ public class Process {
         try {
             Statm statm = statm();
             long pageCount = statm.resident();
-            long pageSize = os.pageSize();
+            long pageSize = os.context().pageSize();
             return pageCount * pageSize;
         }
         catch (Exception e) {
@@ -127,11 +150,26 @@ public class Process {
         }
     }
 
+    // Non-throwing variant of residentSetSize().
+    public ReadResult<Float> tryResidentSetSize() {
+        ReadResult<Statm> statm = tryStatm();
+        if (!statm.ok()) {
+            return statm.failure();
+        }
+        try {
+            return new ReadResult<Float>((float) statm.value().resident() * os.context().pageSize());
+        }
+        catch (Exception e) {
+            // The value of an ok result does not throw, so the failure is in the page size of the OS context.
+            return new ReadResult<Float>(ReadStatus.osError, e);
+        }
+    }
+
     // Returns the percentage of system memory used up by this process using 0-1 scale
     public float memoryPercentage() throws Exception {
         try {
             float rss = residentSetSize();
-            float memoryPercentage = rss / os.totalRAM();
+            float memoryPercentage = rss / os.context().totalRAM();
             return memoryPercentage;
         }
         catch (Exception e) {
@@ -139,9 +177,10 @@ public class Process {
         }
     }
 
+    // Average CPU usage over the whole lifetime of the process. Use cpuSampler() for the usage over an interval.
     public double cpuUsage() throws Exception {
         try {
-            double cpuTicksPerSecond = os.cpuTicksPerSecond();
+            double cpuTicksPerSecond = os.context().cpuTicksPerSecond();
 
             double OSUpTime = os.uptime().uptimeSeconds();
             Stat status = stat();
@@ -157,10 +196,30 @@ public class Process {
         }
     }
 
+    // Non-throwing variant of cpuUsage().
+    public ReadResult<Double> tryCpuUsage() {
+        ReadResult<Stat> stat = tryStat();
+        if (!stat.ok()) {
+            return stat.failure();
+        }
+        try {
+            double cpuTicksPerSecond = os.context().cpuTicksPerSecond();
+            double OSUpTime = os.uptime().uptimeSeconds();
+            Stat status = stat.value();
+            double cpuTime = (status.utime() + status.stime()) / cpuTicksPerSecond;
+            double starttime = status.starttime() / cpuTicksPerSecond;
+            return new ReadResult<Double>(cpuTime / (OSUpTime - starttime));
+        }
+        catch (Exception e) {
+            // The value of an ok result does not throw, so the failure is in the OS context or the uptime.
+            return new ReadResult<Double>(ReadStatus.osError, e);
+        }
+    }
+
     public float cpuTime() throws Exception {
         try {
             Stat status = stat();
-            long cpuTicksPerSecond = os.cpuTicksPerSecond();
+            long cpuTicksPerSecond = os.context().cpuTicksPerSecond();
             float utime = (float) status.utime() / cpuTicksPerSecond;
             float stime = (float) status.stime() / cpuTicksPerSecond;
             return utime + stime;
@@ -170,10 +229,23 @@ public class Process {
         }
     }
 
+    // Samples the CPU usage of this process over the interval between samples.
+    public CpuTimeSampler cpuSampler() throws Exception {
+        return new CpuTimeSampler(this);
+    }
+
     public long pid() {
         return processId;
     }
 
+    public File procDirectory() {
+        return procDirectory;
+    }
+
+    public LinuxOS os() {
+        return os;
+    }
+
     // Only the OS kernel can write or delete files from /proc, so if the process ID directory exists, the process is alive.
     public boolean isAlive() {
         return procDirectory.exists();
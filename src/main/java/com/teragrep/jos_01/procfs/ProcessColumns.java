@@ -0,0 +1,244 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.process.Stat;
+import com.teragrep.jos_01.procfs.status.process.Statm;
+
+import java.util.Arrays;
+
+// Values of many processes stored column by column in primitive arrays. Row i of every column belongs to the process pids()[i].
+// Rows are sorted by pid. The column getters return copies, so callers can not change the scanned values.
+public class ProcessColumns {
+
+    private final int count;
+    private final long[] pid;
+    private final boolean[] present;
+    private final long[] ppid;
+    private final String[] comm;
+    private final char[] state;
+    private final long[] utime;
+    private final long[] stime;
+    private final long[] starttime;
+    private final long[] numThreads;
+    private final long[] vsize;
+    private final long[] rss;
+    private final long[] size;
+    private final long[] resident;
+    private final long[] shared;
+
+    // Creates empty rows for the given pids. Rows are filled by set() and the rows never set are removed by compacted().
+    ProcessColumns(long[] pids) {
+        this(
+                pids.length,
+                pids,
+                new boolean[pids.length],
+                new long[pids.length],
+                new String[pids.length],
+                new char[pids.length],
+                new long[pids.length],
+                new long[pids.length],
+                new long[pids.length],
+                new long[pids.length],
+                new long[pids.length],
+                new long[pids.length],
+                new long[pids.length],
+                new long[pids.length],
+                new long[pids.length]
+        );
+    }
+
+    private ProcessColumns(
+            int count,
+            long[] pid,
+            boolean[] present,
+            long[] ppid,
+            String[] comm,
+            char[] state,
+            long[] utime,
+            long[] stime,
+            long[] starttime,
+            long[] numThreads,
+            long[] vsize,
+            long[] rss,
+            long[] size,
+            long[] resident,
+            long[] shared
+    ) {
+        this.count = count;
+        this.pid = pid;
+        this.present = present;
+        this.ppid = ppid;
+        this.comm = comm;
+        this.state = state;
+        this.utime = utime;
+        this.stime = stime;
+        this.starttime = starttime;
+        this.numThreads = numThreads;
+        this.vsize = vsize;
+        this.rss = rss;
+        this.size = size;
+        this.resident = resident;
+        this.shared = shared;
+    }
+
+    // Rows are set by the scanning threads. Each thread sets different rows, so no locking is needed.
+    void set(int row, Stat stat, Statm statm) {
+        ppid[row] = stat.ppid();
+        comm[row] = stat.comm();
+        state[row] = stat.state().isEmpty() ? '?' : stat.state().charAt(0);
+        utime[row] = stat.utime();
+        stime[row] = stat.stime();
+        starttime[row] = stat.starttime();
+        numThreads[row] = stat.num_threads();
+        vsize[row] = stat.vsize();
+        rss[row] = stat.rss();
+        size[row] = statm.size();
+        resident[row] = statm.resident();
+        shared[row] = statm.shared();
+        present[row] = true;
+    }
+
+    // Removes the rows of the processes that exited before they were read.
+    ProcessColumns compacted() {
+        int compactedCount = 0;
+        for (int row = 0; row < count; row++) {
+            if (present[row]) {
+                compactedCount++;
+            }
+        }
+        ProcessColumns compacted = new ProcessColumns(new long[compactedCount]);
+        int target = 0;
+        for (int row = 0; row < count; row++) {
+            if (present[row]) {
+                compacted.pid[target] = pid[row];
+                compacted.present[target] = true;
+                compacted.ppid[target] = ppid[row];
+                compacted.comm[target] = comm[row];
+                compacted.state[target] = state[row];
+                compacted.utime[target] = utime[row];
+                compacted.stime[target] = stime[row];
+                compacted.starttime[target] = starttime[row];
+                compacted.numThreads[target] = numThreads[row];
+                compacted.vsize[target] = vsize[row];
+                compacted.rss[target] = rss[row];
+                compacted.size[target] = size[row];
+                compacted.resident[target] = resident[row];
+                compacted.shared[target] = shared[row];
+                target++;
+            }
+        }
+        return compacted;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // Returns the row of the given pid, or -1 if the process is not in the table.
+    public int row(long processId) {
+        int row = Arrays.binarySearch(pid, 0, count, processId);
+        return row < 0 ? -1 : row;
+    }
+
+    // The pid of a row without copying the column, for the scanning threads.
+    long pid(int row) {
+        return pid[row];
+    }
+
+    public long[] pids() {
+        return pid.clone();
+    }
+
+    public long[] ppids() {
+        return ppid.clone();
+    }
+
+    public String[] comms() {
+        return comm.clone();
+    }
+
+    public char[] states() {
+        return state.clone();
+    }
+
+    public long[] utimes() {
+        return utime.clone();
+    }
+
+    public long[] stimes() {
+        return stime.clone();
+    }
+
+    public long[] starttimes() {
+        return starttime.clone();
+    }
+
+    public long[] numThreads() {
+        return numThreads.clone();
+    }
+
+    public long[] vsizes() {
+        return vsize.clone();
+    }
+
+    public long[] rsss() {
+        return rss.clone();
+    }
+
+    // Sizes from statm, in pages.
+    public long[] sizes() {
+        return size.clone();
+    }
+
+    public long[] residents() {
+        return resident.clone();
+    }
+
+    public long[] shareds() {
+        return shared.clone();
+    }
+}
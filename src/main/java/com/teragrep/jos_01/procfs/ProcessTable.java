@@ -0,0 +1,163 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteContent;
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.Handles;
+import com.teragrep.jos_01.procfs.status.OneShotHandles;
+import com.teragrep.jos_01.procfs.status.Projection;
+import com.teragrep.jos_01.procfs.status.ReadStatus;
+import com.teragrep.jos_01.procfs.status.process.Stat;
+import com.teragrep.jos_01.procfs.status.process.Statm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Scans the stat and statm files of every process under the proc directory of a LinuxOS.
+// Processes are read in parallel by a ForkJoinPool. The pids are split into ranges until a range is small enough to be read by one thread.
+// By default the common pool is used, so a ProcessTable owns no threads. A pool passed to the constructor stays owned and shut down by the caller.
+// Processes may exit while they are being scanned. Their rows are left out of the result instead of failing the scan.
+public class ProcessTable {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ProcessTable.class);
+    // Only the columns of ProcessColumns are decoded, parsing of the stat file stops after rss.
+    private static final Projection<Stat.Field> STAT = new Projection<Stat.Field>(
+            EnumSet
+                    .of(
+                            Stat.Field.ppid, Stat.Field.comm, Stat.Field.state, Stat.Field.utime, Stat.Field.stime,
+                            Stat.Field.num_threads, Stat.Field.starttime, Stat.Field.vsize, Stat.Field.rss
+                    )
+    );
+    private static final Projection<Statm.Field> STATM = new Projection<Statm.Field>(
+            EnumSet.of(Statm.Field.size, Statm.Field.resident, Statm.Field.shared)
+    );
+    private final LinuxOS os;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final Handles handles;
+
+    public ProcessTable(LinuxOS os) {
+        this(os, ForkJoinPool.commonPool());
+    }
+
+    public ProcessTable(LinuxOS os, ForkJoinPool pool) {
+        this(os, pool, 256);
+    }
+
+    // Files of short-lived processes are opened once per scan, so the handles are not shared with the LinuxOS.
+    public ProcessTable(LinuxOS os, ForkJoinPool pool, int batchSize) {
+        this.os = os;
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.handles = new OneShotHandles();
+    }
+
+    // Lists the numeric directories of the proc directory in ascending order.
+    public long[] pids() throws Exception {
+        return new Pids(os.procDirectory()).list();
+    }
+
+    public ProcessColumns scan() throws Exception {
+        try {
+            ProcessColumns columns = new ProcessColumns(pids());
+            pool.invoke(new Scan(columns, 0, columns.count()));
+            return columns.compacted();
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to scan the process table!", e);
+        }
+    }
+
+    private final class Scan extends RecursiveAction {
+
+        private final ProcessColumns columns;
+        private final int start;
+        private final int end;
+
+        private Scan(ProcessColumns columns, int start, int end) {
+            this.columns = columns;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > batchSize) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Scan(columns, start, middle), new Scan(columns, middle, end));
+                return;
+            }
+            // One buffer per batch, reused for every file read by this thread.
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            for (int row = start; row < end; row++) {
+                File procDirectory = new File(os.procDirectory(), Long.toString(columns.pid(row)));
+                // A process that has exited or whose files can not be read is left out of the table. The reads report it as a status, so no exception is built for it.
+                ByteFile statFile = new ByteFile(new File(procDirectory, "stat"), handles, buffer);
+                if (statFile.tryRead() != ReadStatus.ok) {
+                    continue;
+                }
+                try {
+                    Stat stat = new Stat(new ByteContent(statFile.content(), statFile), STAT);
+                    ByteFile statmFile = new ByteFile(new File(procDirectory, "statm"), handles, buffer);
+                    if (statmFile.tryRead() != ReadStatus.ok) {
+                        continue;
+                    }
+                    Statm statm = new Statm(new ByteContent(statmFile.content(), statmFile), STATM);
+                    columns.set(row, stat, statm);
+                }
+                catch (Exception e) {
+                    LOGGER.trace("Skipping process {}", columns.pid(row), e);
+                }
+            }
+        }
+    }
+}
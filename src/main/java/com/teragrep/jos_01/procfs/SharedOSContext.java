@@ -0,0 +1,162 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.Projection;
+import com.teragrep.jos_01.procfs.status.os.Meminfo;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps an OSContext for the time to live and loads it again after that, so derived metrics of thousands of processes do not read the same /proc files over and over.
+// Only one thread loads at a time. While a context is being reloaded, the other threads keep using the expired one instead of waiting for the load.
+// Threads wait only for the first load, when there is no context to use yet. A failed load is not cached, the next call tries again.
+public class SharedOSContext {
+
+    private static final Projection<Stat.Row> STAT = new Projection<Stat.Row>(EnumSet.of(Stat.Row.cpu, Stat.Row.btime));
+    private static final Projection<Meminfo.Key> MEMINFO = new Projection<Meminfo.Key>(
+            EnumSet.of(Meminfo.Key.MemTotal)
+    );
+    private final File procDirectory;
+    private final SysconfInterface sysconf;
+    private final long timeToLive;
+    private final ReentrantLock lock;
+    private volatile OSContext current;
+
+    // Time to live is given in nanoseconds.
+    public SharedOSContext(File procDirectory, SysconfInterface sysconf, long timeToLive) {
+        this.procDirectory = procDirectory;
+        this.sysconf = sysconf;
+        this.timeToLive = timeToLive;
+        this.lock = new ReentrantLock();
+    }
+
+    public OSContext context() throws Exception {
+        OSContext context = current;
+        if (context != null && System.nanoTime() - context.loaded() < timeToLive) {
+            return context;
+        }
+        if (context == null) {
+            lock.lock();
+        }
+        else if (!lock.tryLock()) {
+            return context;
+        }
+        try {
+            OSContext latest = current;
+            if (latest != context && latest != null && System.nanoTime() - latest.loaded() < timeToLive) {
+                // Another thread loaded the context while this one was waiting for the lock.
+                return latest;
+            }
+            OSContext loaded = load(latest == null ? 1 : latest.version() + 1);
+            current = loaded;
+            return loaded;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    // Makes the next call of context() load the context again.
+    public void invalidate() {
+        lock.lock();
+        try {
+            OSContext context = current;
+            if (context != null) {
+                current = new OSContext(
+                        context.pageSize(),
+                        context.totalRAM(),
+                        context.cpuTicksPerSecond(),
+                        context.bootTime(),
+                        context.cpuIds(),
+                        context.version(),
+                        System.nanoTime() - timeToLive
+                );
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private OSContext load(long version) throws Exception {
+        try {
+            Stat stat = new Stat(new ByteFile(procDirectory, "stat"), STAT);
+            Meminfo meminfo = new Meminfo(new ByteFile(procDirectory, "meminfo"), MEMINFO);
+            if (!meminfo.contains(Meminfo.Key.MemTotal)) {
+                throw new Exception("Meminfo is missing the key MemTotal!");
+            }
+            ArrayList<Integer> ids = stat.cpuIds();
+            int[] cpuIds = new int[ids.size()];
+            int count = 0;
+            for (int id : ids) {
+                if (id != -1) {
+                    cpuIds[count] = id;
+                    count++;
+                }
+            }
+            cpuIds = Arrays.copyOf(cpuIds, count);
+            Arrays.sort(cpuIds);
+            return new OSContext(
+                    sysconf.pageSize() / 1024,
+                    meminfo.MemTotal(),
+                    sysconf.main(),
+                    stat.btime(),
+                    cpuIds,
+                    version,
+                    System.nanoTime()
+            );
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to load the OS context!", e);
+        }
+    }
+}
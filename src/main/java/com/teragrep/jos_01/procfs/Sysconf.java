@@ -45,40 +45,116 @@
  */
 package com.teragrep.jos_01.procfs;
 
-import com.sun.jna.Library;
 import com.sun.jna.Native;
+import com.sun.jna.Structure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+// Reads the system configuration constants from the native library with a single call.
+// The library is bound with JNA direct mapping, which avoids the reflection of interface proxies on every call.
+// The clock tick rate and the page size never change, so they are cached after the first successful call. main() reads the clock tick rate with its own native call.
+// values() reads the constants again on every call, because the number of online processors and the physical pages can change. The structure it reads into is reused.
+// The native library reports -1 for each constant it could not read. Only the clock tick rate and the page size are required, the other constants are passed on as -1.
 public class Sysconf implements SysconfInterface {
 
     private final Logger LOGGER = LoggerFactory.getLogger(Sysconf.class);
+    private final Values read;
+    private volatile long clockTicks;
+    private volatile long pageSize;
 
-    public interface LibSysconf extends Library {
+    public Sysconf() {
+        this.read = new Values();
+        this.clockTicks = -1;
+        this.pageSize = -1;
+    }
+
+    // The native methods are bound when the class is initialized, which happens on the first call.
+    private static final class LibSysconf {
+
+        static {
+            Native.register(LibSysconf.class, "/sysconf.so");
+        }
 
-        LibSysconf INSTANCE = (LibSysconf) Native.load("/sysconf.so", LibSysconf.class);
+        private static native int main();
 
-        public long main();
+        private static native int sysconf_values(Values values);
+    }
+
+    // Layout of struct sysconf_values in sysconf.c.
+    @Structure.FieldOrder({
+            "clk_tck", "page_size", "nprocessors_onln", "nprocessors_conf", "phys_pages", "open_max"
+    })
+    public static class Values extends Structure {
+
+        public long clk_tck;
+        public long page_size;
+        public long nprocessors_onln;
+        public long nprocessors_conf;
+        public long phys_pages;
+        public long open_max;
     }
 
     // Returns the number of clock ticks per second.
-    // If an error occurs, this funcion returns -1
     public long main() throws Exception {
-        long clk_tck;
+        long value = clockTicks;
+        if (value == -1) {
+            try {
+                value = LibSysconf.main();
+            }
+            catch (LinkageError linkageError) {
+                throw new Exception(
+                        "Failed to initialize Native C library! Make sure that classes/lib/opt/teragrep/jos_01/lib/sysconf/sysconf.so exists and is readable! Try running \"mvn clean install\" to generate required files",
+                        linkageError
+                );
+            }
+            if (value == -1) {
+                throw new Exception(
+                        "Could not get system clock tick rate! sysconf(_SC_CLK_TCK) returned -1, indicating an error!"
+                );
+            }
+            clockTicks = value;
+        }
+        return value;
+    }
+
+    // Returns the page size in bytes.
+    public long pageSize() throws Exception {
+        long value = pageSize;
+        if (value == -1) {
+            value = values().pageSize();
+        }
+        return value;
+    }
+
+    public synchronized SysconfValues values() throws Exception {
         try {
-            clk_tck = LibSysconf.INSTANCE.main();
+            LibSysconf.sysconf_values(read);
         }
-        catch (UnsatisfiedLinkError unsatisfiedLinkError) {
+        catch (LinkageError linkageError) {
             throw new Exception(
                     "Failed to initialize Native C library! Make sure that classes/lib/opt/teragrep/jos_01/lib/sysconf/sysconf.so exists and is readable! Try running \"mvn clean install\" to generate required files",
-                    unsatisfiedLinkError
+                    linkageError
+            );
+        }
+        if (read.clk_tck == -1) {
+            throw new Exception(
+                    "Could not get system configuration! sysconf returned -1 for _SC_CLK_TCK, indicating an error!"
             );
         }
-        if (clk_tck == -1) {
+        if (read.page_size == -1) {
             throw new Exception(
-                    "Could not get system clock tick rate! sysconf(_SC_CLK_TCK) returned -1, indicating an error!"
+                    "Could not get system configuration! sysconf returned -1 for _SC_PAGESIZE, indicating an error!"
             );
         }
-        return clk_tck;
+        clockTicks = read.clk_tck;
+        pageSize = read.page_size;
+        return new SysconfValues(
+                read.clk_tck,
+                read.page_size,
+                read.nprocessors_onln,
+                read.nprocessors_conf,
+                read.phys_pages,
+                read.open_max
+        );
     }
 }
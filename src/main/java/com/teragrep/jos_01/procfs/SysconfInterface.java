@@ -48,5 +48,16 @@ package com.teragrep.jos_01.procfs;
 // Interface for Sysconf object. Implementations are used to access Sysconf values in different ways.
 public interface SysconfInterface {
 
+    // Returns the number of clock ticks per second.
     long main() throws Exception;
+
+    // Returns the page size in bytes. The default reads it from the auxiliary vector of the JVM, so implementations that provide only main() keep working.
+    default long pageSize() throws Exception {
+        return new AuxvSysconf().pageSize();
+    }
+
+    // Returns all constants at once. Implementations that can not read the other constants keep the default, which throws.
+    default SysconfValues values() throws Exception {
+        throw new Exception(getClass().getName() + " does not provide all system configuration constants!");
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+// System configuration constants read with sysconf(3). The clock tick rate and the page size do not change while the system is running, the number of online processors and the physical pages can.
+// The optional constants are -1 when sysconf(3) has no value for them.
+public class SysconfValues {
+
+    private final long clockTicks;
+    private final long pageSize;
+    private final long onlineProcessors;
+    private final long configuredProcessors;
+    private final long physicalPages;
+    private final long openMax;
+
+    public SysconfValues(
+            long clockTicks,
+            long pageSize,
+            long onlineProcessors,
+            long configuredProcessors,
+            long physicalPages,
+            long openMax
+    ) {
+        this.clockTicks = clockTicks;
+        this.pageSize = pageSize;
+        this.onlineProcessors = onlineProcessors;
+        this.configuredProcessors = configuredProcessors;
+        this.physicalPages = physicalPages;
+        this.openMax = openMax;
+    }
+
+    // _SC_CLK_TCK, the number of clock ticks per second.
+    public long clockTicks() {
+        return clockTicks;
+    }
+
+    // _SC_PAGESIZE, the page size in bytes.
+    public long pageSize() {
+        return pageSize;
+    }
+
+    // _SC_NPROCESSORS_ONLN, changes when processors are brought online or offline.
+    public long onlineProcessors() {
+        return onlineProcessors;
+    }
+
+    // _SC_NPROCESSORS_CONF
+    public long configuredProcessors() {
+        return configuredProcessors;
+    }
+
+    // _SC_PHYS_PAGES, the size of physical memory in pages. Changes with memory hotplug.
+    public long physicalPages() {
+        return physicalPages;
+    }
+
+    // _SC_OPEN_MAX, the maximum number of files a process can have open, or -1 if there is no limit.
+    public long openMax() {
+        return openMax;
+    }
+}
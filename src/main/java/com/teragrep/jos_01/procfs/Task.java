@@ -47,8 +47,9 @@ package com.teragrep.jos_01.procfs;
 
 import com.teragrep.jos_01.procfs.status.process.Stat;
 import com.teragrep.jos_01.procfs.status.RowFile;
-import com.teragrep.jos_01.procfs.status.CharacterDelimited;
+import com.teragrep.jos_01.procfs.status.ByteFile;
 import com.teragrep.jos_01.procfs.status.process.Statm;
+import com.teragrep.jos_01.procfs.status.ReadResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +59,7 @@ public class Task {
 
     private final long taskId;
     private final long processId;
+    private final Process parentProcess;
     private final File procDirectory;
     private final Logger LOGGER = LoggerFactory.getLogger(Task.class);
 
@@ -68,15 +70,39 @@ public class Task {
     public Task(long taskId, Process parentProcess) throws Exception {
         this.taskId = taskId;
         this.processId = parentProcess.pid();
-        this.procDirectory = new File("/proc/" + processId + "/task/", Long.toString(processId));
+        this.parentProcess = parentProcess;
+        this.procDirectory = new File(new File(parentProcess.procDirectory(), "task"), Long.toString(taskId));
     }
 
     public Stat stat() throws Exception {
-        return new Stat(new CharacterDelimited(new RowFile(procDirectory, "stat"), " "));
+        return new Stat(new ByteFile(procDirectory, "stat", parentProcess.os().handles()));
     }
 
     public Statm statm() throws Exception {
-        return new Statm(new RowFile(procDirectory, "statm"));
+        return new Statm(new RowFile(procDirectory, "statm", parentProcess.os().handles()));
+    }
+
+    // Non-throwing variant of stat(). A thread that has exited is the status gone instead of an exception.
+    public ReadResult<Stat> tryStat() {
+        return ReadResult.of(new ByteFile(procDirectory, "stat", parentProcess.os().handles()), Stat::new);
+    }
+
+    // Non-throwing variant of statm().
+    public ReadResult<Statm> tryStatm() {
+        return ReadResult.of(new ByteFile(procDirectory, "statm", parentProcess.os().handles()), Statm::new);
+    }
+
+    // Samples the CPU usage of this thread over the interval between samples.
+    public CpuTimeSampler cpuSampler() throws Exception {
+        return new CpuTimeSampler(this);
+    }
+
+    public File procDirectory() {
+        return procDirectory;
+    }
+
+    public Process process() {
+        return parentProcess;
     }
 
     public long tid() {
@@ -0,0 +1,94 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+// ByteText over content that has already been read, so that it can be parsed without reading the file again.
+public class ByteContent implements ByteText {
+
+    private final ByteBuffer buffer;
+    private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
+
+    // Takes the timestamp and the read times from the ByteText the buffer was read from.
+    public ByteContent(ByteBuffer buffer, ByteText origin) {
+        this(buffer, origin.timestamp(), origin.readStart(), origin.readEnd());
+    }
+
+    public ByteContent(ByteBuffer buffer, Instant timestamp) {
+        this(buffer, timestamp, System.nanoTime(), System.nanoTime());
+    }
+
+    public ByteContent(ByteBuffer buffer, Instant timestamp, long readStart, long readEnd) {
+        this.buffer = buffer;
+        this.timestamp = timestamp;
+        this.readStart = readStart;
+        this.readEnd = readEnd;
+    }
+
+    @Override
+    public ByteBuffer bytes() {
+        return buffer.duplicate();
+    }
+
+    @Override
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public long readStart() {
+        return readStart;
+    }
+
+    @Override
+    public long readEnd() {
+        return readEnd;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Tokenizes the content of a ByteBuffer in place, without creating Strings.
+// Tokens are separated by spaces or tabs, lines are separated by newline characters.
+// The cursor reads the buffer with absolute gets, so the position and limit of the buffer itself are never modified.
+public class ByteCursor {
+
+    // (2^64-1) / 10, the largest unsigned value that can take one more digit without overflowing.
+    private static final long UNSIGNED_LIMIT = Long.divideUnsigned(-1L, 10);
+    private ByteBuffer buffer;
+    private int limit;
+    private int position;
+
+    public ByteCursor(ByteBuffer buffer) {
+        this(buffer, buffer.position(), buffer.limit());
+    }
+
+    public ByteCursor(ByteBuffer buffer, int position, int limit) {
+        this.buffer = buffer;
+        this.position = position;
+        this.limit = limit;
+    }
+
+    // Moves the cursor over the content of another buffer, so a cursor can be reused between reads.
+    public void reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public void position(int position) {
+        this.position = position;
+    }
+
+    public byte at(int index) {
+        return buffer.get(index);
+    }
+
+    // Returns the index of the newline character ending the current line, or the limit if the line is the last one.
+    public int lineEnd() {
+        int index = position;
+        while (index < limit && buffer.get(index) != '\n') {
+            index++;
+        }
+        return index;
+    }
+
+    // Returns the index of the first occurrence of the given byte on the current line, or -1 if it is not found.
+    public int indexOf(byte value) {
+        int index = position;
+        while (index < limit) {
+            byte current = buffer.get(index);
+            if (current == value) {
+                return index;
+            }
+            if (current == '\n') {
+                return -1;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    // Returns the index of the last occurrence of the given byte on the current line, or -1 if it is not found.
+    public int lastIndexOf(byte value) {
+        int index = lineEnd() - 1;
+        while (index >= position) {
+            if (buffer.get(index) == value) {
+                return index;
+            }
+            index--;
+        }
+        return -1;
+    }
+
+    public void skipBlanks() {
+        while (position < limit) {
+            byte current = buffer.get(position);
+            if (current != ' ' && current != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    // Moves the cursor to the beginning of the next line.
+    public void nextLine() {
+        position = lineEnd();
+        if (position < limit) {
+            position++;
+        }
+    }
+
+    // Skips the blanks in front of the cursor and returns true if a token follows them on the current line.
+    public boolean hasNextToken() {
+        skipBlanks();
+        return position < limit && buffer.get(position) != '\n';
+    }
+
+    public void skipToken() {
+        skipBlanks();
+        while (position < limit) {
+            byte current = buffer.get(position);
+            if (current == ' ' || current == '\t' || current == '\n') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    // Returns true if the bytes at the cursor are equal to the given name. The cursor is not moved.
+    public boolean startsWith(byte[] name) {
+        if (limit - position < name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(position + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Parses the next token as a decimal integer and moves the cursor past it.
+    // Values between Long.MAX_VALUE and 2^64-1 are returned as their unsigned two's complement representation, which the unsigned counters of the kernel need.
+    // Larger values and negative values below Long.MIN_VALUE are rejected instead of wrapping around.
+    // If the token is not such a number, the cursor is left at the start of the token.
+    public long nextLong() throws Exception {
+        skipBlanks();
+        int token = position;
+        boolean negative = false;
+        if (position < limit && buffer.get(position) == '-') {
+            negative = true;
+            position++;
+        }
+        long value = digits(token);
+        if (negative && Long.compareUnsigned(value, Long.MIN_VALUE) > 0) {
+            position = token;
+            throw new Exception("Expected a signed 64-bit number at byte " + token + "!");
+        }
+        return negative ? -value : value;
+    }
+
+    // Parses the next token as an unsigned decimal integer of at most 20 digits and moves the cursor past it.
+    // Values between Long.MAX_VALUE and 2^64-1 are returned as their two's complement representation, like Long.parseUnsignedLong. Larger values are rejected instead of wrapping around.
+    // If the token is not such a number, the cursor is left at the start of the token.
+    public long nextUnsignedLong() throws Exception {
+        skipBlanks();
+        return digits(position);
+    }
+
+    // Accumulates the digits at the cursor as an unsigned value of at most 2^64-1. On failure the cursor is moved back to the given start of the token.
+    private long digits(int token) throws Exception {
+        int start = position;
+        long value = 0;
+        while (position < limit) {
+            int digit = buffer.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            if (
+                position - start == 20 || Long.compareUnsigned(value, UNSIGNED_LIMIT) > 0
+                        || (value == UNSIGNED_LIMIT && digit > 5)
+            ) {
+                position = token;
+                throw new Exception("Expected a 64-bit number at byte " + token + "!");
+            }
+            value = value * 10 + digit;
+            position++;
+        }
+        if (position == start) {
+            position = token;
+            throw new Exception("Expected a number at byte " + token + "!");
+        }
+        return value;
+    }
+
+    // Parses the next token as a decimal number with an optional fraction, such as the averages of /proc/pressure, and moves the cursor past it.
+    public double nextDouble() throws Exception {
+        skipBlanks();
+        int token = position;
+        boolean negative = false;
+        if (position < limit && buffer.get(position) == '-') {
+            negative = true;
+            position++;
+        }
+        double value;
+        try {
+            value = nextLong();
+        }
+        catch (Exception e) {
+            position = token;
+            throw e;
+        }
+        if (position < limit && buffer.get(position) == '.') {
+            position++;
+            double scale = 1;
+            while (position < limit) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                scale = scale / 10;
+                value = value + digit * scale;
+                position++;
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    // Decodes the next token into a String. Intended for the few textual values of otherwise numeric files.
+    public String nextToken() {
+        skipBlanks();
+        int start = position;
+        skipToken();
+        return text(start, position);
+    }
+
+    public String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.time.Instant;
+
+// Reads a file into a reusable ByteBuffer. The file is read again every time bytes() is called, so the same ByteFile can be used to sample a /proc file repeatedly.
+// The buffer grows when the file does not fit into it, and the grown buffer is kept for the following reads.
+// The file is read with positional reads starting from offset 0, so a channel kept open by Handles can be reread without reopening the file.
+public class ByteFile extends File implements ByteText {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ByteFile.class);
+    private final Handles handles;
+    private ByteBuffer buffer;
+    private Instant timestamp;
+    private long readStart;
+    private long readEnd;
+
+    public ByteFile(File procDirectory, String fileName) {
+        this(new File(procDirectory, fileName));
+    }
+
+    public ByteFile(File procDirectory, String fileName, Handles handles) {
+        this(new File(procDirectory, fileName), handles);
+    }
+
+    public ByteFile(File procFile) {
+        this(procFile, new OneShotHandles());
+    }
+
+    public ByteFile(File procFile, Handles handles) {
+        this(procFile, handles, ByteBuffer.allocate(4096));
+    }
+
+    public ByteFile(File procFile, ByteBuffer buffer) {
+        this(procFile, new OneShotHandles(), buffer);
+    }
+
+    public ByteFile(File procFile, Handles handles, ByteBuffer buffer) {
+        super(procFile.toURI());
+        this.handles = handles;
+        this.buffer = buffer;
+        this.timestamp = Instant.now();
+        this.readStart = System.nanoTime();
+        this.readEnd = readStart;
+    }
+
+    @Override
+    public ByteBuffer bytes() throws Exception {
+        timestamp = Instant.now();
+        readStart = System.nanoTime();
+        FileChannel channel;
+        try {
+            channel = handles.open(this);
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to open file!", e);
+        }
+        try {
+            return read(channel);
+        }
+        catch (Exception e) {
+            // A channel kept open may belong to a process that has already exited. The failed channel was discarded, so the read is retried once with a new channel.
+            LOGGER.debug("Retrying read of {} with a new channel", getPath(), e);
+        }
+        try {
+            return read(handles.open(this));
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to read from file!", e);
+        }
+    }
+
+    // Reads the file like bytes(), but reports the outcome as a status instead of throwing, so that a process exiting during a scan is an expected result.
+    // The content of a successful read is available from content(). Failures are not wrapped or logged, so the only exception created is the one thrown by the channel itself.
+    // A missing file or a failing read means the process has exited: the kernel answers ESRCH to reads of an exited process and an empty file is left while its task is torn down.
+    public ReadStatus tryRead() {
+        timestamp = Instant.now();
+        readStart = System.nanoTime();
+        FileChannel channel;
+        try {
+            channel = handles.open(this);
+        }
+        catch (AccessDeniedException e) {
+            return ReadStatus.permissionDenied;
+        }
+        catch (Exception e) {
+            return ReadStatus.gone;
+        }
+        try {
+            read(channel);
+        }
+        catch (Exception first) {
+            // Retried once with a new channel, like bytes().
+            try {
+                read(handles.open(this));
+            }
+            catch (AccessDeniedException e) {
+                return ReadStatus.permissionDenied;
+            }
+            catch (Exception e) {
+                return ReadStatus.gone;
+            }
+        }
+        if (!buffer.hasRemaining()) {
+            return ReadStatus.gone;
+        }
+        return ReadStatus.ok;
+    }
+
+    // Content of the latest successful read.
+    public ByteBuffer content() {
+        return buffer.duplicate();
+    }
+
+    private ByteBuffer read(FileChannel channel) throws Exception {
+        try {
+            buffer.clear();
+            long position = 0;
+            int count;
+            while ((count = channel.read(buffer, position)) != -1) {
+                position = position + count;
+                if (!buffer.hasRemaining()) {
+                    ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    grown.put(buffer);
+                    buffer = grown;
+                }
+            }
+            handles.release(this, channel);
+        }
+        catch (Exception e) {
+            handles.discard(this, channel);
+            throw e;
+        }
+        readEnd = System.nanoTime();
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    // Times of the latest call of bytes(). Until the first call, both are the time the ByteFile was created.
+    @Override
+    public long readStart() {
+        return readStart;
+    }
+
+    @Override
+    public long readEnd() {
+        return readEnd;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+
+// Decodes the content of a ByteBuffer into rows only when read() or lines() is called.
+// Used by the byte level parsers so that the raw String rows are never created unless somebody asks for them.
+// The remaining bytes of a ByteBuffer are copied when the ByteLines is created. A ByteFile reuses its buffer, so without the copy the rows would show the content of a later read of the same file.
+// A byte array is used as is, it is owned by the caller and must not be changed afterwards.
+public class ByteLines implements Text {
+
+    private final ByteBuffer content;
+    private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
+    private final ArrayList<String> lines;
+
+    // Takes the timestamp and the read times from the ByteText the buffer was read from.
+    public ByteLines(ByteBuffer buffer, ByteText origin) {
+        this(buffer, origin.timestamp(), origin.readStart(), origin.readEnd(), new ArrayList<String>());
+    }
+
+    // Content that was not read from a ByteText is considered read when the ByteLines is created.
+    public ByteLines(ByteBuffer buffer, Instant timestamp) {
+        this(buffer, timestamp, System.nanoTime(), System.nanoTime(), new ArrayList<String>());
+    }
+
+    public ByteLines(byte[] content, Instant timestamp, ArrayList<String> lines) {
+        this(content, timestamp, System.nanoTime(), System.nanoTime(), lines);
+    }
+
+    public ByteLines(byte[] content, Instant timestamp, long readStart, long readEnd, ArrayList<String> lines) {
+        this.content = ByteBuffer.wrap(content).asReadOnlyBuffer();
+        this.timestamp = timestamp;
+        this.readStart = readStart;
+        this.readEnd = readEnd;
+        this.lines = lines;
+    }
+
+    public ByteLines(ByteBuffer content, Instant timestamp, long readStart, long readEnd, ArrayList<String> lines) {
+        this(copy(content), timestamp, readStart, readEnd, lines);
+    }
+
+    // Copies the bytes between the position and the limit without moving the position of the buffer.
+    private static byte[] copy(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private String decode(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = content.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ArrayList<String> read() {
+        if (lines.isEmpty()) {
+            int start = content.position();
+            int limit = content.limit();
+            for (int i = start; i < limit; i++) {
+                if (content.get(i) == '\n') {
+                    lines.add(decode(start, i));
+                    start = i + 1;
+                }
+            }
+            if (start < limit) {
+                lines.add(decode(start, limit));
+            }
+        }
+        return lines;
+    }
+
+    // Decodes one row at a time without keeping the decoded rows.
+    @Override
+    public Lines lines() {
+        if (!lines.isEmpty()) {
+            return new ListedLines(lines);
+        }
+        return new Lines() {
+
+            private int start = content.position();
+            private String line = "";
+
+            @Override
+            public boolean next() {
+                int limit = content.limit();
+                if (start >= limit) {
+                    return false;
+                }
+                int end = start;
+                while (end < limit && content.get(end) != '\n') {
+                    end++;
+                }
+                line = decode(start, end);
+                start = end + 1;
+                return true;
+            }
+
+            @Override
+            public String line() {
+                return line;
+            }
+        };
+    }
+
+    @Override
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public long readStart() {
+        return readStart;
+    }
+
+    @Override
+    public long readEnd() {
+        return readEnd;
+    }
+}
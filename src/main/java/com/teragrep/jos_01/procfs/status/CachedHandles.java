@@ -0,0 +1,122 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Keeps channels open between reads, so sampling a /proc file again only costs a positional read instead of open and close system calls.
+// At most capacity channels are kept open. When the limit is reached, the least recently used channel is closed, so watching a large set of processes does not exhaust the file descriptor limit.
+// Channels that failed to read, for example because the process exited, are closed and reopened on the next read.
+// Eviction closes the channel even if another thread is still reading from it. That read then fails with a closed channel, which ByteFile discards and retries once with a new channel, so callers sharing a CachedHandles between threads must read through ByteFile or retry in the same way.
+public class CachedHandles implements Handles, AutoCloseable {
+
+    private final int capacity;
+    private final LinkedHashMap<File, FileChannel> channels;
+
+    public CachedHandles(int capacity) throws Exception {
+        this(capacity, new LinkedHashMap<File, FileChannel>(16, 0.75f, true));
+    }
+
+    // The capacity must be at least 1, otherwise the channel returned by open() would be closed by the eviction right away.
+    public CachedHandles(int capacity, LinkedHashMap<File, FileChannel> channels) throws Exception {
+        if (capacity < 1) {
+            throw new Exception("Capacity of CachedHandles must be at least 1, was " + capacity + "!");
+        }
+        this.capacity = capacity;
+        this.channels = channels;
+    }
+
+    @Override
+    public synchronized FileChannel open(File file) throws Exception {
+        FileChannel channel = channels.get(file);
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            channels.put(file, channel);
+            evict();
+        }
+        return channel;
+    }
+
+    private void evict() throws Exception {
+        Iterator<Map.Entry<File, FileChannel>> iterator = channels.entrySet().iterator();
+        while (channels.size() > capacity && iterator.hasNext()) {
+            FileChannel eldest = iterator.next().getValue();
+            iterator.remove();
+            eldest.close();
+        }
+    }
+
+    @Override
+    public void release(File file, FileChannel channel) {
+        // Channel stays open for the next read.
+    }
+
+    @Override
+    public synchronized void discard(File file, FileChannel channel) throws Exception {
+        if (channels.get(file) == channel) {
+            channels.remove(file);
+        }
+        channel.close();
+    }
+
+    public synchronized int size() {
+        return channels.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (FileChannel channel : channels.values()) {
+            channel.close();
+        }
+        channels.clear();
+    }
+}
@@ -47,8 +47,6 @@ package com.teragrep.jos_01.procfs.status;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
 
 public class CharacterDelimited implements Text {
 
@@ -70,17 +68,55 @@ public class CharacterDelimited implements Text {
 
     @Override
     public ArrayList<String> read() throws Exception {
-        Iterator<String> iterator = origin.read().iterator();
-        while (iterator.hasNext()) {
-            String[] splitFields = iterator.next().split(delimiter);
-            delimitedFields.addAll(Arrays.asList(splitFields));
+        Lines lines = lines();
+        while (lines.next()) {
+            delimitedFields.add(lines.line());
         }
         return delimitedFields;
     }
 
+    // Splits one row of the origin at a time and streams its fields.
+    @Override
+    public Lines lines() throws Exception {
+        Lines originLines = origin.lines();
+        return new Lines() {
+
+            private String[] splitFields = new String[0];
+            private int index = 0;
+
+            @Override
+            public boolean next() throws Exception {
+                while (index >= splitFields.length) {
+                    if (!originLines.next()) {
+                        return false;
+                    }
+                    splitFields = originLines.line().split(delimiter);
+                    index = 0;
+                }
+                index++;
+                return true;
+            }
+
+            @Override
+            public String line() {
+                return splitFields[index - 1];
+            }
+        };
+    }
+
     @Override
     public Instant timestamp() {
         return origin.timestamp();
     }
 
+    @Override
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
 }
@@ -45,10 +45,8 @@
  */
 package com.teragrep.jos_01.procfs.status;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Iterator;
 
 public class Digits implements Text {
 
@@ -68,24 +66,34 @@ public class Digits implements Text {
 
     @Override
     public ArrayList<String> read() throws Exception {
-        Iterator<String> iterator = origin.read().iterator();
-        while (iterator.hasNext()) {
-            String text = iterator.next();
-            if (isNumeric(text)) {
-                digitText.add(text);
-            }
+        Lines lines = lines();
+        while (lines.next()) {
+            digitText.add(lines.line());
         }
         return digitText;
     }
 
-    private boolean isNumeric(String string) {
-        try {
-            new BigDecimal(string);
-            return true;
-        }
-        catch (NumberFormatException nfe) {
-            return false;
-        }
+    // Streams only the numeric rows of the origin.
+    @Override
+    public Lines lines() throws Exception {
+        Lines originLines = origin.lines();
+        return new Lines() {
+
+            @Override
+            public boolean next() throws Exception {
+                while (originLines.next()) {
+                    if (new Numeric(originLines.line()).isDecimal()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String line() {
+                return originLines.line();
+            }
+        };
     }
 
     @Override
@@ -93,4 +101,14 @@ public class Digits implements Text {
         return origin.timestamp();
     }
 
+    @Override
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
 }
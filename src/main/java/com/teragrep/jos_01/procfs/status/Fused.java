@@ -0,0 +1,125 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+// Applies a Pipeline to the rows of the origin in a single pass.
+// Every row is pushed through all of the stages before the next row is read, and no intermediate lists are created between the stages.
+public class Fused implements Text {
+
+    private final Text origin;
+    private final Pipeline pipeline;
+    private final ArrayList<String> fusedText;
+
+    public Fused(Text origin, Pipeline pipeline) {
+        this(origin, pipeline, new ArrayList<String>());
+    }
+
+    public Fused(Text origin, Pipeline pipeline, ArrayList<String> fusedText) {
+        this.origin = origin;
+        this.pipeline = pipeline;
+        this.fusedText = fusedText;
+    }
+
+    @Override
+    public ArrayList<String> read() throws Exception {
+        Consumer<String> compiled = pipeline.compiled(fusedText::add);
+        Lines lines = origin.lines();
+        while (lines.next()) {
+            compiled.accept(lines.line());
+        }
+        return fusedText;
+    }
+
+    // Streams the results of one row of the origin at a time.
+    @Override
+    public Lines lines() throws Exception {
+        Lines originLines = origin.lines();
+        ArrayList<String> results = new ArrayList<String>();
+        Consumer<String> compiled = pipeline.compiled(results::add);
+        return new Lines() {
+
+            private int index = 0;
+
+            @Override
+            public boolean next() throws Exception {
+                while (index >= results.size()) {
+                    results.clear();
+                    index = 0;
+                    if (!originLines.next()) {
+                        return false;
+                    }
+                    compiled.accept(originLines.line());
+                }
+                index++;
+                return true;
+            }
+
+            @Override
+            public String line() {
+                return results.get(index - 1);
+            }
+        };
+    }
+
+    @Override
+    public Instant timestamp() {
+        return origin.timestamp();
+    }
+
+    @Override
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return origin.readEnd();
+    }
+}
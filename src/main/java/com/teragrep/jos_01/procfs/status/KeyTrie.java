@@ -0,0 +1,162 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Prefix trie over the names of the keys of a key-value file, such as /proc/meminfo or /proc/vmstat.
+// A row is dispatched to the slot of its key by walking the trie once over the characters before the delimiter, so the cost does not depend on the number of keys.
+// Slots are the indexes of the names given to the constructor.
+public class KeyTrie {
+
+    private final String[] names;
+    private final char delimiter;
+    // Labels and targets of the outgoing edges of each node. Nodes have only a few children, so they are searched linearly.
+    private final byte[][] labels;
+    private final int[][] targets;
+    // Slot of the key ending at each node, or -1 if no key ends at the node.
+    private final int[] slots;
+
+    public KeyTrie(char delimiter, String ... names) {
+        this.names = names;
+        this.delimiter = delimiter;
+        ArrayList<byte[]> labelList = new ArrayList<byte[]>();
+        ArrayList<int[]> targetList = new ArrayList<int[]>();
+        ArrayList<Integer> slotList = new ArrayList<Integer>();
+        labelList.add(new byte[0]);
+        targetList.add(new int[0]);
+        slotList.add(-1);
+        for (int slot = 0; slot < names.length; slot++) {
+            byte[] name = names[slot].getBytes(StandardCharsets.US_ASCII);
+            int node = 0;
+            for (byte label : name) {
+                int child = child(labelList.get(node), targetList.get(node), label);
+                if (child == -1) {
+                    child = labelList.size();
+                    labelList.add(new byte[0]);
+                    targetList.add(new int[0]);
+                    slotList.add(-1);
+                    byte[] nodeLabels = Arrays.copyOf(labelList.get(node), labelList.get(node).length + 1);
+                    int[] nodeTargets = Arrays.copyOf(targetList.get(node), targetList.get(node).length + 1);
+                    nodeLabels[nodeLabels.length - 1] = label;
+                    nodeTargets[nodeTargets.length - 1] = child;
+                    labelList.set(node, nodeLabels);
+                    targetList.set(node, nodeTargets);
+                }
+                node = child;
+            }
+            slotList.set(node, slot);
+        }
+        this.labels = labelList.toArray(new byte[0][]);
+        this.targets = targetList.toArray(new int[0][]);
+        this.slots = new int[slotList.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = slotList.get(i);
+        }
+    }
+
+    private static int child(byte[] labels, int[] targets, int label) {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] == label) {
+                return targets[i];
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public char delimiter() {
+        return delimiter;
+    }
+
+    public String name(int slot) {
+        return names[slot];
+    }
+
+    // Returns the slot of the key that the row starts with, or -1 if the row does not start with a known key.
+    // The key must be followed by the delimiter or by the end of the row.
+    public int slot(CharSequence row) {
+        int node = 0;
+        for (int index = 0; index < row.length(); index++) {
+            char current = row.charAt(index);
+            if (current == delimiter) {
+                return slots[node];
+            }
+            if (current > 127) {
+                return -1;
+            }
+            node = child(labels[node], targets[node], current);
+            if (node == -1) {
+                return -1;
+            }
+        }
+        return slots[node];
+    }
+
+    // Byte level counterpart of slot(CharSequence) for the row at the position of the cursor. The cursor is not moved.
+    public int slot(ByteCursor cursor) {
+        int node = 0;
+        for (int index = cursor.position(); index < cursor.limit(); index++) {
+            byte current = cursor.at(index);
+            if (current == delimiter) {
+                return slots[node];
+            }
+            if (current == '\n') {
+                break;
+            }
+            node = child(labels[node], targets[node], current);
+            if (node == -1) {
+                return -1;
+            }
+        }
+        return slots[node];
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Parses every row of a key-value file, in the form of "name<delimiter> value [unit]", into a LongTable in a single pass.
+// Rows are not selected or positioned by a predefined set of keys, so every field the kernel exposes ends up in the table.
+// The names of the previous parse are kept as a layout. As long as the file lists the same keys in the same order, rows are only checked against the layout and no names are decoded.
+public class KeyedLongs {
+
+    private final char delimiter;
+    private final AtomicReference<KeyTrie> layout;
+
+    public KeyedLongs(char delimiter) {
+        this(delimiter, new AtomicReference<KeyTrie>(new KeyTrie(delimiter)));
+    }
+
+    public KeyedLongs(char delimiter, AtomicReference<KeyTrie> layout) {
+        this.delimiter = delimiter;
+        this.layout = layout;
+    }
+
+    public LongTable table(ByteBuffer buffer) throws Exception {
+        KeyTrie keys = layout.get();
+        ByteCursor cursor = new ByteCursor(buffer);
+        long[] values = new long[Math.max(keys.size(), 16)];
+        ArrayList<String> names = null;
+        int count = 0;
+        while (cursor.hasRemaining()) {
+            int delimiterIndex = cursor.indexOf((byte) delimiter);
+            if (delimiterIndex == -1) {
+                cursor.nextLine();
+                continue;
+            }
+            if (names == null && keys.slot(cursor) != count) {
+                // The layout has changed, names of the rows are decoded from here on.
+                names = new ArrayList<String>();
+                for (int slot = 0; slot < count; slot++) {
+                    names.add(keys.name(slot));
+                }
+            }
+            if (names != null) {
+                names.add(cursor.text(cursor.position(), delimiterIndex));
+            }
+            cursor.position(delimiterIndex + 1);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[count] = cursor.nextLong();
+            count++;
+            cursor.nextLine();
+        }
+        return table(keys, names, Arrays.copyOf(values, count));
+    }
+
+    // Parses only the rows whose keys are in the given trie and stops as soon as all of them are found.
+    // Other rows are skipped without decoding their names or values, and the layout is left untouched.
+    // The table contains the keys that were found in the file.
+    public LongTable table(ByteBuffer buffer, KeyTrie selected) throws Exception {
+        ByteCursor cursor = new ByteCursor(buffer);
+        long[] values = new long[selected.size()];
+        boolean[] found = new boolean[selected.size()];
+        int count = 0;
+        while (count < selected.size() && cursor.hasRemaining()) {
+            int slot = selected.slot(cursor);
+            if (slot != -1 && !found[slot]) {
+                int delimiterIndex = cursor.indexOf((byte) delimiter);
+                if (delimiterIndex == -1) {
+                    throw new Exception(
+                            "Expected a delimiter after the key <" + selected.name(slot) + "> at byte " + cursor.position() + "!"
+                    );
+                }
+                cursor.position(delimiterIndex + 1);
+                values[slot] = cursor.nextLong();
+                found[slot] = true;
+                count++;
+            }
+            cursor.nextLine();
+        }
+        if (count == selected.size()) {
+            return new LongTable(selected, values);
+        }
+        ArrayList<String> names = new ArrayList<String>();
+        long[] foundValues = new long[count];
+        for (int slot = 0; slot < found.length; slot++) {
+            if (found[slot]) {
+                foundValues[names.size()] = values[slot];
+                names.add(selected.name(slot));
+            }
+        }
+        return new LongTable(new KeyTrie(delimiter, names.toArray(new String[0])), foundValues);
+    }
+
+    public LongTable table(ArrayList<String> rows) throws Exception {
+        KeyTrie keys = layout.get();
+        long[] values = new long[rows.size()];
+        ArrayList<String> names = null;
+        int count = 0;
+        for (String row : rows) {
+            int delimiterIndex = row.indexOf(delimiter);
+            if (delimiterIndex == -1) {
+                continue;
+            }
+            if (names == null && keys.slot(row) != count) {
+                names = new ArrayList<String>();
+                for (int slot = 0; slot < count; slot++) {
+                    names.add(keys.name(slot));
+                }
+            }
+            if (names != null) {
+                names.add(row.substring(0, delimiterIndex));
+            }
+            values[count] = value(row, delimiterIndex + 1);
+            count++;
+        }
+        return table(keys, names, Arrays.copyOf(values, count));
+    }
+
+    // Parses the number following the blanks at the given index of the row, ignoring the unit after it.
+    private static long value(String row, int index) throws Exception {
+        while (index < row.length() && (row.charAt(index) == ' ' || row.charAt(index) == '\t')) {
+            index++;
+        }
+        boolean negative = false;
+        if (index < row.length() && row.charAt(index) == '-') {
+            negative = true;
+            index++;
+        }
+        int start = index;
+        long value = 0;
+        while (index < row.length() && row.charAt(index) >= '0' && row.charAt(index) <= '9') {
+            value = value * 10 + (row.charAt(index) - '0');
+            index++;
+        }
+        if (index == start) {
+            throw new Exception("Expected a number in row <" + row + ">!");
+        }
+        return negative ? -value : value;
+    }
+
+    private LongTable table(KeyTrie keys, ArrayList<String> names, long[] values) {
+        if (names == null && keys.size() == values.length) {
+            return new LongTable(keys, values);
+        }
+        if (names == null) {
+            // Rows were removed from the end of the file.
+            names = new ArrayList<String>();
+            for (int slot = 0; slot < values.length; slot++) {
+                names.add(keys.name(slot));
+            }
+        }
+        KeyTrie changed = new KeyTrie(delimiter, names.toArray(new String[0]));
+        layout.set(changed);
+        return new LongTable(changed, values);
+    }
+}
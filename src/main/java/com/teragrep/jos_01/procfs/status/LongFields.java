@@ -0,0 +1,75 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.time.Instant;
+
+// Numeric counterpart of Lines. Streams the rows of a file of integers as primitive values, without decoding them into Strings or boxing them into Longs.
+// A row may start with a label, a token that is not a number, such as "cpu0" or "nr_free_pages". The numbers following the label are the values of the row.
+// The array returned by values() is reused for every row, copy the values that need to be kept before calling next().
+public interface LongFields {
+
+    boolean next() throws Exception;
+
+    long[] values();
+
+    // Number of values of the current row. Only the values up to size() are valid.
+    int size();
+
+    boolean labelled(byte[] prefix);
+
+    // Slot of the label of the current row in the KeyTrie, -1 when the label is not in it.
+    int slot(KeyTrie keys);
+
+    // Number written in the label after the given offset, such as 12 in "cpu12" with offset 3. -1 when there is no number.
+    long labelNumber(int offset);
+
+    Instant timestamp();
+
+    long readStart();
+
+    long readEnd();
+}
@@ -0,0 +1,176 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+
+// Parses the rows of a ByteText into a reusable long[]. The file is read when the LongRows is created, and again on every reset().
+// Values of a row end at the first token that is not a number, such as the unit "kB".
+public class LongRows implements LongFields {
+
+    private final ByteText origin;
+    private final ByteCursor cursor;
+    private long[] values;
+    private int size;
+    private int labelStart;
+    private int labelEnd;
+
+    public LongRows(ByteText origin) throws Exception {
+        this(origin, origin.bytes(), new long[16]);
+    }
+
+    public LongRows(ByteText origin, ByteBuffer buffer, long[] values) {
+        this.origin = origin;
+        this.cursor = new ByteCursor(buffer);
+        this.values = values;
+        this.size = 0;
+        this.labelStart = 0;
+        this.labelEnd = 0;
+    }
+
+    // Reads the origin again and moves back to the first row. The arrays are reused, so rows are streamed without allocating.
+    public void reset() throws Exception {
+        cursor.reset(origin.bytes());
+        size = 0;
+        labelStart = 0;
+        labelEnd = 0;
+    }
+
+    @Override
+    public boolean next() throws Exception {
+        size = 0;
+        while (cursor.hasRemaining() && !cursor.hasNextToken()) {
+            cursor.nextLine();
+        }
+        if (!cursor.hasRemaining()) {
+            return false;
+        }
+        labelStart = cursor.position();
+        labelEnd = labelStart;
+        if (!number(cursor.at(labelStart))) {
+            cursor.skipToken();
+            labelEnd = cursor.position();
+        }
+        while (cursor.hasNextToken() && number(cursor.at(cursor.position()))) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size] = cursor.nextLong();
+            size++;
+        }
+        cursor.nextLine();
+        return true;
+    }
+
+    private static boolean number(byte value) {
+        return (value >= '0' && value <= '9') || value == '-';
+    }
+
+    @Override
+    public long[] values() {
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean labelled(byte[] prefix) {
+        if (labelEnd - labelStart < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (cursor.at(labelStart + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int slot(KeyTrie keys) {
+        if (labelEnd == labelStart) {
+            return -1;
+        }
+        int position = cursor.position();
+        cursor.position(labelStart);
+        int slot = keys.slot(cursor);
+        cursor.position(position);
+        return slot;
+    }
+
+    @Override
+    public long labelNumber(int offset) {
+        long number = -1;
+        for (int index = labelStart + offset; index < labelEnd; index++) {
+            int digit = cursor.at(index) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            number = (number == -1 ? 0 : number * 10) + digit;
+        }
+        return number;
+    }
+
+    @Override
+    public Instant timestamp() {
+        return origin.timestamp();
+    }
+
+    @Override
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return origin.readEnd();
+    }
+}
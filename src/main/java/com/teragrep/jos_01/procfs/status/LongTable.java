@@ -0,0 +1,95 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+// Primitive table of named long values, such as all the fields of /proc/meminfo.
+// Values are kept in a long array in the order of the rows of the file, and names are resolved to their slots with a KeyTrie.
+public class LongTable {
+
+    private final KeyTrie keys;
+    private final long[] values;
+
+    public LongTable(KeyTrie keys, long[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public KeyTrie keys() {
+        return keys;
+    }
+
+    public String name(int slot) {
+        return keys.name(slot);
+    }
+
+    public long value(int slot) {
+        return values[slot];
+    }
+
+    // Returns the slot of the named value, or -1 if the table does not contain it.
+    public int slot(String name) {
+        if (name.indexOf(keys.delimiter()) != -1) {
+            return -1;
+        }
+        return keys.slot(name);
+    }
+
+    public boolean contains(String name) {
+        return slot(name) != -1;
+    }
+
+    public long value(String name) throws Exception {
+        int slot = slot(name);
+        if (slot == -1) {
+            throw new Exception("Key <" + name + "> was not found!");
+        }
+        return values[slot];
+    }
+}
@@ -47,7 +47,6 @@ package com.teragrep.jos_01.procfs.status;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -71,20 +70,50 @@ public class Matched implements Text {
 
     @Override
     public ArrayList<String> read() throws Exception {
-        Iterator<String> iterator = origin.read().iterator();
-        while (iterator.hasNext()) {
-            String text = iterator.next();
-            Matcher matcher = pattern.matcher(text);
-            if (matcher.matches()) {
-                matchedText.add(text);
-            }
+        Lines lines = lines();
+        while (lines.next()) {
+            matchedText.add(lines.line());
         }
         return matchedText;
     }
 
+    // Streams only the rows of the origin that match the pattern.
+    @Override
+    public Lines lines() throws Exception {
+        Lines originLines = origin.lines();
+        return new Lines() {
+
+            @Override
+            public boolean next() throws Exception {
+                while (originLines.next()) {
+                    Matcher matcher = pattern.matcher(originLines.line());
+                    if (matcher.matches()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String line() {
+                return originLines.line();
+            }
+        };
+    }
+
     @Override
     public Instant timestamp() {
         return origin.timestamp();
     }
 
+    @Override
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
 }
@@ -47,7 +47,6 @@ package com.teragrep.jos_01.procfs.status;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Iterator;
 
 public class NonEmptyLines implements Text {
 
@@ -67,19 +66,49 @@ public class NonEmptyLines implements Text {
 
     @Override
     public ArrayList<String> read() throws Exception {
-        Iterator<String> iterator = origin.read().iterator();
-        while (iterator.hasNext()) {
-            String text = iterator.next();
-            if (text.length() != 0) {
-                nonEmptyText.add(text);
-            }
+        Lines lines = lines();
+        while (lines.next()) {
+            nonEmptyText.add(lines.line());
         }
         return nonEmptyText;
     }
 
+    // Streams only the non-empty rows of the origin.
+    @Override
+    public Lines lines() throws Exception {
+        Lines originLines = origin.lines();
+        return new Lines() {
+
+            @Override
+            public boolean next() throws Exception {
+                while (originLines.next()) {
+                    if (originLines.line().length() != 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String line() {
+                return originLines.line();
+            }
+        };
+    }
+
     @Override
     public Instant timestamp() {
         return origin.timestamp();
     }
 
+    @Override
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
 }
@@ -0,0 +1,168 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+// Classifies a token as a number by scanning its characters once, without constructing a BigDecimal or throwing exceptions.
+// isDecimal() accepts the same strings as the BigDecimal(String) constructor: an optional sign, digits with an optional decimal point and an optional exponent.
+public class Numeric {
+
+    private final CharSequence value;
+
+    public Numeric(CharSequence value) {
+        this.value = value;
+    }
+
+    public boolean isDecimal() {
+        int length = value.length();
+        int index = 0;
+        if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+            index++;
+        }
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean point = false;
+        while (index < length) {
+            char current = value.charAt(index);
+            if (current >= '0' && current <= '9') {
+                digits++;
+                if (point) {
+                    fractionDigits++;
+                }
+            }
+            else if (current == '.' && !point) {
+                point = true;
+            }
+            else {
+                break;
+            }
+            index++;
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (index == length) {
+            return true;
+        }
+        if (value.charAt(index) != 'e' && value.charAt(index) != 'E') {
+            return false;
+        }
+        index++;
+        boolean negative = false;
+        if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+            negative = value.charAt(index) == '-';
+            index++;
+        }
+        int exponentStart = index;
+        long exponent = 0;
+        while (index < length) {
+            char current = value.charAt(index);
+            if (current < '0' || current > '9') {
+                return false;
+            }
+            // Large enough to be rejected below, small enough to never overflow.
+            if (exponent < 10000000000L) {
+                exponent = exponent * 10 + (current - '0');
+            }
+            index++;
+        }
+        if (index == exponentStart) {
+            return false;
+        }
+        // BigDecimal rejects exponents that do not fit into an int, and values whose scale does not fit into an int.
+        if (negative) {
+            exponent = -exponent;
+        }
+        long scale = fractionDigits - exponent;
+        return exponent >= Integer.MIN_VALUE && exponent <= Integer.MAX_VALUE && scale >= Integer.MIN_VALUE
+                && scale <= Integer.MAX_VALUE;
+    }
+
+    // Returns true if the value is an optionally signed integer that fits into a long.
+    public boolean isLong() {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+            negative = value.charAt(index) == '-';
+            index++;
+        }
+        if (index == length) {
+            return false;
+        }
+        // Accumulated as a negative number, so that Long.MIN_VALUE is accepted as well.
+        long accumulated = 0;
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        while (index < length) {
+            int digit = value.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            if (accumulated < (limit + digit) / 10) {
+                return false;
+            }
+            accumulated = accumulated * 10 - digit;
+            index++;
+        }
+        return true;
+    }
+
+    public long longValue() throws Exception {
+        if (!isLong()) {
+            throw new Exception("Value <" + value + "> is not a long!");
+        }
+        int index = 0;
+        boolean negative = value.charAt(0) == '-';
+        if (negative || value.charAt(0) == '+') {
+            index++;
+        }
+        long accumulated = 0;
+        while (index < value.length()) {
+            accumulated = accumulated * 10 - (value.charAt(index) - '0');
+            index++;
+        }
+        return negative ? accumulated : -accumulated;
+    }
+}
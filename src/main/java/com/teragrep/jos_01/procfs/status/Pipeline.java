@@ -0,0 +1,175 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// Declarative composition of the Text decorators that is compiled into a single per-row transform. Used by Fused.
+// Stages are declared in the order they are applied, for example new Pipeline().matched("MemTotal.*").delimited(":").trimmed() does the same as new Trimmed(new CharacterDelimited(new Matched(origin, "MemTotal.*"), ":")).
+// Regular expressions are compiled once when the stage is declared, so a Pipeline kept in a constant can be applied to any number of files without compiling them again.
+public class Pipeline {
+
+    private final List<Stage> stages;
+
+    public Pipeline() {
+        this(new ArrayList<Stage>());
+    }
+
+    public Pipeline(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    // Returns a new Pipeline with the stage appended to the stages of this one.
+    public Pipeline with(Stage stage) {
+        ArrayList<Stage> appended = new ArrayList<Stage>(stages);
+        appended.add(stage);
+        return new Pipeline(appended);
+    }
+
+    // Same as Matched.
+    public Pipeline matched(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        return with((value, next) -> {
+            if (pattern.matcher(value).matches()) {
+                next.accept(value);
+            }
+        });
+    }
+
+    // Same as Selected.
+    public Pipeline selected(KeyTrie keys) {
+        return with((value, next) -> {
+            if (keys.slot(value) != -1) {
+                next.accept(value);
+            }
+        });
+    }
+
+    // Same as CharacterDelimited. Single character delimiters that have no special meaning in a regular expression are split without the regular expression engine.
+    public Pipeline delimited(String delimiter) {
+        if (delimiter.length() == 1 && ".$|()[{^?*+\\".indexOf(delimiter.charAt(0)) == -1) {
+            char character = delimiter.charAt(0);
+            return with((value, next) -> split(value, character, next));
+        }
+        Pattern pattern = Pattern.compile(delimiter);
+        return with((value, next) -> {
+            for (String field : pattern.split(value)) {
+                next.accept(field);
+            }
+        });
+    }
+
+    // Splits like String.split(String) does: trailing empty fields are dropped, and an empty value produces one empty field.
+    private static void split(String value, char delimiter, Consumer<String> next) {
+        if (value.isEmpty()) {
+            next.accept(value);
+            return;
+        }
+        int pendingEmptyFields = 0;
+        int start = 0;
+        int end = value.indexOf(delimiter);
+        while (start <= value.length()) {
+            if (end == -1) {
+                end = value.length();
+            }
+            if (end == start) {
+                pendingEmptyFields++;
+            }
+            else {
+                while (pendingEmptyFields > 0) {
+                    next.accept("");
+                    pendingEmptyFields--;
+                }
+                next.accept(value.substring(start, end));
+            }
+            start = end + 1;
+            end = value.indexOf(delimiter, start);
+        }
+    }
+
+    // Same as Replaced.
+    public Pipeline replaced(String regex, String replacement) {
+        Pattern pattern = Pattern.compile(regex);
+        return with((value, next) -> next.accept(pattern.matcher(value).replaceAll(replacement)));
+    }
+
+    // Same as Trimmed.
+    public Pipeline trimmed() {
+        return with((value, next) -> next.accept(value.trim()));
+    }
+
+    // Same as NonEmptyLines.
+    public Pipeline nonEmpty() {
+        return with((value, next) -> {
+            if (value.length() != 0) {
+                next.accept(value);
+            }
+        });
+    }
+
+    // Same as Digits.
+    public Pipeline digits() {
+        return with((value, next) -> {
+            if (new Numeric(value).isDecimal()) {
+                next.accept(value);
+            }
+        });
+    }
+
+    // Composes the stages into one consumer that pushes a row through every stage into the sink.
+    public Consumer<String> compiled(Consumer<String> sink) {
+        Consumer<String> next = sink;
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            Stage stage = stages.get(i);
+            Consumer<String> downstream = next;
+            next = value -> stage.apply(value, downstream);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+import java.util.EnumSet;
+
+// Set of fields a caller is interested in. Parsers skip the tokens of the other fields without decoding them, and stop reading once the last requested field has been parsed.
+// Accessors of fields that were not requested return 0.
+// A Projection is immutable, so the same one can be shared by every parse.
+public class Projection<E extends Enum<E>> {
+
+    private final EnumSet<E> fields;
+    private final boolean[] requested;
+    private final int last;
+
+    public Projection(Class<E> type) {
+        this(EnumSet.allOf(type));
+    }
+
+    public Projection(EnumSet<E> fields) {
+        this.fields = EnumSet.copyOf(fields);
+        E[] constants = fields.isEmpty() ? null : fields.iterator().next().getDeclaringClass().getEnumConstants();
+        this.requested = new boolean[constants == null ? 0 : constants.length];
+        int lastOrdinal = -1;
+        for (E field : fields) {
+            requested[field.ordinal()] = true;
+            lastOrdinal = Math.max(lastOrdinal, field.ordinal());
+        }
+        this.last = lastOrdinal;
+    }
+
+    public boolean requested(E field) {
+        return requested(field.ordinal());
+    }
+
+    public boolean requested(int ordinal) {
+        return ordinal < requested.length && requested[ordinal];
+    }
+
+    // Ordinal of the last requested field, or -1 if no fields were requested.
+    public int last() {
+        return last;
+    }
+
+    public int size() {
+        return fields.size();
+    }
+
+    public EnumSet<E> fields() {
+        return EnumSet.copyOf(fields);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status;
+
+// Result of a read that does not throw: either a value, or the status telling why there is none.
+// Results without a value and without a cause are shared instances, so a vanished process costs no allocation once its read has failed.
+public class ReadResult<T> {
+
+    private static final ReadResult<Object> GONE = new ReadResult<Object>(ReadStatus.gone, null, null);
+    private static final ReadResult<Object> PERMISSION_DENIED = new ReadResult<Object>(
+            ReadStatus.permissionDenied,
+            null,
+            null
+    );
+    private static final ReadResult<Object> PARSE_ERROR = new ReadResult<Object>(ReadStatus.parseError, null, null);
+    private static final ReadResult<Object> OS_ERROR = new ReadResult<Object>(ReadStatus.osError, null, null);
+
+    private final ReadStatus status;
+    private final T value;
+    private final Exception cause;
+
+    // Parses the content of a ByteText that has already been read.
+    public interface Parser<T> {
+
+        T parse(ByteText content) throws Exception;
+    }
+
+    public ReadResult(T value) {
+        this(ReadStatus.ok, value, null);
+    }
+
+    // A parse error keeps the exception of the parser, since it is not an expected outcome and is worth reporting.
+    public ReadResult(Exception cause) {
+        this(ReadStatus.parseError, cause);
+    }
+
+    // A failure that keeps its exception. A result with the status ok needs a value, so it can not be created this way.
+    public ReadResult(ReadStatus status, Exception cause) {
+        this(failedStatus(status), null, cause);
+    }
+
+    private ReadResult(ReadStatus status, T value, Exception cause) {
+        this.status = status;
+        this.value = value;
+        this.cause = cause;
+    }
+
+    // Reads the file and parses its content, or returns the status of the failed read.
+    public static <T> ReadResult<T> of(ByteFile file, Parser<T> parser) {
+        ReadStatus status = file.tryRead();
+        if (status != ReadStatus.ok) {
+            return failed(status);
+        }
+        try {
+            return new ReadResult<T>(parser.parse(new ByteContent(file.content(), file)));
+        }
+        catch (Exception e) {
+            return new ReadResult<T>(e);
+        }
+    }
+
+    // Shared result without a cause for the given failure. A result with the status ok needs a value, so it can not be created this way.
+    @SuppressWarnings("unchecked")
+    public static <T> ReadResult<T> failed(ReadStatus status) {
+        switch (failedStatus(status)) {
+            case permissionDenied:
+                return (ReadResult<T>) PERMISSION_DENIED;
+            case parseError:
+                return (ReadResult<T>) PARSE_ERROR;
+            case osError:
+                return (ReadResult<T>) OS_ERROR;
+            default:
+                return (ReadResult<T>) GONE;
+        }
+    }
+
+    private static ReadStatus failedStatus(ReadStatus status) {
+        if (status == ReadStatus.ok) {
+            throw new IllegalArgumentException("A failed result can not have the status ok!");
+        }
+        return status;
+    }
+
+    public ReadStatus status() {
+        return status;
+    }
+
+    public boolean ok() {
+        return status == ReadStatus.ok;
+    }
+
+    // The value of a successful read. Throws when there is none, for callers that prefer exceptions after all.
+    public T value() throws Exception {
+        if (status != ReadStatus.ok) {
+            throw new Exception("No value, read status is <" + status + ">!", cause);
+        }
+        return value;
+    }
+
+    // Same failure with another value type, for results derived from an unsuccessful one. The value is always null, so only the type changes.
+    @SuppressWarnings("unchecked")
+    public <U> ReadResult<U> failure() {
+        return (ReadResult<U>) this;
+    }
+
+    // Exception of the parser when the status is parseError, or of the system value when the status is osError. Null for the shared results.
+    public Exception cause() {
+        return cause;
+    }
+}
@@ -47,13 +47,13 @@ package com.teragrep.jos_01.procfs.status;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.regex.Pattern;
 
 public class Replaced implements Text {
 
     private final Text origin;
     private final Instant timestamp;
-    private final String regex;
+    private final Pattern pattern;
     private final String replacement;
     private final ArrayList<String> replacedText;
 
@@ -62,8 +62,12 @@ public class Replaced implements Text {
     }
 
     public Replaced(Text origin, String regex, String replacement, ArrayList<String> replacedText) {
+        this(origin, Pattern.compile(regex), replacement, replacedText);
+    }
+
+    public Replaced(Text origin, Pattern pattern, String replacement, ArrayList<String> replacedText) {
         this.origin = origin;
-        this.regex = regex;
+        this.pattern = pattern;
         this.replacement = replacement;
         this.timestamp = origin.timestamp();
         this.replacedText = replacedText;
@@ -71,17 +75,50 @@ public class Replaced implements Text {
 
     @Override
     public ArrayList<String> read() throws Exception {
-        Iterator<String> iterator = origin.read().iterator();
-        while (iterator.hasNext()) {
-            String trimmed = iterator.next().replaceAll(regex, replacement);
-            replacedText.add(trimmed);
+        Lines lines = lines();
+        while (lines.next()) {
+            replacedText.add(lines.line());
         }
         return replacedText;
     }
 
+    // Streams the rows of the origin with the replacement applied.
+    @Override
+    public Lines lines() throws Exception {
+        Lines originLines = origin.lines();
+        return new Lines() {
+
+            private String line = "";
+
+            @Override
+            public boolean next() throws Exception {
+                if (!originLines.next()) {
+                    return false;
+                }
+                line = pattern.matcher(originLines.line()).replaceAll(replacement);
+                return true;
+            }
+
+            @Override
+            public String line() {
+                return line;
+            }
+        };
+    }
+
     @Override
     public Instant timestamp() {
         return origin.timestamp();
     }
 
+    @Override
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
 }
@@ -51,11 +51,17 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
 
+// The file is read lazily by read() or lines(). The timestamp and the read times are taken when the reading starts and ends, not when the RowFile is created.
+// The file is also opened only then, so a missing file fails in read() or lines() instead of in the constructor.
 public class RowFile extends File implements Text {
 
     private final BufferedReader reader;
-    private final Instant timestamp;
+    private Instant timestamp;
+    private long readStart;
+    private long readEnd;
+    private boolean started;
     private final ArrayList<String> fileRows;
     private final Logger LOGGER = LoggerFactory.getLogger(RowFile.class);
 
@@ -63,24 +69,51 @@ public class RowFile extends File implements Text {
         this(new File(procDirectory, fileName));
     }
 
+    public RowFile(File procDirectory, String fileName, Handles handles) throws Exception {
+        this(new File(procDirectory, fileName), handles);
+    }
+
     public RowFile(File procFile) throws Exception {
-        this(procFile, new BufferedReader(new FileReader(procFile)), new ArrayList<String>());
+        this(procFile, new OneShotHandles());
+    }
+
+    // Reads the file through the given Handles. With CachedHandles the file stays open and is reread from the beginning by the next RowFile of the same file.
+    public RowFile(File procFile, Handles handles) throws Exception {
+        this(
+                procFile,
+                new BufferedReader(new InputStreamReader(new ByteTextStream(new ByteFile(procFile, handles)))),
+                new ArrayList<String>()
+        );
     }
 
     public RowFile(File procFile, BufferedReader reader, ArrayList<String> fileRows) throws Exception {
         super(procFile.toURI());
         this.reader = reader;
         this.timestamp = Instant.now();
+        this.readStart = System.nanoTime();
+        this.readEnd = readStart;
+        this.started = false;
         this.fileRows = fileRows;
     }
 
+    private void started() {
+        if (!started) {
+            timestamp = Instant.now();
+            readStart = System.nanoTime();
+            readEnd = readStart;
+            started = true;
+        }
+    }
+
     @Override
     public ArrayList<String> read() throws Exception {
+        started();
         try {
             String line;
             while ((line = reader.readLine()) != null) {
                 fileRows.add(line);
             }
+            readEnd = System.nanoTime();
         }
         catch (Exception e) {
             throw new Exception("Failed to read from file!", e);
@@ -88,8 +121,54 @@ public class RowFile extends File implements Text {
         return fileRows;
     }
 
+    // Streams the rows straight from the reader without keeping them in memory. Rows already read by read() are streamed first.
+    @Override
+    public Lines lines() {
+        return new Lines() {
+
+            private final Iterator<String> readRows = fileRows.iterator();
+            private String line = "";
+
+            @Override
+            public boolean next() throws Exception {
+                if (readRows.hasNext()) {
+                    line = readRows.next();
+                    return true;
+                }
+                started();
+                try {
+                    String nextLine = reader.readLine();
+                    if (nextLine == null) {
+                        readEnd = System.nanoTime();
+                        return false;
+                    }
+                    line = nextLine;
+                    return true;
+                }
+                catch (Exception e) {
+                    throw new Exception("Failed to read from file!", e);
+                }
+            }
+
+            @Override
+            public String line() {
+                return line;
+            }
+        };
+    }
+
     @Override
     public Instant timestamp() {
         return timestamp;
     }
+
+    @Override
+    public long readStart() {
+        return readStart;
+    }
+
+    @Override
+    public long readEnd() {
+        return readEnd;
+    }
 }
@@ -52,5 +52,21 @@ public interface Text {
 
     ArrayList<String> read() throws Exception;
 
+    // Wall clock time of the read, for display. Use readStart() and readEnd() for intervals.
     Instant timestamp();
+
+    // System.nanoTime() immediately before and after the content was read. Monotonic, so intervals between reads are not affected by changes of the wall clock.
+    // Texts that know when they were read override these. Others report the time of the call.
+    default long readStart() {
+        return System.nanoTime();
+    }
+
+    default long readEnd() {
+        return System.nanoTime();
+    }
+
+    // Streams the rows one at a time. Texts that can produce their rows lazily override this, others stream the result of read().
+    default Lines lines() throws Exception {
+        return new ListedLines(read());
+    }
 }
@@ -53,18 +53,31 @@ public class TimeaddedText implements Text {
 
     private final ArrayList<String> fields;
     private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
 
     public TimeaddedText(String text) {
         this(new ArrayList<String>(Collections.singletonList(text)), Instant.now());
     }
 
     public TimeaddedText(Text origin) throws Exception {
-        this(origin.read(), origin.timestamp());
+        this(origin.read(), origin);
+    }
+
+    // The origin is read before its times are taken, so lazily read origins report the times of the actual read.
+    private TimeaddedText(ArrayList<String> text, Text origin) {
+        this(text, origin.timestamp(), origin.readStart(), origin.readEnd());
     }
 
     public TimeaddedText(ArrayList<String> text, Instant timestamp) {
+        this(text, timestamp, System.nanoTime(), System.nanoTime());
+    }
+
+    public TimeaddedText(ArrayList<String> text, Instant timestamp, long readStart, long readEnd) {
         fields = text;
         this.timestamp = timestamp;
+        this.readStart = readStart;
+        this.readEnd = readEnd;
     }
 
     @Override
@@ -76,4 +89,14 @@ public class TimeaddedText implements Text {
     public Instant timestamp() {
         return timestamp;
     }
+
+    @Override
+    public long readStart() {
+        return readStart;
+    }
+
+    @Override
+    public long readEnd() {
+        return readEnd;
+    }
 }
@@ -47,7 +47,6 @@ package com.teragrep.jos_01.procfs.status;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Iterator;
 
 public class Trimmed implements Text {
 
@@ -67,17 +66,50 @@ public class Trimmed implements Text {
 
     @Override
     public ArrayList<String> read() throws Exception {
-        Iterator<String> iterator = origin.read().iterator();
-        while (iterator.hasNext()) {
-            String trimmed = iterator.next().trim();
-            trimmedText.add(trimmed);
+        Lines lines = lines();
+        while (lines.next()) {
+            trimmedText.add(lines.line());
         }
         return trimmedText;
     }
 
+    // Streams the rows of the origin with leading and trailing whitespace removed.
+    @Override
+    public Lines lines() throws Exception {
+        Lines originLines = origin.lines();
+        return new Lines() {
+
+            private String line = "";
+
+            @Override
+            public boolean next() throws Exception {
+                if (!originLines.next()) {
+                    return false;
+                }
+                line = originLines.line().trim();
+                return true;
+            }
+
+            @Override
+            public String line() {
+                return line;
+            }
+        };
+    }
+
     @Override
     public Instant timestamp() {
         return origin.timestamp();
     }
 
+    @Override
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
 }
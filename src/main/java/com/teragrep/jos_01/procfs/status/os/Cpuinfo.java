@@ -58,12 +58,18 @@ import java.util.*;
 public class Cpuinfo implements Text {
 
     private final Logger LOGGER = LoggerFactory.getLogger(Cpuinfo.class);
+    private static final Pipeline ROWS = new Pipeline().replaced("\\s+", " ").nonEmpty();
+    private static final Pipeline KEY_VALUE = new Pipeline().delimited(":").trimmed();
     private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
     private final ArrayList<Processor> processors;
     private final ArrayList<String> fields;
 
     public Cpuinfo(Text origin) throws Exception {
-        fields = new NonEmptyLines(new Replaced(origin, "\\s+", " ")).read();
+        fields = new Fused(origin, ROWS).read();
+        readStart = origin.readStart();
+        readEnd = origin.readEnd();
         this.processors = new ArrayList<Processor>();
         Map<String, String> processorFields = new HashMap();
         for (String field : fields) {
@@ -71,8 +77,7 @@ public class Cpuinfo implements Text {
                 processors.add(new Processor(processorFields));
                 processorFields = new HashMap<>();
             }
-            ArrayList<String> keyValuePair = new Trimmed(new CharacterDelimited((new TimeaddedText(field)), ":"))
-                    .read();
+            ArrayList<String> keyValuePair = new Fused(new TimeaddedText(field), KEY_VALUE).read();
             String key;
             String value;
             key = keyValuePair.get(0);
@@ -130,6 +135,16 @@ public class Cpuinfo implements Text {
         return timestamp;
     }
 
+    @Override
+    public long readStart() {
+        return readStart;
+    }
+
+    @Override
+    public long readEnd() {
+        return readEnd;
+    }
+
     public void printTimestamp() {
         LOGGER.info(timestamp.toString());
     }
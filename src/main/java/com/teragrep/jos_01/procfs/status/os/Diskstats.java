@@ -0,0 +1,227 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.os;
+
+import com.teragrep.jos_01.procfs.status.ByteCursor;
+import com.teragrep.jos_01.procfs.status.ByteText;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+
+// I/O statistics of the block devices, read from /proc/diskstats.
+// Every row is the major and minor number and the name of a device followed by its counters. Linux 4.18 added the four discard columns and Linux 5.5 the two flush columns, so a row has 11, 15 or 17 counters.
+// The counters of all devices are kept in one long array indexed by the device and the column, columns missing from the file are 0.
+// Counters are unsigned and parsed like those of NetDev: values above Long.MAX_VALUE are kept as their two's complement representation, and values above 2^64-1 are rejected.
+// Device names of a previous Diskstats are reused when the devices are listed in the same order, so a steady set of devices decodes no names.
+public class Diskstats {
+
+    // Times are in milliseconds and sectors are 512 bytes regardless of the sector size of the device.
+    public enum Column {
+        reads_completed,
+        reads_merged,
+        sectors_read,
+        time_reading,
+        writes_completed,
+        writes_merged,
+        sectors_written,
+        time_writing,
+        ios_in_progress,
+        time_doing_io,
+        weighted_time_doing_io,
+        discards_completed,
+        discards_merged,
+        sectors_discarded,
+        time_discarding,
+        flush_requests,
+        time_flushing
+    }
+
+    private static final int COLUMNS = Column.values().length;
+    private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
+    private final int count;
+    private final int columns;
+    private final int[] majors;
+    private final int[] minors;
+    private final String[] names;
+    private final long[] values;
+    private final HashMap<String, Integer> indexes;
+
+    public Diskstats(ByteText origin) throws Exception {
+        this(origin, new String[0], new HashMap<String, Integer>());
+    }
+
+    // Reuses the names of the previous Diskstats for the devices listed at the same positions, and its index when the devices have not changed.
+    public Diskstats(ByteText origin, Diskstats previous) throws Exception {
+        this(origin, previous.names, previous.indexes);
+    }
+
+    private Diskstats(ByteText origin, String[] previousNames, HashMap<String, Integer> previousIndexes)
+            throws Exception {
+        ByteCursor cursor = new ByteCursor(origin.bytes());
+        timestamp = origin.timestamp();
+        readStart = origin.readStart();
+        readEnd = origin.readEnd();
+        int capacity = Math.max(previousNames.length, 16);
+        int[] majorNumbers = new int[capacity];
+        int[] minorNumbers = new int[capacity];
+        String[] deviceNames = new String[capacity];
+        long[] counters = new long[capacity * COLUMNS];
+        int devices = 0;
+        int fewestColumns = COLUMNS;
+        boolean sameDevices = true;
+        while (cursor.hasRemaining()) {
+            if (!cursor.hasNextToken()) {
+                cursor.nextLine();
+                continue;
+            }
+            if (devices == majorNumbers.length) {
+                majorNumbers = Arrays.copyOf(majorNumbers, devices * 2);
+                minorNumbers = Arrays.copyOf(minorNumbers, devices * 2);
+                deviceNames = Arrays.copyOf(deviceNames, devices * 2);
+                counters = Arrays.copyOf(counters, devices * 2 * COLUMNS);
+            }
+            majorNumbers[devices] = (int) cursor.nextLong();
+            minorNumbers[devices] = (int) cursor.nextLong();
+            cursor.skipBlanks();
+            int nameStart = cursor.position();
+            cursor.skipToken();
+            int nameEnd = cursor.position();
+            if (devices < previousNames.length && sameName(previousNames[devices], cursor, nameStart, nameEnd)) {
+                deviceNames[devices] = previousNames[devices];
+            }
+            else {
+                deviceNames[devices] = cursor.text(nameStart, nameEnd);
+                sameDevices = false;
+            }
+            int column = 0;
+            while (column < COLUMNS && cursor.hasNextToken()) {
+                counters[devices * COLUMNS + column] = cursor.nextUnsignedLong();
+                column++;
+            }
+            if (column < Column.weighted_time_doing_io.ordinal() + 1) {
+                throw new Exception("Expected at least 11 counters for device <" + deviceNames[devices] + ">!");
+            }
+            fewestColumns = Math.min(fewestColumns, column);
+            devices++;
+            cursor.nextLine();
+        }
+        count = devices;
+        columns = devices == 0 ? 0 : fewestColumns;
+        majors = Arrays.copyOf(majorNumbers, devices);
+        minors = Arrays.copyOf(minorNumbers, devices);
+        names = Arrays.copyOf(deviceNames, devices);
+        values = Arrays.copyOf(counters, devices * COLUMNS);
+        indexes = sameDevices && devices == previousNames.length ? previousIndexes : indexes(names);
+    }
+
+    // The index is never changed after it is built, so it is shared with the next Diskstats of the same devices without locking.
+    private static HashMap<String, Integer> indexes(String[] names) {
+        HashMap<String, Integer> indexes = new HashMap<String, Integer>((int) (names.length / 0.75f) + 1);
+        for (int device = 0; device < names.length; device++) {
+            indexes.put(names[device], device);
+        }
+        return indexes;
+    }
+
+    private static boolean sameName(String name, ByteCursor cursor, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int index = 0; index < name.length(); index++) {
+            if (name.charAt(index) != cursor.at(start + index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public long readStart() {
+        return readStart;
+    }
+
+    public long readEnd() {
+        return readEnd;
+    }
+
+    // Number of devices.
+    public int count() {
+        return count;
+    }
+
+    // Number of counters every device has in the file: 11, 15 or 17 depending on the kernel.
+    public int columns() {
+        return columns;
+    }
+
+    public int major(int device) {
+        return majors[device];
+    }
+
+    public int minor(int device) {
+        return minors[device];
+    }
+
+    public String name(int device) {
+        return names[device];
+    }
+
+    public long value(int device, Column column) {
+        return values[device * COLUMNS + column.ordinal()];
+    }
+
+    // Index of the device with the given name, or -1 if there is none.
+    public int index(String name) {
+        Integer device = indexes.get(name);
+        return device == null ? -1 : device;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.os;
+
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.LongFields;
+import com.teragrep.jos_01.procfs.status.LongRows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+// Primitive variant of Stat. The rows are parsed into long arrays, so no Strings or boxed Longs are created for the long intr and cpu rows.
+// Rows are identified by their labels. Rows missing from the file are left as 0, and the intr and softirq arrays as empty.
+public class LongStat {
+
+    private static final byte[] CPU = "cpu".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INTR = "intr".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SOFTIRQ = "softirq".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CTXT = "ctxt".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BTIME = "btime".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCESSES = "processes".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCS_RUNNING = "procs_running".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCS_BLOCKED = "procs_blocked".getBytes(StandardCharsets.US_ASCII);
+    private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
+    private final long[][] cpus;
+    private final int[] cpuIds;
+    private final long[] intr;
+    private final long[] softirq;
+    private final long ctxt;
+    private final long btime;
+    private final long processes;
+    private final long procs_running;
+    private final long procs_blocked;
+
+    public LongStat(ByteText origin) throws Exception {
+        this(new LongRows(origin));
+    }
+
+    public LongStat(LongFields fields) throws Exception {
+        timestamp = fields.timestamp();
+        long[][] cpuRows = new long[8][];
+        int[] ids = new int[8];
+        int cpuCount = 0;
+        long[] intrRow = new long[0];
+        long[] softirqRow = new long[0];
+        long[] values = new long[5];
+        while (fields.next()) {
+            if (fields.labelled(CPU)) {
+                if (cpuCount == cpuRows.length) {
+                    cpuRows = Arrays.copyOf(cpuRows, cpuCount * 2);
+                    ids = Arrays.copyOf(ids, cpuCount * 2);
+                }
+                cpuRows[cpuCount] = Arrays.copyOf(fields.values(), fields.size());
+                ids[cpuCount] = (int) fields.labelNumber(CPU.length);
+                cpuCount++;
+            }
+            else if (fields.labelled(INTR)) {
+                intrRow = Arrays.copyOf(fields.values(), fields.size());
+            }
+            else if (fields.labelled(SOFTIRQ)) {
+                softirqRow = Arrays.copyOf(fields.values(), fields.size());
+            }
+            else if (fields.size() > 0) {
+                int index = index(fields);
+                if (index != -1) {
+                    values[index] = fields.values()[0];
+                }
+            }
+        }
+        readStart = fields.readStart();
+        readEnd = fields.readEnd();
+        cpus = Arrays.copyOf(cpuRows, cpuCount);
+        cpuIds = Arrays.copyOf(ids, cpuCount);
+        intr = intrRow;
+        softirq = softirqRow;
+        ctxt = values[0];
+        btime = values[1];
+        processes = values[2];
+        procs_running = values[3];
+        procs_blocked = values[4];
+    }
+
+    private static int index(LongFields fields) {
+        if (fields.labelled(CTXT)) {
+            return 0;
+        }
+        if (fields.labelled(BTIME)) {
+            return 1;
+        }
+        if (fields.labelled(PROCESSES)) {
+            return 2;
+        }
+        if (fields.labelled(PROCS_RUNNING)) {
+            return 3;
+        }
+        if (fields.labelled(PROCS_BLOCKED)) {
+            return 4;
+        }
+        return -1;
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public long readStart() {
+        return readStart;
+    }
+
+    public long readEnd() {
+        return readEnd;
+    }
+
+    // Rows of the aggregated CPU and of every CPU, in the order of the file. The arrays are copies, like those of CpuUtilization, so the parsed values can not be changed.
+    public long[][] cpus() {
+        long[][] copy = new long[cpus.length][];
+        for (int cpu = 0; cpu < cpus.length; cpu++) {
+            copy[cpu] = cpus[cpu].clone();
+        }
+        return copy;
+    }
+
+    // Numbers of the CPUs in the same order as cpus(). The aggregated row of all CPUs is numbered -1.
+    public int[] cpuIds() {
+        return cpuIds.clone();
+    }
+
+    public long[] intr() {
+        return intr.clone();
+    }
+
+    public long[] softirq() {
+        return softirq.clone();
+    }
+
+    public long ctxt() {
+        return ctxt;
+    }
+
+    public long btime() {
+        return btime;
+    }
+
+    public long processes() {
+        return processes;
+    }
+
+    public long procs_running() {
+        return procs_running;
+    }
+
+    public long procs_blocked() {
+        return procs_blocked;
+    }
+}
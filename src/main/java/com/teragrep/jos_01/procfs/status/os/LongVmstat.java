@@ -0,0 +1,118 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.os;
+
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.KeyTrie;
+import com.teragrep.jos_01.procfs.status.LongFields;
+import com.teragrep.jos_01.procfs.status.LongRows;
+
+import java.time.Instant;
+
+// Primitive variant of Vmstat. The counters with a key are parsed into a long array indexed by the key, other counters are skipped.
+// Counters missing from the running kernel are left as 0, contains() tells them apart.
+public class LongVmstat {
+
+    private static final KeyTrie KEYS = new KeyTrie(' ', names());
+    private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
+    private final long[] values;
+    private final boolean[] found;
+
+    private static String[] names() {
+        Vmstat.Key[] keys = Vmstat.Key.values();
+        String[] names = new String[keys.length];
+        for (Vmstat.Key key : keys) {
+            names[key.ordinal()] = key.name();
+        }
+        return names;
+    }
+
+    public LongVmstat(ByteText origin) throws Exception {
+        this(new LongRows(origin));
+    }
+
+    public LongVmstat(LongFields fields) throws Exception {
+        timestamp = fields.timestamp();
+        values = new long[KEYS.size()];
+        found = new boolean[KEYS.size()];
+        while (fields.next()) {
+            int slot = fields.slot(KEYS);
+            if (slot != -1 && fields.size() > 0) {
+                values[slot] = fields.values()[0];
+                found[slot] = true;
+            }
+        }
+        readStart = fields.readStart();
+        readEnd = fields.readEnd();
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public long readStart() {
+        return readStart;
+    }
+
+    public long readEnd() {
+        return readEnd;
+    }
+
+    public long value(Vmstat.Key key) {
+        return values[key.ordinal()];
+    }
+
+    public boolean contains(Vmstat.Key key) {
+        return found[key.ordinal()];
+    }
+
+    // Values of every key, indexed by the ordinals of Vmstat.Key.
+    public long[] values() {
+        return values;
+    }
+}
@@ -49,6 +49,7 @@ import com.teragrep.jos_01.procfs.status.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
 
@@ -60,11 +61,91 @@ import java.util.ArrayList;
 // Fields are separated by rows, and contain a name and a value separated by a colon character (:)
 // Some values are appended by a metric, such as 'kB'.
 // Values are integers.
+// Fields are identified by their names, not by their positions. Every field of the file is parsed into table(), the accessors cover the fields listed above.
+// Accessors of fields missing from the running kernel or configuration return 0, contains() tells them apart.
 public class Meminfo implements Text {
 
     private final Logger LOGGER = LoggerFactory.getLogger(Meminfo.class);
     private final Instant timestamp;
-    private final ArrayList<String> fields;
+    private final Text fields;
+    private final LongTable table;
+
+    // Keys of the parsed fields in the order they are listed in the file. The name of the key followed by a colon starts the row of the field.
+    public enum Key {
+        MemTotal("MemTotal"),
+        MemFree("MemFree"),
+        MemAvailable("MemAvailable"),
+        Buffers("Buffers"),
+        Cached("Cached"),
+        SwapCached("SwapCached"),
+        Active("Active"),
+        Inactive("Inactive"),
+        Activeanon("Active(anon)"),
+        Inactiveanon("Inactive(anon)"),
+        Activefile("Active(file)"),
+        Inactivefile("Inactive(file)"),
+        SwapTotal("SwapTotal"),
+        SwapFree("SwapFree"),
+        Dirty("Dirty"),
+        Writeback("Writeback"),
+        AnonPages("AnonPages"),
+        Mapped("Mapped"),
+        Shmem("Shmem"),
+        KReclaimable("KReclaimable"),
+        Slab("Slab"),
+        SReclaimable("SReclaimable"),
+        SUnreclaim("SUnreclaim"),
+        KernelStack("KernelStack"),
+        PageTables("PageTables"),
+        NFS_Unstable("NFS_Unstable"),
+        Bounce("Bounce"),
+        WritebackTmp("WritebackTmp"),
+        CommitLimit("CommitLimit"),
+        Committed_AS("Committed_AS"),
+        VmallocTotal("VmallocTotal"),
+        VmallocUsed("VmallocUsed"),
+        VmallocChunk("VmallocChunk"),
+        DirectMap4k("DirectMap4k");
+
+        private final String name;
+
+        Key(String name) {
+            this.name = name;
+        }
+
+        // Name of the field as it is written in the file.
+        public String label() {
+            return name;
+        }
+    }
+
+    private static final KeyTrie KEYS = new KeyTrie(':', names());
+    private static final KeyedLongs TABLE = new KeyedLongs(':');
+    private static final Projection<Key> ALL = new Projection<Key>(Key.class);
+    private static final Pipeline FIELDS = new Pipeline()
+            .selected(KEYS)
+            .delimited(":")
+            .replaced("kB", "")
+            .trimmed()
+            .digits();
+
+    private static String[] names() {
+        Key[] keys = Key.values();
+        String[] names = new String[keys.length];
+        for (Key key : keys) {
+            names[key.ordinal()] = key.name;
+        }
+        return names;
+    }
+
+    private static String[] names(Projection<Key> projection) {
+        ArrayList<String> names = new ArrayList<String>();
+        for (Key key : projection.fields()) {
+            names.add(key.name);
+        }
+        return names.toArray(new String[0]);
+    }
+
     private final long MemTotal;
     private final long MemFree;
     private final long MemAvailable;
@@ -101,67 +182,138 @@ public class Meminfo implements Text {
     private final long DirectMap4k;
 
     public Meminfo(Text origin) throws Exception {
-        fields = new Digits(
-                new Trimmed(
-                        new Replaced(
-                                new CharacterDelimited(
-                                        new Matched(
-                                                origin,
-                                                "MemTotal.*|MemFree.*|MemAvailable.*|Buffers.*|Cached.*|SwapCached.*|Active.*|Inactive.*|Activeanon.*|Inactiveanon.*|Activefile.*|Inactivefile.*|SwapTotal.*|SwapFree.*|Dirty.*|Writeback.*|AnonPages.*|Mapped.*|Shmem:.*|KReclaimable.*|Slab.*|SReclaimable.*|SUnreclaim.*|KernelStack.*|PageTables.*|NFS_Unstable.*|Bounce.*|WritebackTmp.*|CommitLimit.*|Committed_AS.*|VmallocTotal.*|VmallocUsed.*|VmallocChunk.*|DirectMap4k.*"
-                                        ),
-                                        ":"
-                                ),
-                                "kB",
-                                ""
-                        )
-                )
-        ).read();
-        MemTotal = Long.parseLong(fields.get(0));
-        MemFree = Long.parseLong(fields.get(1));
-        MemAvailable = Long.parseLong(fields.get(2));
-        Buffers = Long.parseLong(fields.get(3));
-        Cached = Long.parseLong(fields.get(4));
-        SwapCached = Long.parseLong(fields.get(5));
-        Active = Long.parseLong(fields.get(6));
-        Inactive = Long.parseLong(fields.get(7));
-        Activeanon = Long.parseLong(fields.get(8));
-        Inactiveanon = Long.parseLong(fields.get(9));
-        Activefile = Long.parseLong(fields.get(10));
-        Inactivefile = Long.parseLong(fields.get(11));
-        SwapTotal = Long.parseLong(fields.get(12));
-        SwapFree = Long.parseLong(fields.get(13));
-        Dirty = Long.parseLong(fields.get(14));
-        Writeback = Long.parseLong(fields.get(15));
-        AnonPages = Long.parseLong(fields.get(16));
-        Mapped = Long.parseLong(fields.get(17));
-        Shmem = Long.parseLong(fields.get(18));
-        KReclaimable = Long.parseLong(fields.get(19));
-        Slab = Long.parseLong(fields.get(20));
-        SReclaimable = Long.parseLong(fields.get(21));
-        SUnreclaim = Long.parseLong(fields.get(22));
-        KernelStack = Long.parseLong(fields.get(23));
-        PageTables = Long.parseLong(fields.get(24));
-        NFS_Unstable = Long.parseLong(fields.get(25));
-        Bounce = Long.parseLong(fields.get(26));
-        WritebackTmp = Long.parseLong(fields.get(27));
-        CommitLimit = Long.parseLong(fields.get(28));
-        Committed_AS = Long.parseLong(fields.get(29));
-        VmallocTotal = Long.parseLong(fields.get(30));
-        VmallocUsed = Long.parseLong(fields.get(31));
-        VmallocChunk = Long.parseLong(fields.get(32));
-        DirectMap4k = Long.parseLong(fields.get(33));
-        timestamp = origin.timestamp();
+        this(new TimeaddedText(origin));
+    }
+
+    private Meminfo(TimeaddedText rows) throws Exception {
+        this(rows.timestamp(), new Cached(fields(rows)), TABLE.table(rows.read()));
+    }
+
+    // Parses the values directly from the bytes of the file.
+    // The raw fields returned by read() are decoded only when read() is called.
+    public Meminfo(ByteText origin) throws Exception {
+        this(origin.bytes(), origin);
+    }
+
+    private Meminfo(ByteBuffer buffer, ByteText origin) throws Exception {
+        this(origin.timestamp(), new Cached(fields(new ByteLines(buffer, origin))), TABLE.table(buffer));
+    }
+
+    // Parses only the requested fields and stops reading the file once all of them are found.
+    // table() contains only the requested fields, accessors of the other fields return 0.
+    public Meminfo(ByteText origin, Projection<Key> projection) throws Exception {
+        this(origin.bytes(), origin, projection);
+    }
+
+    private Meminfo(ByteBuffer buffer, ByteText origin, Projection<Key> projection) throws Exception {
+        this(
+                origin.timestamp(),
+                new Cached(fields(new ByteLines(buffer, origin))),
+                TABLE.table(buffer, new KeyTrie(':', names(projection))),
+                projection
+        );
+    }
+
+    private Meminfo(Instant timestamp, Text fields, LongTable table) throws Exception {
+        this(timestamp, fields, table, ALL);
+    }
+
+    private Meminfo(Instant timestamp, Text fields, LongTable table, Projection<Key> projection) throws Exception {
+        this(timestamp, fields, table, values(table, projection));
+    }
+
+    private Meminfo(Instant timestamp, Text fields, LongTable table, long[] values) {
+        this.timestamp = timestamp;
+        this.fields = fields;
+        this.table = table;
+        MemTotal = values[Key.MemTotal.ordinal()];
+        MemFree = values[Key.MemFree.ordinal()];
+        MemAvailable = values[Key.MemAvailable.ordinal()];
+        Buffers = values[Key.Buffers.ordinal()];
+        Cached = values[Key.Cached.ordinal()];
+        SwapCached = values[Key.SwapCached.ordinal()];
+        Active = values[Key.Active.ordinal()];
+        Inactive = values[Key.Inactive.ordinal()];
+        Activeanon = values[Key.Activeanon.ordinal()];
+        Inactiveanon = values[Key.Inactiveanon.ordinal()];
+        Activefile = values[Key.Activefile.ordinal()];
+        Inactivefile = values[Key.Inactivefile.ordinal()];
+        SwapTotal = values[Key.SwapTotal.ordinal()];
+        SwapFree = values[Key.SwapFree.ordinal()];
+        Dirty = values[Key.Dirty.ordinal()];
+        Writeback = values[Key.Writeback.ordinal()];
+        AnonPages = values[Key.AnonPages.ordinal()];
+        Mapped = values[Key.Mapped.ordinal()];
+        Shmem = values[Key.Shmem.ordinal()];
+        KReclaimable = values[Key.KReclaimable.ordinal()];
+        Slab = values[Key.Slab.ordinal()];
+        SReclaimable = values[Key.SReclaimable.ordinal()];
+        SUnreclaim = values[Key.SUnreclaim.ordinal()];
+        KernelStack = values[Key.KernelStack.ordinal()];
+        PageTables = values[Key.PageTables.ordinal()];
+        NFS_Unstable = values[Key.NFS_Unstable.ordinal()];
+        Bounce = values[Key.Bounce.ordinal()];
+        WritebackTmp = values[Key.WritebackTmp.ordinal()];
+        CommitLimit = values[Key.CommitLimit.ordinal()];
+        Committed_AS = values[Key.Committed_AS.ordinal()];
+        VmallocTotal = values[Key.VmallocTotal.ordinal()];
+        VmallocUsed = values[Key.VmallocUsed.ordinal()];
+        VmallocChunk = values[Key.VmallocChunk.ordinal()];
+        DirectMap4k = values[Key.DirectMap4k.ordinal()];
+    }
+
+    private static Text fields(Text origin) {
+        return new Fused(origin, FIELDS);
+    }
+
+    // Values of the requested fixed fields, looked up by their names from the table of fields.
+    private static long[] values(LongTable table, Projection<Key> projection) throws Exception {
+        long[] values = new long[Key.values().length];
+        for (Key key : projection.fields()) {
+            int slot = table.slot(key.name);
+            if (slot != -1) {
+                values[key.ordinal()] = table.value(slot);
+            }
+        }
+        return values;
     }
 
     @Override
-    public ArrayList<String> read() {
-        return fields;
+    public ArrayList<String> read() throws Exception {
+        return fields.read();
     }
 
     public Instant timestamp() {
         return timestamp;
     }
 
+    @Override
+    public long readStart() {
+        return fields.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return fields.readEnd();
+    }
+
+    // All fields of the file, including the ones without an accessor, such as HugePages_Total, Percpu or CmaTotal.
+    public LongTable table() {
+        return table;
+    }
+
+    public boolean contains(String name) {
+        return table.contains(name);
+    }
+
+    public boolean contains(Key key) {
+        return table.contains(key.name);
+    }
+
+    public long value(String name) throws Exception {
+        return table.value(name);
+    }
+
     public void printTimestamp() {
         LOGGER.info(timestamp.toString());
     }
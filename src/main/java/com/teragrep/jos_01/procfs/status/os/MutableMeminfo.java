@@ -0,0 +1,265 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.os;
+
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.KeyTrie;
+import com.teragrep.jos_01.procfs.status.LongRows;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+// Opt-in mutable variant of Meminfo for steady-state sampling. refill() reads the origin again and overwrites the fields in place, without allocating.
+// Fields are indexed by Meminfo.Key and have the same named accessors as in Meminfo. Fields missing from the running kernel or configuration are left as 0, contains() tells them apart. Not thread-safe.
+public class MutableMeminfo {
+
+    private static final KeyTrie KEYS = new KeyTrie(':', names());
+    private final ByteText origin;
+    private final LongRows rows;
+    private final long[] values;
+    private final boolean[] found;
+
+    private static String[] names() {
+        Meminfo.Key[] keys = Meminfo.Key.values();
+        String[] names = new String[keys.length];
+        for (Meminfo.Key key : keys) {
+            names[key.ordinal()] = key.label();
+        }
+        return names;
+    }
+
+    public MutableMeminfo(ByteText origin) throws Exception {
+        this.origin = origin;
+        this.rows = new LongRows(origin);
+        this.values = new long[KEYS.size()];
+        this.found = new boolean[KEYS.size()];
+        fill();
+    }
+
+    public MutableMeminfo refill() throws Exception {
+        try {
+            rows.reset();
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to refill Meminfo!", e);
+        }
+        fill();
+        return this;
+    }
+
+    private void fill() throws Exception {
+        Arrays.fill(found, false);
+        while (rows.next()) {
+            int slot = rows.slot(KEYS);
+            if (slot != -1 && rows.size() > 0) {
+                values[slot] = rows.values()[0];
+                found[slot] = true;
+            }
+        }
+        for (int slot = 0; slot < found.length; slot++) {
+            if (!found[slot]) {
+                values[slot] = 0;
+            }
+        }
+    }
+
+    public Instant timestamp() {
+        return origin.timestamp();
+    }
+
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
+    public long value(Meminfo.Key key) {
+        return values[key.ordinal()];
+    }
+
+    // Fields missing from the running kernel or configuration are 0.
+    public boolean contains(Meminfo.Key key) {
+        return found[key.ordinal()];
+    }
+
+    public long MemTotal() {
+        return values[Meminfo.Key.MemTotal.ordinal()];
+    }
+
+    public long MemFree() {
+        return values[Meminfo.Key.MemFree.ordinal()];
+    }
+
+    public long MemAvailable() {
+        return values[Meminfo.Key.MemAvailable.ordinal()];
+    }
+
+    public long Buffers() {
+        return values[Meminfo.Key.Buffers.ordinal()];
+    }
+
+    public long Cached() {
+        return values[Meminfo.Key.Cached.ordinal()];
+    }
+
+    public long SwapCached() {
+        return values[Meminfo.Key.SwapCached.ordinal()];
+    }
+
+    public long Active() {
+        return values[Meminfo.Key.Active.ordinal()];
+    }
+
+    public long Inactive() {
+        return values[Meminfo.Key.Inactive.ordinal()];
+    }
+
+    public long Activeanon() {
+        return values[Meminfo.Key.Activeanon.ordinal()];
+    }
+
+    public long Inactiveanon() {
+        return values[Meminfo.Key.Inactiveanon.ordinal()];
+    }
+
+    public long Activefile() {
+        return values[Meminfo.Key.Activefile.ordinal()];
+    }
+
+    public long Inactivefile() {
+        return values[Meminfo.Key.Inactivefile.ordinal()];
+    }
+
+    public long SwapTotal() {
+        return values[Meminfo.Key.SwapTotal.ordinal()];
+    }
+
+    public long SwapFree() {
+        return values[Meminfo.Key.SwapFree.ordinal()];
+    }
+
+    public long Dirty() {
+        return values[Meminfo.Key.Dirty.ordinal()];
+    }
+
+    public long Writeback() {
+        return values[Meminfo.Key.Writeback.ordinal()];
+    }
+
+    public long AnonPages() {
+        return values[Meminfo.Key.AnonPages.ordinal()];
+    }
+
+    public long Mapped() {
+        return values[Meminfo.Key.Mapped.ordinal()];
+    }
+
+    public long Shmem() {
+        return values[Meminfo.Key.Shmem.ordinal()];
+    }
+
+    public long KReclaimable() {
+        return values[Meminfo.Key.KReclaimable.ordinal()];
+    }
+
+    public long Slab() {
+        return values[Meminfo.Key.Slab.ordinal()];
+    }
+
+    public long SReclaimable() {
+        return values[Meminfo.Key.SReclaimable.ordinal()];
+    }
+
+    public long SUnreclaim() {
+        return values[Meminfo.Key.SUnreclaim.ordinal()];
+    }
+
+    public long KernelStack() {
+        return values[Meminfo.Key.KernelStack.ordinal()];
+    }
+
+    public long PageTables() {
+        return values[Meminfo.Key.PageTables.ordinal()];
+    }
+
+    public long NFS_Unstable() {
+        return values[Meminfo.Key.NFS_Unstable.ordinal()];
+    }
+
+    public long Bounce() {
+        return values[Meminfo.Key.Bounce.ordinal()];
+    }
+
+    public long WritebackTmp() {
+        return values[Meminfo.Key.WritebackTmp.ordinal()];
+    }
+
+    public long CommitLimit() {
+        return values[Meminfo.Key.CommitLimit.ordinal()];
+    }
+
+    public long Committed_AS() {
+        return values[Meminfo.Key.Committed_AS.ordinal()];
+    }
+
+    public long VmallocTotal() {
+        return values[Meminfo.Key.VmallocTotal.ordinal()];
+    }
+
+    public long VmallocUsed() {
+        return values[Meminfo.Key.VmallocUsed.ordinal()];
+    }
+
+    public long VmallocChunk() {
+        return values[Meminfo.Key.VmallocChunk.ordinal()];
+    }
+
+    public long DirectMap4k() {
+        return values[Meminfo.Key.DirectMap4k.ordinal()];
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.os;
+
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.LongRows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+// Opt-in mutable variant of Stat for steady-state sampling. The caller keeps one instance and calls refill() on every tick.
+// refill() reads the origin again and overwrites the values in place. The arrays are reused and only grow when the file has more values than before, and the raw rows are not kept.
+// Values are valid until the next refill(), copy the ones that need to be kept longer. Not thread-safe.
+public class MutableStat {
+
+    private static final byte[] CPU = "cpu".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INTR = "intr".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SOFTIRQ = "softirq".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CTXT = "ctxt".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BTIME = "btime".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCESSES = "processes".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCS_RUNNING = "procs_running".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCS_BLOCKED = "procs_blocked".getBytes(StandardCharsets.US_ASCII);
+    private final ByteText origin;
+    private final LongRows rows;
+    private final long[] values;
+    private long[][] cpus;
+    private int[] cpuSizes;
+    private int[] cpuIds;
+    private int cpuCount;
+    private long[] intr;
+    private int intrCount;
+    private long[] softirq;
+    private int softirqCount;
+
+    public MutableStat(ByteText origin) throws Exception {
+        this.origin = origin;
+        this.rows = new LongRows(origin);
+        this.values = new long[5];
+        this.cpus = new long[0][];
+        this.cpuSizes = new int[0];
+        this.cpuIds = new int[0];
+        this.intr = new long[0];
+        this.softirq = new long[0];
+        fill();
+    }
+
+    public MutableStat refill() throws Exception {
+        try {
+            rows.reset();
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to refill Stat!", e);
+        }
+        fill();
+        return this;
+    }
+
+    private void fill() throws Exception {
+        Arrays.fill(values, 0);
+        cpuCount = 0;
+        intrCount = 0;
+        softirqCount = 0;
+        while (rows.next()) {
+            if (rows.labelled(CPU)) {
+                if (cpuCount == cpus.length) {
+                    int grown = Math.max(8, cpuCount * 2);
+                    cpus = Arrays.copyOf(cpus, grown);
+                    cpuSizes = Arrays.copyOf(cpuSizes, grown);
+                    cpuIds = Arrays.copyOf(cpuIds, grown);
+                }
+                if (cpus[cpuCount] == null || cpus[cpuCount].length < rows.size()) {
+                    cpus[cpuCount] = new long[rows.size()];
+                }
+                System.arraycopy(rows.values(), 0, cpus[cpuCount], 0, rows.size());
+                cpuSizes[cpuCount] = rows.size();
+                cpuIds[cpuCount] = (int) rows.labelNumber(CPU.length);
+                cpuCount++;
+            }
+            else if (rows.labelled(INTR)) {
+                if (intr.length < rows.size()) {
+                    intr = new long[rows.size()];
+                }
+                System.arraycopy(rows.values(), 0, intr, 0, rows.size());
+                intrCount = rows.size();
+            }
+            else if (rows.labelled(SOFTIRQ)) {
+                if (softirq.length < rows.size()) {
+                    softirq = new long[rows.size()];
+                }
+                System.arraycopy(rows.values(), 0, softirq, 0, rows.size());
+                softirqCount = rows.size();
+            }
+            else if (rows.size() > 0) {
+                int index = index();
+                if (index != -1) {
+                    values[index] = rows.values()[0];
+                }
+            }
+        }
+    }
+
+    private int index() {
+        if (rows.labelled(CTXT)) {
+            return 0;
+        }
+        if (rows.labelled(BTIME)) {
+            return 1;
+        }
+        if (rows.labelled(PROCESSES)) {
+            return 2;
+        }
+        if (rows.labelled(PROCS_RUNNING)) {
+            return 3;
+        }
+        if (rows.labelled(PROCS_BLOCKED)) {
+            return 4;
+        }
+        return -1;
+    }
+
+    public Instant timestamp() {
+        return origin.timestamp();
+    }
+
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
+    // Number of cpu rows, including the aggregated row.
+    public int cpuCount() {
+        return cpuCount;
+    }
+
+    // Values of the cpu row at the index. Only the first cpuSize(index) values are valid.
+    public long[] cpu(int index) {
+        return cpus[index];
+    }
+
+    public int cpuSize(int index) {
+        return cpuSizes[index];
+    }
+
+    // Number of the CPU of the row at the index. The aggregated row of all CPUs is numbered -1.
+    public int cpuId(int index) {
+        return cpuIds[index];
+    }
+
+    // Only the first intrCount() values are valid.
+    public long[] intr() {
+        return intr;
+    }
+
+    public int intrCount() {
+        return intrCount;
+    }
+
+    // Only the first softirqCount() values are valid.
+    public long[] softirq() {
+        return softirq;
+    }
+
+    public int softirqCount() {
+        return softirqCount;
+    }
+
+    public long ctxt() {
+        return values[0];
+    }
+
+    public long btime() {
+        return values[1];
+    }
+
+    public long processes() {
+        return values[2];
+    }
+
+    public long procs_running() {
+        return values[3];
+    }
+
+    public long procs_blocked() {
+        return values[4];
+    }
+}
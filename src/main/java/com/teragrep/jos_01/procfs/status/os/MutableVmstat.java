@@ -0,0 +1,452 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.os;
+
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.KeyTrie;
+import com.teragrep.jos_01.procfs.status.LongRows;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+// Opt-in mutable variant of Vmstat for steady-state sampling. refill() reads the origin again and overwrites the counters in place, without allocating.
+// Counters are indexed by Vmstat.Key and have the same named accessors as in Vmstat. Counters missing from the running kernel are left as 0, contains() tells them apart. Not thread-safe.
+public class MutableVmstat {
+
+    private static final KeyTrie KEYS = new KeyTrie(' ', names());
+    private final ByteText origin;
+    private final LongRows rows;
+    private final long[] values;
+    private final boolean[] found;
+
+    private static String[] names() {
+        Vmstat.Key[] keys = Vmstat.Key.values();
+        String[] names = new String[keys.length];
+        for (Vmstat.Key key : keys) {
+            names[key.ordinal()] = key.name();
+        }
+        return names;
+    }
+
+    public MutableVmstat(ByteText origin) throws Exception {
+        this.origin = origin;
+        this.rows = new LongRows(origin);
+        this.values = new long[KEYS.size()];
+        this.found = new boolean[KEYS.size()];
+        fill();
+    }
+
+    public MutableVmstat refill() throws Exception {
+        try {
+            rows.reset();
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to refill Vmstat!", e);
+        }
+        fill();
+        return this;
+    }
+
+    private void fill() throws Exception {
+        Arrays.fill(values, 0);
+        Arrays.fill(found, false);
+        while (rows.next()) {
+            int slot = rows.slot(KEYS);
+            if (slot != -1 && rows.size() > 0) {
+                values[slot] = rows.values()[0];
+                found[slot] = true;
+            }
+        }
+    }
+
+    public Instant timestamp() {
+        return origin.timestamp();
+    }
+
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
+    public long value(Vmstat.Key key) {
+        return values[key.ordinal()];
+    }
+
+    public boolean contains(Vmstat.Key key) {
+        return found[key.ordinal()];
+    }
+
+    public long nr_free_pages() {
+        return values[Vmstat.Key.nr_free_pages.ordinal()];
+    }
+
+    public long nr_inactive_anon() {
+        return values[Vmstat.Key.nr_inactive_anon.ordinal()];
+    }
+
+    public long nr_active_anon() {
+        return values[Vmstat.Key.nr_active_anon.ordinal()];
+    }
+
+    public long nr_inactive_file() {
+        return values[Vmstat.Key.nr_inactive_file.ordinal()];
+    }
+
+    public long nr_active_file() {
+        return values[Vmstat.Key.nr_active_file.ordinal()];
+    }
+
+    public long nr_unevictable() {
+        return values[Vmstat.Key.nr_unevictable.ordinal()];
+    }
+
+    public long nr_mlock() {
+        return values[Vmstat.Key.nr_mlock.ordinal()];
+    }
+
+    public long nr_anon_pages() {
+        return values[Vmstat.Key.nr_anon_pages.ordinal()];
+    }
+
+    public long nr_mapped() {
+        return values[Vmstat.Key.nr_mapped.ordinal()];
+    }
+
+    public long nr_file_pages() {
+        return values[Vmstat.Key.nr_file_pages.ordinal()];
+    }
+
+    public long nr_dirty() {
+        return values[Vmstat.Key.nr_dirty.ordinal()];
+    }
+
+    public long nr_writeback() {
+        return values[Vmstat.Key.nr_writeback.ordinal()];
+    }
+
+    public long nr_slab_reclaimable() {
+        return values[Vmstat.Key.nr_slab_reclaimable.ordinal()];
+    }
+
+    public long nr_slab_unreclaimable() {
+        return values[Vmstat.Key.nr_slab_unreclaimable.ordinal()];
+    }
+
+    public long nr_page_table_pages() {
+        return values[Vmstat.Key.nr_page_table_pages.ordinal()];
+    }
+
+    public long nr_kernel_stack() {
+        return values[Vmstat.Key.nr_kernel_stack.ordinal()];
+    }
+
+    public long nr_unstable() {
+        return values[Vmstat.Key.nr_unstable.ordinal()];
+    }
+
+    public long nr_bounce() {
+        return values[Vmstat.Key.nr_bounce.ordinal()];
+    }
+
+    public long nr_vmscan_write() {
+        return values[Vmstat.Key.nr_vmscan_write.ordinal()];
+    }
+
+    public long nr_vmscan_immediate_reclaim() {
+        return values[Vmstat.Key.nr_vmscan_immediate_reclaim.ordinal()];
+    }
+
+    public long nr_writeback_temp() {
+        return values[Vmstat.Key.nr_writeback_temp.ordinal()];
+    }
+
+    public long nr_isolated_anon() {
+        return values[Vmstat.Key.nr_isolated_anon.ordinal()];
+    }
+
+    public long nr_isolated_file() {
+        return values[Vmstat.Key.nr_isolated_file.ordinal()];
+    }
+
+    public long nr_shmem() {
+        return values[Vmstat.Key.nr_shmem.ordinal()];
+    }
+
+    public long nr_dirtied() {
+        return values[Vmstat.Key.nr_dirtied.ordinal()];
+    }
+
+    public long nr_written() {
+        return values[Vmstat.Key.nr_written.ordinal()];
+    }
+
+    public long numa_hit() {
+        return values[Vmstat.Key.numa_hit.ordinal()];
+    }
+
+    public long numa_miss() {
+        return values[Vmstat.Key.numa_miss.ordinal()];
+    }
+
+    public long numa_foreign() {
+        return values[Vmstat.Key.numa_foreign.ordinal()];
+    }
+
+    public long numa_interleave() {
+        return values[Vmstat.Key.numa_interleave.ordinal()];
+    }
+
+    public long numa_local() {
+        return values[Vmstat.Key.numa_local.ordinal()];
+    }
+
+    public long numa_other() {
+        return values[Vmstat.Key.numa_other.ordinal()];
+    }
+
+    public long nr_free_cma() {
+        return values[Vmstat.Key.nr_free_cma.ordinal()];
+    }
+
+    public long nr_dirty_threshold() {
+        return values[Vmstat.Key.nr_dirty_threshold.ordinal()];
+    }
+
+    public long nr_dirty_background_threshold() {
+        return values[Vmstat.Key.nr_dirty_background_threshold.ordinal()];
+    }
+
+    public long pgpgin() {
+        return values[Vmstat.Key.pgpgin.ordinal()];
+    }
+
+    public long pgpgout() {
+        return values[Vmstat.Key.pgpgout.ordinal()];
+    }
+
+    public long pswpin() {
+        return values[Vmstat.Key.pswpin.ordinal()];
+    }
+
+    public long pswpout() {
+        return values[Vmstat.Key.pswpout.ordinal()];
+    }
+
+    public long pgalloc_dma() {
+        return values[Vmstat.Key.pgalloc_dma.ordinal()];
+    }
+
+    public long pgalloc_dma32() {
+        return values[Vmstat.Key.pgalloc_dma32.ordinal()];
+    }
+
+    public long pgalloc_normal() {
+        return values[Vmstat.Key.pgalloc_normal.ordinal()];
+    }
+
+    public long pgalloc_movable() {
+        return values[Vmstat.Key.pgalloc_movable.ordinal()];
+    }
+
+    public long pgfree() {
+        return values[Vmstat.Key.pgfree.ordinal()];
+    }
+
+    public long pgactivate() {
+        return values[Vmstat.Key.pgactivate.ordinal()];
+    }
+
+    public long pgdeactivate() {
+        return values[Vmstat.Key.pgdeactivate.ordinal()];
+    }
+
+    public long pgfault() {
+        return values[Vmstat.Key.pgfault.ordinal()];
+    }
+
+    public long pgmajfault() {
+        return values[Vmstat.Key.pgmajfault.ordinal()];
+    }
+
+    public long pgscan_direct_throttle() {
+        return values[Vmstat.Key.pgscan_direct_throttle.ordinal()];
+    }
+
+    public long zone_reclaim_failed() {
+        return values[Vmstat.Key.zone_reclaim_failed.ordinal()];
+    }
+
+    public long pginodesteal() {
+        return values[Vmstat.Key.pginodesteal.ordinal()];
+    }
+
+    public long slabs_scanned() {
+        return values[Vmstat.Key.slabs_scanned.ordinal()];
+    }
+
+    public long kswapd_inodesteal() {
+        return values[Vmstat.Key.kswapd_inodesteal.ordinal()];
+    }
+
+    public long kswapd_low_wmark_hit_quickly() {
+        return values[Vmstat.Key.kswapd_low_wmark_hit_quickly.ordinal()];
+    }
+
+    public long kswapd_high_wmark_hit_quickly() {
+        return values[Vmstat.Key.kswapd_high_wmark_hit_quickly.ordinal()];
+    }
+
+    public long pageoutrun() {
+        return values[Vmstat.Key.pageoutrun.ordinal()];
+    }
+
+    public long pgrotated() {
+        return values[Vmstat.Key.pgrotated.ordinal()];
+    }
+
+    public long drop_pagecache() {
+        return values[Vmstat.Key.drop_pagecache.ordinal()];
+    }
+
+    public long drop_slab() {
+        return values[Vmstat.Key.drop_slab.ordinal()];
+    }
+
+    public long pgmigrate_success() {
+        return values[Vmstat.Key.pgmigrate_success.ordinal()];
+    }
+
+    public long pgmigrate_fail() {
+        return values[Vmstat.Key.pgmigrate_fail.ordinal()];
+    }
+
+    public long compact_migrate_scanned() {
+        return values[Vmstat.Key.compact_migrate_scanned.ordinal()];
+    }
+
+    public long compact_free_scanned() {
+        return values[Vmstat.Key.compact_free_scanned.ordinal()];
+    }
+
+    public long compact_isolated() {
+        return values[Vmstat.Key.compact_isolated.ordinal()];
+    }
+
+    public long compact_stall() {
+        return values[Vmstat.Key.compact_stall.ordinal()];
+    }
+
+    public long compact_fail() {
+        return values[Vmstat.Key.compact_fail.ordinal()];
+    }
+
+    public long compact_success() {
+        return values[Vmstat.Key.compact_success.ordinal()];
+    }
+
+    public long htlb_buddy_alloc_success() {
+        return values[Vmstat.Key.htlb_buddy_alloc_success.ordinal()];
+    }
+
+    public long htlb_buddy_alloc_fail() {
+        return values[Vmstat.Key.htlb_buddy_alloc_fail.ordinal()];
+    }
+
+    public long unevictable_pgs_culled() {
+        return values[Vmstat.Key.unevictable_pgs_culled.ordinal()];
+    }
+
+    public long unevictable_pgs_scanned() {
+        return values[Vmstat.Key.unevictable_pgs_scanned.ordinal()];
+    }
+
+    public long unevictable_pgs_rescued() {
+        return values[Vmstat.Key.unevictable_pgs_rescued.ordinal()];
+    }
+
+    public long unevictable_pgs_mlocked() {
+        return values[Vmstat.Key.unevictable_pgs_mlocked.ordinal()];
+    }
+
+    public long unevictable_pgs_munlocked() {
+        return values[Vmstat.Key.unevictable_pgs_munlocked.ordinal()];
+    }
+
+    public long unevictable_pgs_cleared() {
+        return values[Vmstat.Key.unevictable_pgs_cleared.ordinal()];
+    }
+
+    public long unevictable_pgs_stranded() {
+        return values[Vmstat.Key.unevictable_pgs_stranded.ordinal()];
+    }
+
+    public long thp_fault_alloc() {
+        return values[Vmstat.Key.thp_fault_alloc.ordinal()];
+    }
+
+    public long thp_fault_fallback() {
+        return values[Vmstat.Key.thp_fault_fallback.ordinal()];
+    }
+
+    public long thp_collapse_alloc() {
+        return values[Vmstat.Key.thp_collapse_alloc.ordinal()];
+    }
+
+    public long thp_collapse_alloc_failed() {
+        return values[Vmstat.Key.thp_collapse_alloc_failed.ordinal()];
+    }
+
+    public long thp_zero_page_alloc() {
+        return values[Vmstat.Key.thp_zero_page_alloc.ordinal()];
+    }
+
+    public long thp_zero_page_alloc_failed() {
+        return values[Vmstat.Key.thp_zero_page_alloc_failed.ordinal()];
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.os;
+
+import com.teragrep.jos_01.procfs.status.ByteCursor;
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.Text;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+// Counters of the network interfaces, read from /proc/net/dev.
+// The file starts with a two-line header. The second line names the receive and the transmit columns in two sections separated by |, and the columns of the rows are mapped to Column by those names.
+// Every following row is the name of an interface and a colon followed by its counters. The counters of all interfaces are kept in one long array indexed by the interface and the column.
+// Counters are unsigned 64-bit values. Values above Long.MAX_VALUE are kept as their two's complement representation, and values above 2^64-1 are rejected.
+// Both parsers skip blank rows and reject any other row without a colon.
+// Interface names and the column layout of a previous NetDev are reused while they stay the same, so sampling thousands of interfaces decodes no names.
+public class NetDev {
+
+    public enum Column {
+        rx_bytes,
+        rx_packets,
+        rx_errs,
+        rx_drop,
+        rx_fifo,
+        rx_frame,
+        rx_compressed,
+        rx_multicast,
+        tx_bytes,
+        tx_packets,
+        tx_errs,
+        tx_drop,
+        tx_fifo,
+        tx_colls,
+        tx_carrier,
+        tx_compressed
+    }
+
+    private static final int COLUMNS = Column.values().length;
+    private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
+    private final String header;
+    // Column of every counter of a row, -1 for counters not known by Column.
+    private final int[] layout;
+    private final int count;
+    private final String[] names;
+    private final long[] values;
+    private final HashMap<String, Integer> indexes;
+
+    // Parses the rows read by a RowFile.
+    public NetDev(Text origin) throws Exception {
+        ArrayList<String> rows = origin.read();
+        timestamp = origin.timestamp();
+        readStart = origin.readStart();
+        readEnd = origin.readEnd();
+        if (rows.size() < 2) {
+            throw new Exception("NetDev is missing the two-line header!");
+        }
+        header = rows.get(1);
+        layout = layout(header);
+        String[] interfaceNames = new String[rows.size() - 2];
+        long[] counters = new long[interfaceNames.length * COLUMNS];
+        int interfaces = 0;
+        for (int row = 2; row < rows.size(); row++) {
+            String line = rows.get(row).trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon == -1) {
+                throw new Exception("Expected an interface name in row <" + line + ">!");
+            }
+            interfaceNames[interfaces] = line.substring(0, colon).trim();
+            String[] tokens = line.substring(colon + 1).trim().split(" +");
+            for (int index = 0; index < tokens.length && index < layout.length; index++) {
+                if (tokens[index].length() > 20) {
+                    throw new Exception("Expected an unsigned 64-bit number in row <" + line + ">!");
+                }
+                long value = Long.parseUnsignedLong(tokens[index]);
+                if (layout[index] != -1) {
+                    counters[interfaces * COLUMNS + layout[index]] = value;
+                }
+            }
+            interfaces++;
+        }
+        count = interfaces;
+        names = Arrays.copyOf(interfaceNames, interfaces);
+        values = Arrays.copyOf(counters, interfaces * COLUMNS);
+        indexes = indexes(names);
+    }
+
+    // Parses the values directly from the bytes of the file.
+    public NetDev(ByteText origin) throws Exception {
+        this(origin, null);
+    }
+
+    // Reuses the column layout and the interface names of the previous NetDev for the interfaces listed at the same positions.
+    public NetDev(ByteText origin, NetDev previous) throws Exception {
+        ByteCursor cursor = new ByteCursor(origin.bytes());
+        timestamp = origin.timestamp();
+        readStart = origin.readStart();
+        readEnd = origin.readEnd();
+        cursor.nextLine();
+        if (!cursor.hasRemaining()) {
+            throw new Exception("NetDev is missing the two-line header!");
+        }
+        int headerEnd = cursor.lineEnd();
+        if (previous != null && same(previous.header, cursor, cursor.position(), headerEnd)) {
+            header = previous.header;
+            layout = previous.layout;
+        }
+        else {
+            header = cursor.text(cursor.position(), headerEnd);
+            layout = layout(header);
+        }
+        cursor.nextLine();
+        String[] previousNames = previous == null ? new String[0] : previous.names;
+        int capacity = Math.max(previousNames.length, 16);
+        String[] interfaceNames = new String[capacity];
+        long[] counters = new long[capacity * COLUMNS];
+        int interfaces = 0;
+        boolean sameInterfaces = true;
+        while (cursor.hasRemaining()) {
+            cursor.skipBlanks();
+            if (!cursor.hasNextToken()) {
+                cursor.nextLine();
+                continue;
+            }
+            int colon = cursor.indexOf((byte) ':');
+            if (colon == -1) {
+                throw new Exception(
+                        "Expected an interface name in row <" + cursor.text(cursor.position(), cursor.lineEnd()) + ">!"
+                );
+            }
+            if (interfaces == interfaceNames.length) {
+                interfaceNames = Arrays.copyOf(interfaceNames, interfaces * 2);
+                counters = Arrays.copyOf(counters, interfaces * 2 * COLUMNS);
+            }
+            if (
+                interfaces < previousNames.length && same(previousNames[interfaces], cursor, cursor.position(), colon)
+            ) {
+                interfaceNames[interfaces] = previousNames[interfaces];
+            }
+            else {
+                interfaceNames[interfaces] = cursor.text(cursor.position(), colon);
+                sameInterfaces = false;
+            }
+            // Older kernels print the first counter right after the colon.
+            cursor.position(colon + 1);
+            int index = 0;
+            while (index < layout.length && cursor.hasNextToken()) {
+                long value = cursor.nextUnsignedLong();
+                if (layout[index] != -1) {
+                    counters[interfaces * COLUMNS + layout[index]] = value;
+                }
+                index++;
+            }
+            interfaces++;
+            cursor.nextLine();
+        }
+        count = interfaces;
+        names = Arrays.copyOf(interfaceNames, interfaces);
+        values = Arrays.copyOf(counters, interfaces * COLUMNS);
+        indexes = previous != null && sameInterfaces
+                && interfaces == previousNames.length ? previous.indexes : indexes(names);
+    }
+
+    // The index is never changed after it is built, so it is shared with the next NetDev of the same interfaces without locking.
+    private static HashMap<String, Integer> indexes(String[] names) {
+        HashMap<String, Integer> indexes = new HashMap<String, Integer>((int) (names.length / 0.75f) + 1);
+        for (int row = 0; row < names.length; row++) {
+            indexes.put(names[row], row);
+        }
+        return indexes;
+    }
+
+    // Maps the columns named by the second header line, such as " face |bytes packets ...|bytes packets ...", to Column.
+    private static int[] layout(String header) throws Exception {
+        String[] sections = header.split("\\|");
+        if (sections.length != 3) {
+            throw new Exception("Expected receive and transmit sections in header <" + header + ">!");
+        }
+        String[] receive = sections[1].trim().split(" +");
+        String[] transmit = sections[2].trim().split(" +");
+        int[] layout = new int[receive.length + transmit.length];
+        for (int index = 0; index < layout.length; index++) {
+            String name = index < receive.length ? "rx_" + receive[index] : "tx_" + transmit[index - receive.length];
+            layout[index] = -1;
+            for (Column column : Column.values()) {
+                if (column.name().equals(name)) {
+                    layout[index] = column.ordinal();
+                }
+            }
+        }
+        return layout;
+    }
+
+    private static boolean same(String text, ByteCursor cursor, int start, int end) {
+        if (text.length() != end - start) {
+            return false;
+        }
+        for (int index = 0; index < text.length(); index++) {
+            if (text.charAt(index) != cursor.at(start + index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public long readStart() {
+        return readStart;
+    }
+
+    public long readEnd() {
+        return readEnd;
+    }
+
+    // Number of interfaces.
+    public int count() {
+        return count;
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public long value(int row, Column column) {
+        return values[row * COLUMNS + column.ordinal()];
+    }
+
+    // Index of the interface with the given name, or -1 if there is none.
+    public int index(String name) {
+        Integer row = indexes.get(name);
+        return row == null ? -1 : row;
+    }
+}
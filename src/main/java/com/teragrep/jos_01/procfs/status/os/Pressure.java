@@ -0,0 +1,223 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.os;
+
+import com.teragrep.jos_01.procfs.status.ByteCursor;
+import com.teragrep.jos_01.procfs.status.ByteLines;
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.Cached;
+import com.teragrep.jos_01.procfs.status.Text;
+import com.teragrep.jos_01.procfs.status.TimeaddedText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+
+// Pressure stall information of one resource, read from a file of /proc/pressure.
+// The some row tells the share of time at least one task was stalled on the resource, the full row the share of time all non-idle tasks were stalled at once.
+// Averages are percentages over the last 10, 60 and 300 seconds. Totals are the accumulated stall times in microseconds.
+// The cpu file has no full row before Linux 5.13, in which case full() is false and the full values are 0.
+public class Pressure implements Text {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(Pressure.class);
+    private static final byte[] SOME = "some ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FULL = "full ".getBytes(StandardCharsets.US_ASCII);
+    private final Instant timestamp;
+    private final Text fields;
+    // avg10, avg60, avg300 of the some row followed by those of the full row.
+    private final double[] averages;
+    private final long someTotal;
+    private final long fullTotal;
+    private final boolean full;
+
+    // Files of /proc/pressure.
+    public enum Resource {
+        cpu, memory, io
+    }
+
+    public Pressure(Text origin) throws Exception {
+        ArrayList<String> rows = origin.read();
+        timestamp = origin.timestamp();
+        fields = new TimeaddedText(rows, origin.timestamp(), origin.readStart(), origin.readEnd());
+        averages = new double[6];
+        long[] totals = {
+                -1, -1
+        };
+        for (String row : rows) {
+            int index = row.startsWith("some ") ? 0 : row.startsWith("full ") ? 1 : -1;
+            if (index == -1) {
+                continue;
+            }
+            String[] values = row.split(" ");
+            if (values.length != 5) {
+                throw new Exception("Expected 4 values in pressure row <" + row + ">!");
+            }
+            for (int value = 0; value < 3; value++) {
+                averages[index * 3 + value] = Double.parseDouble(value(values[value + 1]));
+            }
+            totals[index] = Long.parseLong(value(values[4]));
+        }
+        if (totals[0] == -1) {
+            throw new Exception("Pressure is missing the some row!");
+        }
+        someTotal = totals[0];
+        full = totals[1] != -1;
+        fullTotal = full ? totals[1] : 0;
+    }
+
+    // Parses the values directly from the bytes of the file. The raw rows returned by read() are decoded only when read() is called.
+    public Pressure(ByteText origin) throws Exception {
+        ByteBuffer buffer = origin.bytes();
+        timestamp = origin.timestamp();
+        fields = new Cached(new ByteLines(buffer, origin));
+        averages = new double[6];
+        long[] totals = {
+                -1, -1
+        };
+        ByteCursor cursor = new ByteCursor(buffer);
+        while (cursor.hasRemaining()) {
+            int index = cursor.startsWith(SOME) ? 0 : cursor.startsWith(FULL) ? 1 : -1;
+            if (index != -1) {
+                for (int value = 0; value < 3; value++) {
+                    cursor.position(equals(cursor) + 1);
+                    averages[index * 3 + value] = cursor.nextDouble();
+                }
+                cursor.position(equals(cursor) + 1);
+                totals[index] = cursor.nextLong();
+            }
+            cursor.nextLine();
+        }
+        if (totals[0] == -1) {
+            throw new Exception("Pressure is missing the some row!");
+        }
+        someTotal = totals[0];
+        full = totals[1] != -1;
+        fullTotal = full ? totals[1] : 0;
+    }
+
+    // Value of a name=value token.
+    private static String value(String token) throws Exception {
+        int index = token.indexOf('=');
+        if (index == -1) {
+            throw new Exception("Expected name=value in pressure token <" + token + ">!");
+        }
+        return token.substring(index + 1);
+    }
+
+    // Index of the next = on the row of the cursor.
+    private static int equals(ByteCursor cursor) throws Exception {
+        int index = cursor.indexOf((byte) '=');
+        if (index == -1) {
+            throw new Exception("Expected name=value at byte " + cursor.position() + " of pressure!");
+        }
+        return index;
+    }
+
+    @Override
+    public ArrayList<String> read() throws Exception {
+        return fields.read();
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public long readStart() {
+        return fields.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return fields.readEnd();
+    }
+
+    public void printTimestamp() {
+        LOGGER.info(timestamp.toString());
+    }
+
+    public double someAvg10() {
+        return averages[0];
+    }
+
+    public double someAvg60() {
+        return averages[1];
+    }
+
+    public double someAvg300() {
+        return averages[2];
+    }
+
+    // Microseconds.
+    public long someTotal() {
+        return someTotal;
+    }
+
+    // True if the file has a full row.
+    public boolean full() {
+        return full;
+    }
+
+    public double fullAvg10() {
+        return averages[3];
+    }
+
+    public double fullAvg60() {
+        return averages[4];
+    }
+
+    public double fullAvg300() {
+        return averages[5];
+    }
+
+    // Microseconds.
+    public long fullTotal() {
+        return fullTotal;
+    }
+}
@@ -49,6 +49,8 @@ import com.teragrep.jos_01.procfs.status.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 
@@ -60,9 +62,21 @@ import java.util.ArrayList;
 public class Stat implements Text {
 
     private final Logger LOGGER = LoggerFactory.getLogger(Stat.class);
+    private static final byte[] CPU = "cpu".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INTR = "intr ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SOFTIRQ = "softirq ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CTXT = "ctxt ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BTIME = "btime ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCESSES = "processes ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCS_RUNNING = "procs_running ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROCS_BLOCKED = "procs_blocked ".getBytes(StandardCharsets.US_ASCII);
+    private static final Pipeline ROWS = new Pipeline().replaced(" +", " ");
+    private static final Projection<Row> ALL = new Projection<Row>(Row.class);
+    private static final Pipeline VALUES = new Pipeline().delimited(" ");
     private final Instant timestamp;
-    private final ArrayList<String> fields;
+    private final Text fields;
     private final ArrayList<ArrayList<Long>> cpus;
+    private final ArrayList<Integer> cpuIds;
     private final ArrayList<Long> intr;
     private final ArrayList<Long> softirq;
     private final long ctxt;
@@ -71,53 +85,174 @@ public class Stat implements Text {
     private final long procs_running;
     private final long procs_blocked;
 
+    // Rows of the file. The cpu row stands for the aggregated row and the rows of every CPU.
+    public enum Row {
+        cpu, intr, softirq, ctxt, btime, processes, procs_running, procs_blocked
+    }
+
+    // The origin is read before its timestamp is taken, so a lazily read RowFile reports the time of the read instead of the time it was created.
     public Stat(Text origin) throws Exception {
+        fields = new TimeaddedText(new Fused(origin, ROWS));
         timestamp = origin.timestamp();
-        fields = new TimeaddedText(new Replaced(origin, " +", " ")).read();
         cpus = new ArrayList<ArrayList<Long>>();
+        cpuIds = new ArrayList<Integer>();
         intr = new ArrayList<Long>();
         softirq = new ArrayList<Long>();
-        for (String field : fields) {
+        ArrayList<String> rows = fields.read();
+        for (String field : rows) {
             if (field.startsWith("cpu")) {
-                ArrayList<String> cpuValues = new Digits(new CharacterDelimited(new TimeaddedText(field), " ")).read();
-                ArrayList<Long> cpuLongs = new ArrayList<Long>();
-                for (String value : cpuValues) {
-                    cpuLongs.add(Long.parseLong(value));
+                long[] cpuValues = new LongDigits(new Fused(new TimeaddedText(field), VALUES)).longs();
+                ArrayList<Long> cpuLongs = new ArrayList<Long>(cpuValues.length);
+                for (long value : cpuValues) {
+                    cpuLongs.add(value);
                 }
                 cpus.add(cpuLongs);
+                int labelEnd = field.indexOf(' ');
+                cpuIds.add(labelEnd <= 3 ? -1 : Integer.parseInt(field.substring(3, labelEnd)));
             }
             if (field.startsWith("intr")) {
-                ArrayList<String> intrValues = new Digits(new CharacterDelimited(new TimeaddedText(field), " ")).read();
-                for (String value : intrValues) {
-                    intr.add(Long.parseLong(value));
+                long[] intrValues = new LongDigits(new Fused(new TimeaddedText(field), VALUES)).longs();
+                for (long value : intrValues) {
+                    intr.add(value);
                 }
             }
             if (field.startsWith("softirq")) {
-                ArrayList<String> softIrqValues = new Digits(new CharacterDelimited(new TimeaddedText(field), " "))
-                        .read();
-                ArrayList<Long> softIrqLongs = new ArrayList<Long>();
-                for (String value : softIrqValues) {
-                    softirq.add(Long.parseLong(value));
+                long[] softIrqValues = new LongDigits(new Fused(new TimeaddedText(field), VALUES)).longs();
+                for (long value : softIrqValues) {
+                    softirq.add(value);
                 }
             }
         }
 
-        ctxt = Long.parseLong(fields.get(cpus.size() + 2).split(" ")[1]);
-        btime = Long.parseLong(fields.get(cpus.size() + 3).split(" ")[1]);
-        processes = Long.parseLong(fields.get(cpus.size() + 4).split(" ")[1]);
-        procs_running = Long.parseLong(fields.get(cpus.size() + 5).split(" ")[1]);
-        procs_blocked = Long.parseLong(fields.get(cpus.size() + 6).split(" ")[1]);
+        ctxt = Long.parseLong(rows.get(cpus.size() + 2).split(" ")[1]);
+        btime = Long.parseLong(rows.get(cpus.size() + 3).split(" ")[1]);
+        processes = Long.parseLong(rows.get(cpus.size() + 4).split(" ")[1]);
+        procs_running = Long.parseLong(rows.get(cpus.size() + 5).split(" ")[1]);
+        procs_blocked = Long.parseLong(rows.get(cpus.size() + 6).split(" ")[1]);
+    }
+
+    // Parses the values directly from the bytes of the file. Rows are identified by their names instead of their positions.
+    // The raw rows returned by read() are decoded only when read() is called.
+    public Stat(ByteText origin) throws Exception {
+        this(origin, ALL);
+    }
+
+    // Parses only the requested rows. The other rows are skipped without decoding their values, which matters for the long intr row.
+    public Stat(ByteText origin, Projection<Row> projection) throws Exception {
+        ByteBuffer buffer = origin.bytes();
+        timestamp = origin.timestamp();
+        fields = new Cached(new Fused(new ByteLines(buffer, origin), ROWS));
+        cpus = new ArrayList<ArrayList<Long>>();
+        cpuIds = new ArrayList<Integer>();
+        intr = new ArrayList<Long>();
+        softirq = new ArrayList<Long>();
+        long[] values = {
+                -1, -1, -1, -1, -1
+        };
+        ByteCursor cursor = new ByteCursor(buffer);
+        while (cursor.hasRemaining()) {
+            if (cursor.startsWith(CPU)) {
+                if (projection.requested(Row.cpu)) {
+                    cursor.position(cursor.position() + CPU.length);
+                    if (!cursor.hasRemaining()) {
+                        throw new Exception(
+                                "Failed to parse Stat! The cpu row at byte " + (cursor.position() - CPU.length)
+                                        + " is truncated!"
+                        );
+                    }
+                    if (cursor.at(cursor.position()) == ' ') {
+                        cpuIds.add(-1);
+                    }
+                    else {
+                        cpuIds.add((int) cursor.nextLong());
+                    }
+                    ArrayList<Long> cpuLongs = new ArrayList<Long>();
+                    while (cursor.hasNextToken()) {
+                        cpuLongs.add(cursor.nextLong());
+                    }
+                    cpus.add(cpuLongs);
+                }
+            }
+            else if (cursor.startsWith(INTR)) {
+                if (projection.requested(Row.intr)) {
+                    cursor.skipToken();
+                    while (cursor.hasNextToken()) {
+                        intr.add(cursor.nextLong());
+                    }
+                }
+            }
+            else if (cursor.startsWith(SOFTIRQ)) {
+                if (projection.requested(Row.softirq)) {
+                    cursor.skipToken();
+                    while (cursor.hasNextToken()) {
+                        softirq.add(cursor.nextLong());
+                    }
+                }
+            }
+            else {
+                int index = index(cursor);
+                if (index != -1 && projection.requested(Row.ctxt.ordinal() + index)) {
+                    cursor.skipToken();
+                    values[index] = cursor.nextLong();
+                }
+            }
+            cursor.nextLine();
+        }
+        for (int index = 0; index < values.length; index++) {
+            if (!projection.requested(Row.ctxt.ordinal() + index)) {
+                values[index] = 0;
+            }
+            else if (values[index] == -1) {
+                throw new Exception(
+                        "Stat is missing one of the rows ctxt, btime, processes, procs_running or procs_blocked!"
+                );
+            }
+        }
+        ctxt = values[0];
+        btime = values[1];
+        processes = values[2];
+        procs_running = values[3];
+        procs_blocked = values[4];
+    }
+
+    private int index(ByteCursor cursor) {
+        if (cursor.startsWith(CTXT)) {
+            return 0;
+        }
+        if (cursor.startsWith(BTIME)) {
+            return 1;
+        }
+        if (cursor.startsWith(PROCESSES)) {
+            return 2;
+        }
+        if (cursor.startsWith(PROCS_RUNNING)) {
+            return 3;
+        }
+        if (cursor.startsWith(PROCS_BLOCKED)) {
+            return 4;
+        }
+        return -1;
     }
 
     @Override
-    public ArrayList<String> read() {
-        return fields;
+    public ArrayList<String> read() throws Exception {
+        return fields.read();
     }
 
     public Instant timestamp() {
         return timestamp;
     }
 
+    @Override
+    public long readStart() {
+        return fields.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return fields.readEnd();
+    }
+
     public void printTimestamp() {
         LOGGER.info(timestamp.toString());
     }
@@ -126,6 +261,12 @@ public class Stat implements Text {
         return cpus;
     }
 
+    // Numbers of the CPUs in the same order as cpus(). The aggregated row of all CPUs is numbered -1.
+    // Offline CPUs are not listed in the file, so the index of a CPU in cpus() is not always its number.
+    public ArrayList<Integer> cpuIds() {
+        return cpuIds;
+    }
+
     public ArrayList<Long> intr() {
         return intr;
     }
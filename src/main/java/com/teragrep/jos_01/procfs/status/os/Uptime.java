@@ -61,6 +61,8 @@ public class Uptime implements Text {
     private final double uptimeSeconds;
     private final double combinedCpuCoreIdleTimeSeconds;
     private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
 
     private enum fields {
         uptimeSeconds, combinedCpuCoreIdleTimeSeconds
@@ -68,6 +70,8 @@ public class Uptime implements Text {
 
     public Uptime(Text origin) throws Exception {
         fields = origin.read();
+        readStart = origin.readStart();
+        readEnd = origin.readEnd();
         uptimeSeconds = Double.parseDouble(fields.get(0));
         combinedCpuCoreIdleTimeSeconds = Double.parseDouble(fields.get(1));
         timestamp = origin.timestamp();
@@ -82,6 +86,16 @@ public class Uptime implements Text {
         return timestamp;
     }
 
+    @Override
+    public long readStart() {
+        return readStart;
+    }
+
+    @Override
+    public long readEnd() {
+        return readEnd;
+    }
+
     public void printTimestamp() {
         LOGGER.info(timestamp.toString());
     }
@@ -45,543 +45,560 @@
  */
 package com.teragrep.jos_01.procfs.status.os;
 
-import com.teragrep.jos_01.procfs.status.Matched;
+import com.teragrep.jos_01.procfs.status.ByteLines;
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.Cached;
+import com.teragrep.jos_01.procfs.status.Fused;
+import com.teragrep.jos_01.procfs.status.KeyTrie;
+import com.teragrep.jos_01.procfs.status.KeyedLongs;
+import com.teragrep.jos_01.procfs.status.LongTable;
+import com.teragrep.jos_01.procfs.status.Pipeline;
+import com.teragrep.jos_01.procfs.status.Projection;
 import com.teragrep.jos_01.procfs.status.Text;
+import com.teragrep.jos_01.procfs.status.TimeaddedText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 
 // Vmstat does not always have predefined number of fields on all systems with different configurations.
 // Different kernels have different configurations which influence what fields are shown.
 // Fields are separated by rows.
 // Fields include a name and a value, separated by a spacebar.
 // All values are integers.
+// Every counter of the file is parsed into table() in a single pass. Accessors of counters missing from the running kernel return 0, contains() tells them apart.
 public class Vmstat implements Text {
 
     private final Logger LOGGER = LoggerFactory.getLogger(Vmstat.class);
 
     private final Instant timestamp;
-    private final long nr_free_pages;
-    private final long nr_inactive_anon;
-    private final long nr_active_anon;
-    private final long nr_inactive_file;
-    private final long nr_active_file;
-    private final long nr_unevictable;
-    private final long nr_mlock;
-    private final long nr_anon_pages;
-    private final long nr_mapped;
-    private final long nr_file_pages;
-    private final long nr_dirty;
-    private final long nr_writeback;
-    private final long nr_slab_reclaimable;
-    private final long nr_slab_unreclaimable;
-    private final long nr_page_table_pages;
-    private final long nr_kernel_stack;
-    private final long nr_unstable;
-    private final long nr_bounce;
-    private final long nr_vmscan_write;
-    private final long nr_vmscan_immediate_reclaim;
-    private final long nr_writeback_temp;
-    private final long nr_isolated_anon;
-    private final long nr_isolated_file;
-    private final long nr_shmem;
-    private final long nr_dirtied;
-    private final long nr_written;
-    private final long numa_hit;
-    private final long numa_miss;
-    private final long numa_foreign;
-    private final long numa_interleave;
-    private final long numa_local;
-    private final long numa_other;
-    private final long nr_free_cma;
-    private final long nr_dirty_threshold;
-    private final long nr_dirty_background_threshold;
-    private final long pgpgin;
-    private final long pgpgout;
-    private final long pswpin;
-    private final long pswpout;
-    private final long pgalloc_dma;
-    private final long pgalloc_dma32;
-    private final long pgalloc_normal;
-    private final long pgalloc_movable;
-    private final long pgfree;
-    private final long pgactivate;
-    private final long pgdeactivate;
-    private final long pgfault;
-    private final long pgmajfault;
-    private final long pgscan_direct_throttle;
-    private final long zone_reclaim_failed;
-    private final long pginodesteal;
-    private final long slabs_scanned;
-    private final long kswapd_inodesteal;
-    private final long kswapd_low_wmark_hit_quickly;
-    private final long kswapd_high_wmark_hit_quickly;
-    private final long pageoutrun;
-    private final long pgrotated;
-    private final long drop_pagecache;
-    private final long drop_slab;
-    private final long pgmigrate_success;
-    private final long pgmigrate_fail;
-    private final long compact_migrate_scanned;
-    private final long compact_free_scanned;
-    private final long compact_isolated;
-    private final long compact_stall;
-    private final long compact_fail;
-    private final long compact_success;
-    private final long htlb_buddy_alloc_success;
-    private final long htlb_buddy_alloc_fail;
-    private final long unevictable_pgs_culled;
-    private final long unevictable_pgs_scanned;
-    private final long unevictable_pgs_rescued;
-    private final long unevictable_pgs_mlocked;
-    private final long unevictable_pgs_munlocked;
-    private final long unevictable_pgs_cleared;
-    private final long unevictable_pgs_stranded;
-    private final long thp_fault_alloc;
-    private final long thp_fault_fallback;
-    private final long thp_collapse_alloc;
-    private final long thp_collapse_alloc_failed;
-    private final long thp_zero_page_alloc;
-    private final long thp_zero_page_alloc_failed;
-    private final ArrayList<String> fields;
+    private final LongTable table;
+    private final long[] values;
+    private final Text fields;
+
+    // Keys of the parsed fields. The name of the key followed by a spacebar starts the row of the field.
+    public enum Key {
+        nr_free_pages,
+        nr_inactive_anon,
+        nr_active_anon,
+        nr_inactive_file,
+        nr_active_file,
+        nr_unevictable,
+        nr_mlock,
+        nr_anon_pages,
+        nr_mapped,
+        nr_file_pages,
+        nr_dirty,
+        nr_writeback,
+        nr_slab_reclaimable,
+        nr_slab_unreclaimable,
+        nr_page_table_pages,
+        nr_kernel_stack,
+        nr_unstable,
+        nr_bounce,
+        nr_vmscan_write,
+        nr_vmscan_immediate_reclaim,
+        nr_writeback_temp,
+        nr_isolated_anon,
+        nr_isolated_file,
+        nr_shmem,
+        nr_dirtied,
+        nr_written,
+        numa_hit,
+        numa_miss,
+        numa_foreign,
+        numa_interleave,
+        numa_local,
+        numa_other,
+        nr_free_cma,
+        nr_dirty_threshold,
+        nr_dirty_background_threshold,
+        pgpgin,
+        pgpgout,
+        pswpin,
+        pswpout,
+        pgalloc_dma,
+        pgalloc_dma32,
+        pgalloc_normal,
+        pgalloc_movable,
+        pgfree,
+        pgactivate,
+        pgdeactivate,
+        pgfault,
+        pgmajfault,
+        pgscan_direct_throttle,
+        zone_reclaim_failed,
+        pginodesteal,
+        slabs_scanned,
+        kswapd_inodesteal,
+        kswapd_low_wmark_hit_quickly,
+        kswapd_high_wmark_hit_quickly,
+        pageoutrun,
+        pgrotated,
+        drop_pagecache,
+        drop_slab,
+        pgmigrate_success,
+        pgmigrate_fail,
+        compact_migrate_scanned,
+        compact_free_scanned,
+        compact_isolated,
+        compact_stall,
+        compact_fail,
+        compact_success,
+        htlb_buddy_alloc_success,
+        htlb_buddy_alloc_fail,
+        unevictable_pgs_culled,
+        unevictable_pgs_scanned,
+        unevictable_pgs_rescued,
+        unevictable_pgs_mlocked,
+        unevictable_pgs_munlocked,
+        unevictable_pgs_cleared,
+        unevictable_pgs_stranded,
+        thp_fault_alloc,
+        thp_fault_fallback,
+        thp_collapse_alloc,
+        thp_collapse_alloc_failed,
+        thp_zero_page_alloc,
+        thp_zero_page_alloc_failed
+    }
+
+    private static final KeyTrie KEYS = new KeyTrie(' ', names());
+    private static final Pipeline SELECTED = new Pipeline().selected(KEYS);
+    private static final KeyedLongs TABLE = new KeyedLongs(' ');
+
+    private static String[] names() {
+        Key[] keys = Key.values();
+        String[] names = new String[keys.length];
+        for (Key key : keys) {
+            names[key.ordinal()] = key.name();
+        }
+        return names;
+    }
+
+    private static String[] names(Projection<Key> projection) {
+        ArrayList<String> names = new ArrayList<String>();
+        for (Key key : projection.fields()) {
+            names.add(key.name());
+        }
+        return names.toArray(new String[0]);
+    }
 
     public Vmstat(Text origin) throws Exception {
-        fields = new Matched(
-                origin,
-                "nr_free_pages.*|nr_inactive_anon.*|nr_active_anon.*|nr_inactive_file.*|nr_active_file.*|nr_unevictable.*|nr_mlock.*|nr_anon_pages.*|nr_mapped.*|nr_file_pages.*|nr_dirty.*|nr_writeback.*|nr_slab_reclaimable.*|nr_slab_unreclaimable.*|nr_page_table_pages.*|nr_kernel_stack.*|nr_unstable.*|nr_bounce.*|nr_vmscan_write.*|nr_vmscan_immediate_reclaim.*|nr_writeback_temp.*|nr_isolated_anon.*|nr_isolated_file.*|nr_shmem.*|nr_dirtied.*|nr_written.*|numa_hit.*|numa_miss.*|numa_foreign.*|numa_interleave.*|numa_local.*|numa_other.*|nr_free_cma.*|nr_dirty_threshold.*|nr_dirty_background_threshold.*|pgpgin.*|pgpgout.*|pswpin.*|pswpout.*|pgalloc_dma.*|pgalloc_dma32.*|pgalloc_normal.*|pgalloc_movable.*|pgfree.*|pgactivate.*|pgdeactivate.*|pgfault.*|pgmajfault.*|pgscan_direct_throttle.*|zone_reclaim_failed.*|pginodesteal.*|slabs_scanned.*|kswapd_inodesteal.*|kswapd_low_wmark_hit_quickly.*|kswapd_high_wmark_hit_quickly.*|pageoutrun.*|pgrotated.*|drop_pagecache.*|drop_slab.*|pgmigrate_success.*|pgmigrate_fail.*|compact_migrate_scanned.*|compact_free_scanned.*|compact_isolated.*|compact_stall.*|compact_fail.*|compact_success.*|htlb_buddy_alloc_success.*|htlb_buddy_alloc_fail.*|unevictable_pgs_culled.*|unevictable_pgs_scanned.*|unevictable_pgs_rescued.*|unevictable_pgs_mlocked.*|unevictable_pgs_munlocked.*|unevictable_pgs_cleared.*|unevictable_pgs_stranded.*|thp_fault_alloc.*|thp_fault_fallback.*|thp_collapse_alloc.*|thp_collapse_alloc_failed.*|thp_zero_page_alloc.*|thp_zero_page_alloc_failed.*"
-        ).read();
-        LinkedHashMap<String, String> keyValuePairs = new LinkedHashMap<>();
-        for (String field : fields) {
-            String[] pair = field.split(" ");
-            keyValuePairs.put(pair[0], pair[1]);
+        this(new TimeaddedText(origin));
+    }
+
+    private Vmstat(TimeaddedText rows) throws Exception {
+        this(rows.timestamp(), new Cached(new Fused(rows, SELECTED)), TABLE.table(rows.read()));
+    }
+
+    // Parses the values directly from the bytes of the file. The raw rows returned by read() are decoded only when read() is called.
+    public Vmstat(ByteText origin) throws Exception {
+        this(origin.bytes(), origin);
+    }
+
+    private Vmstat(ByteBuffer buffer, ByteText origin) throws Exception {
+        this(origin.timestamp(), new Cached(new Fused(new ByteLines(buffer, origin), SELECTED)), TABLE.table(buffer));
+    }
+
+    // Parses only the requested counters and stops reading the file once all of them are found.
+    // table() contains only the requested counters, accessors of the other counters return 0.
+    public Vmstat(ByteText origin, Projection<Key> projection) throws Exception {
+        this(origin.bytes(), origin, projection);
+    }
+
+    private Vmstat(ByteBuffer buffer, ByteText origin, Projection<Key> projection) throws Exception {
+        this(
+                origin.timestamp(),
+                new Cached(new Fused(new ByteLines(buffer, origin), SELECTED)),
+                TABLE.table(buffer, new KeyTrie(' ', names(projection)))
+        );
+    }
+
+    private Vmstat(Instant timestamp, Text fields, LongTable table) {
+        this.timestamp = timestamp;
+        this.fields = fields;
+        this.table = table;
+        this.values = values(table);
+    }
+
+    // Values of the counters with an accessor, looked up by their names from the table of all counters.
+    // Counters that the running kernel does not have are left as 0.
+    private static long[] values(LongTable table) {
+        Key[] keys = Key.values();
+        long[] values = new long[keys.length];
+        for (Key key : keys) {
+            int slot = table.slot(key.name());
+            if (slot != -1) {
+                values[key.ordinal()] = table.value(slot);
+            }
         }
-        nr_free_pages = Long.parseLong(keyValuePairs.get("nr_free_pages"));
-        nr_inactive_anon = Long.parseLong(keyValuePairs.get("nr_inactive_anon"));
-        nr_active_anon = Long.parseLong(keyValuePairs.get("nr_active_anon"));
-        nr_inactive_file = Long.parseLong(keyValuePairs.get("nr_inactive_file"));
-        nr_active_file = Long.parseLong(keyValuePairs.get("nr_active_file"));
-        nr_unevictable = Long.parseLong(keyValuePairs.get("nr_unevictable"));
-        nr_mlock = Long.parseLong(keyValuePairs.get("nr_mlock"));
-        nr_anon_pages = Long.parseLong(keyValuePairs.get("nr_anon_pages"));
-        nr_mapped = Long.parseLong(keyValuePairs.get("nr_mapped"));
-        nr_file_pages = Long.parseLong(keyValuePairs.get("nr_file_pages"));
-        nr_dirty = Long.parseLong(keyValuePairs.get("nr_dirty"));
-        nr_writeback = Long.parseLong(keyValuePairs.get("nr_writeback"));
-        nr_slab_reclaimable = Long.parseLong(keyValuePairs.get("nr_slab_reclaimable"));
-        nr_slab_unreclaimable = Long.parseLong(keyValuePairs.get("nr_slab_unreclaimable"));
-        nr_page_table_pages = Long.parseLong(keyValuePairs.get("nr_page_table_pages"));
-        nr_kernel_stack = Long.parseLong(keyValuePairs.get("nr_kernel_stack"));
-        nr_unstable = Long.parseLong(keyValuePairs.get("nr_unstable"));
-        nr_bounce = Long.parseLong(keyValuePairs.get("nr_bounce"));
-        nr_vmscan_write = Long.parseLong(keyValuePairs.get("nr_vmscan_write"));
-        nr_vmscan_immediate_reclaim = Long.parseLong(keyValuePairs.get("nr_vmscan_immediate_reclaim"));
-        nr_writeback_temp = Long.parseLong(keyValuePairs.get("nr_writeback_temp"));
-        nr_isolated_anon = Long.parseLong(keyValuePairs.get("nr_isolated_anon"));
-        nr_isolated_file = Long.parseLong(keyValuePairs.get("nr_isolated_file"));
-        nr_shmem = Long.parseLong(keyValuePairs.get("nr_shmem"));
-        nr_dirtied = Long.parseLong(keyValuePairs.get("nr_dirtied"));
-        nr_written = Long.parseLong(keyValuePairs.get("nr_written"));
-        numa_hit = Long.parseLong(keyValuePairs.get("numa_hit"));
-        numa_miss = Long.parseLong(keyValuePairs.get("numa_miss"));
-        numa_foreign = Long.parseLong(keyValuePairs.get("numa_foreign"));
-        numa_interleave = Long.parseLong(keyValuePairs.get("numa_interleave"));
-        numa_local = Long.parseLong(keyValuePairs.get("numa_local"));
-        numa_other = Long.parseLong(keyValuePairs.get("numa_other"));
-        nr_free_cma = Long.parseLong(keyValuePairs.get("nr_free_cma"));
-        nr_dirty_threshold = Long.parseLong(keyValuePairs.get("nr_dirty_threshold"));
-        nr_dirty_background_threshold = Long.parseLong(keyValuePairs.get("nr_dirty_background_threshold"));
-        pgpgin = Long.parseLong(keyValuePairs.get("pgpgin"));
-        pgpgout = Long.parseLong(keyValuePairs.get("pgpgout"));
-        pswpin = Long.parseLong(keyValuePairs.get("pswpin"));
-        pswpout = Long.parseLong(keyValuePairs.get("pswpout"));
-        pgalloc_dma = Long.parseLong(keyValuePairs.get("pgalloc_dma"));
-        pgalloc_dma32 = Long.parseLong(keyValuePairs.get("pgalloc_dma32"));
-        pgalloc_normal = Long.parseLong(keyValuePairs.get("pgalloc_normal"));
-        pgalloc_movable = Long.parseLong(keyValuePairs.get("pgalloc_movable"));
-        pgfree = Long.parseLong(keyValuePairs.get("pgfree"));
-        pgactivate = Long.parseLong(keyValuePairs.get("pgactivate"));
-        pgdeactivate = Long.parseLong(keyValuePairs.get("pgdeactivate"));
-        pgfault = Long.parseLong(keyValuePairs.get("pgfault"));
-        pgmajfault = Long.parseLong(keyValuePairs.get("pgmajfault"));
-        pgscan_direct_throttle = Long.parseLong(keyValuePairs.get("pgscan_direct_throttle"));
-        zone_reclaim_failed = Long.parseLong(keyValuePairs.get("zone_reclaim_failed"));
-        pginodesteal = Long.parseLong(keyValuePairs.get("pginodesteal"));
-        slabs_scanned = Long.parseLong(keyValuePairs.get("slabs_scanned"));
-        kswapd_inodesteal = Long.parseLong(keyValuePairs.get("kswapd_inodesteal"));
-        kswapd_low_wmark_hit_quickly = Long.parseLong(keyValuePairs.get("kswapd_low_wmark_hit_quickly"));
-        kswapd_high_wmark_hit_quickly = Long.parseLong(keyValuePairs.get("kswapd_high_wmark_hit_quickly"));
-        pageoutrun = Long.parseLong(keyValuePairs.get("pageoutrun"));
-        pgrotated = Long.parseLong(keyValuePairs.get("pgrotated"));
-        drop_pagecache = Long.parseLong(keyValuePairs.get("drop_pagecache"));
-        drop_slab = Long.parseLong(keyValuePairs.get("drop_slab"));
-        pgmigrate_success = Long.parseLong(keyValuePairs.get("pgmigrate_success"));
-        pgmigrate_fail = Long.parseLong(keyValuePairs.get("pgmigrate_fail"));
-        compact_migrate_scanned = Long.parseLong(keyValuePairs.get("compact_migrate_scanned"));
-        compact_free_scanned = Long.parseLong(keyValuePairs.get("compact_free_scanned"));
-        compact_isolated = Long.parseLong(keyValuePairs.get("compact_isolated"));
-        compact_stall = Long.parseLong(keyValuePairs.get("compact_stall"));
-        compact_fail = Long.parseLong(keyValuePairs.get("compact_fail"));
-        compact_success = Long.parseLong(keyValuePairs.get("compact_success"));
-        htlb_buddy_alloc_success = Long.parseLong(keyValuePairs.get("htlb_buddy_alloc_success"));
-        htlb_buddy_alloc_fail = Long.parseLong(keyValuePairs.get("htlb_buddy_alloc_fail"));
-        unevictable_pgs_culled = Long.parseLong(keyValuePairs.get("unevictable_pgs_culled"));
-        unevictable_pgs_scanned = Long.parseLong(keyValuePairs.get("unevictable_pgs_scanned"));
-        unevictable_pgs_rescued = Long.parseLong(keyValuePairs.get("unevictable_pgs_rescued"));
-        unevictable_pgs_mlocked = Long.parseLong(keyValuePairs.get("unevictable_pgs_mlocked"));
-        unevictable_pgs_munlocked = Long.parseLong(keyValuePairs.get("unevictable_pgs_munlocked"));
-        unevictable_pgs_cleared = Long.parseLong(keyValuePairs.get("unevictable_pgs_cleared"));
-        unevictable_pgs_stranded = Long.parseLong(keyValuePairs.get("unevictable_pgs_stranded"));
-        thp_fault_alloc = Long.parseLong(keyValuePairs.get("thp_fault_alloc"));
-        thp_fault_fallback = Long.parseLong(keyValuePairs.get("thp_fault_fallback"));
-        thp_collapse_alloc = Long.parseLong(keyValuePairs.get("thp_collapse_alloc"));
-        thp_collapse_alloc_failed = Long.parseLong(keyValuePairs.get("thp_collapse_alloc_failed"));
-        thp_zero_page_alloc = Long.parseLong(keyValuePairs.get("thp_zero_page_alloc"));
-        thp_zero_page_alloc_failed = Long.parseLong(keyValuePairs.get("thp_zero_page_alloc_failed"));
-        timestamp = origin.timestamp();
+        return values;
     }
 
     @Override
-    public ArrayList<String> read() {
-        return fields;
+    public ArrayList<String> read() throws Exception {
+        return fields.read();
     }
 
     public Instant timestamp() {
         return timestamp;
     }
 
+    @Override
+    public long readStart() {
+        return fields.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return fields.readEnd();
+    }
+
+    // All counters of the file, typically 150 or more on recent kernels.
+    public LongTable table() {
+        return table;
+    }
+
+    public boolean contains(String name) {
+        return table.contains(name);
+    }
+
+    public long value(String name) throws Exception {
+        return table.value(name);
+    }
+
     public void printTimestamp() {
         LOGGER.info(timestamp.toString());
     }
 
     public long nr_free_pages() {
-        return nr_free_pages;
+        return values[Key.nr_free_pages.ordinal()];
     }
 
     public long nr_inactive_anon() {
-        return nr_inactive_anon;
+        return values[Key.nr_inactive_anon.ordinal()];
     }
 
     public long nr_active_anon() {
-        return nr_active_anon;
+        return values[Key.nr_active_anon.ordinal()];
     }
 
     public long nr_inactive_file() {
-        return nr_inactive_file;
+        return values[Key.nr_inactive_file.ordinal()];
     }
 
     public long nr_active_file() {
-        return nr_active_file;
+        return values[Key.nr_active_file.ordinal()];
     }
 
     public long nr_unevictable() {
-        return nr_unevictable;
+        return values[Key.nr_unevictable.ordinal()];
     }
 
     public long nr_mlock() {
-        return nr_mlock;
+        return values[Key.nr_mlock.ordinal()];
     }
 
     public long nr_anon_pages() {
-        return nr_anon_pages;
+        return values[Key.nr_anon_pages.ordinal()];
     }
 
     public long nr_mapped() {
-        return nr_mapped;
+        return values[Key.nr_mapped.ordinal()];
     }
 
     public long nr_file_pages() {
-        return nr_file_pages;
+        return values[Key.nr_file_pages.ordinal()];
     }
 
     public long nr_dirty() {
-        return nr_dirty;
+        return values[Key.nr_dirty.ordinal()];
     }
 
     public long nr_writeback() {
-        return nr_writeback;
+        return values[Key.nr_writeback.ordinal()];
     }
 
     public long nr_slab_reclaimable() {
-        return nr_slab_reclaimable;
+        return values[Key.nr_slab_reclaimable.ordinal()];
     }
 
     public long nr_slab_unreclaimable() {
-        return nr_slab_unreclaimable;
+        return values[Key.nr_slab_unreclaimable.ordinal()];
     }
 
     public long nr_page_table_pages() {
-        return nr_page_table_pages;
+        return values[Key.nr_page_table_pages.ordinal()];
     }
 
     public long nr_kernel_stack() {
-        return nr_kernel_stack;
+        return values[Key.nr_kernel_stack.ordinal()];
     }
 
     public long nr_unstable() {
-        return nr_unstable;
+        return values[Key.nr_unstable.ordinal()];
     }
 
     public long nr_bounce() {
-        return nr_bounce;
+        return values[Key.nr_bounce.ordinal()];
     }
 
     public long nr_vmscan_write() {
-        return nr_vmscan_write;
+        return values[Key.nr_vmscan_write.ordinal()];
     }
 
     public long nr_vmscan_immediate_reclaim() {
-        return nr_vmscan_immediate_reclaim;
+        return values[Key.nr_vmscan_immediate_reclaim.ordinal()];
     }
 
     public long nr_writeback_temp() {
-        return nr_writeback_temp;
+        return values[Key.nr_writeback_temp.ordinal()];
     }
 
     public long nr_isolated_anon() {
-        return nr_isolated_anon;
+        return values[Key.nr_isolated_anon.ordinal()];
     }
 
     public long nr_isolated_file() {
-        return nr_isolated_file;
+        return values[Key.nr_isolated_file.ordinal()];
     }
 
     public long nr_shmem() {
-        return nr_shmem;
+        return values[Key.nr_shmem.ordinal()];
     }
 
     public long nr_dirtied() {
-        return nr_dirtied;
+        return values[Key.nr_dirtied.ordinal()];
     }
 
     public long nr_written() {
-        return nr_written;
+        return values[Key.nr_written.ordinal()];
     }
 
     public long numa_hit() {
-        return numa_hit;
+        return values[Key.numa_hit.ordinal()];
     }
 
     public long numa_miss() {
-        return numa_miss;
+        return values[Key.numa_miss.ordinal()];
     }
 
     public long numa_foreign() {
-        return numa_foreign;
+        return values[Key.numa_foreign.ordinal()];
     }
 
     public long numa_interleave() {
-        return numa_interleave;
+        return values[Key.numa_interleave.ordinal()];
     }
 
     public long numa_local() {
-        return numa_local;
+        return values[Key.numa_local.ordinal()];
     }
 
     public long numa_other() {
-        return numa_other;
+        return values[Key.numa_other.ordinal()];
     }
 
     public long nr_free_cma() {
-        return nr_free_cma;
+        return values[Key.nr_free_cma.ordinal()];
     }
 
     public long nr_dirty_threshold() {
-        return nr_dirty_threshold;
+        return values[Key.nr_dirty_threshold.ordinal()];
     }
 
     public long nr_dirty_background_threshold() {
-        return nr_dirty_background_threshold;
+        return values[Key.nr_dirty_background_threshold.ordinal()];
     }
 
     public long pgpgin() {
-        return pgpgin;
+        return values[Key.pgpgin.ordinal()];
     }
 
     public long pgpgout() {
-        return pgpgout;
+        return values[Key.pgpgout.ordinal()];
     }
 
     public long pswpin() {
-        return pswpin;
+        return values[Key.pswpin.ordinal()];
     }
 
     public long pswpout() {
-        return pswpout;
+        return values[Key.pswpout.ordinal()];
     }
 
     public long pgalloc_dma() {
-        return pgalloc_dma;
+        return values[Key.pgalloc_dma.ordinal()];
     }
 
     public long pgalloc_dma32() {
-        return pgalloc_dma32;
+        return values[Key.pgalloc_dma32.ordinal()];
     }
 
     public long pgalloc_normal() {
-        return pgalloc_normal;
+        return values[Key.pgalloc_normal.ordinal()];
     }
 
     public long pgalloc_movable() {
-        return pgalloc_movable;
+        return values[Key.pgalloc_movable.ordinal()];
     }
 
     public long pgfree() {
-        return pgfree;
+        return values[Key.pgfree.ordinal()];
     }
 
     public long pgactivate() {
-        return pgactivate;
+        return values[Key.pgactivate.ordinal()];
     }
 
     public long pgdeactivate() {
-        return pgdeactivate;
+        return values[Key.pgdeactivate.ordinal()];
     }
 
     public long pgfault() {
-        return pgfault;
+        return values[Key.pgfault.ordinal()];
     }
 
     public long pgmajfault() {
-        return pgmajfault;
+        return values[Key.pgmajfault.ordinal()];
     }
 
     public long pgscan_direct_throttle() {
-        return pgscan_direct_throttle;
+        return values[Key.pgscan_direct_throttle.ordinal()];
     }
 
     public long zone_reclaim_failed() {
-        return zone_reclaim_failed;
+        return values[Key.zone_reclaim_failed.ordinal()];
     }
 
     public long pginodesteal() {
-        return pginodesteal;
+        return values[Key.pginodesteal.ordinal()];
     }
 
     public long slabs_scanned() {
-        return slabs_scanned;
+        return values[Key.slabs_scanned.ordinal()];
     }
 
     public long kswapd_inodesteal() {
-        return kswapd_inodesteal;
+        return values[Key.kswapd_inodesteal.ordinal()];
     }
 
     public long kswapd_low_wmark_hit_quickly() {
-        return kswapd_low_wmark_hit_quickly;
+        return values[Key.kswapd_low_wmark_hit_quickly.ordinal()];
     }
 
     public long kswapd_high_wmark_hit_quickly() {
-        return kswapd_high_wmark_hit_quickly;
+        return values[Key.kswapd_high_wmark_hit_quickly.ordinal()];
     }
 
     public long pageoutrun() {
-        return pageoutrun;
+        return values[Key.pageoutrun.ordinal()];
     }
 
     public long pgrotated() {
-        return pgrotated;
+        return values[Key.pgrotated.ordinal()];
     }
 
     public long drop_pagecache() {
-        return drop_pagecache;
+        return values[Key.drop_pagecache.ordinal()];
     }
 
     public long drop_slab() {
-        return drop_slab;
+        return values[Key.drop_slab.ordinal()];
     }
 
     public long pgmigrate_success() {
-        return pgmigrate_success;
+        return values[Key.pgmigrate_success.ordinal()];
     }
 
     public long pgmigrate_fail() {
-        return pgmigrate_fail;
+        return values[Key.pgmigrate_fail.ordinal()];
     }
 
     public long compact_migrate_scanned() {
-        return compact_migrate_scanned;
+        return values[Key.compact_migrate_scanned.ordinal()];
     }
 
     public long compact_free_scanned() {
-        return compact_free_scanned;
+        return values[Key.compact_free_scanned.ordinal()];
     }
 
     public long compact_isolated() {
-        return compact_isolated;
+        return values[Key.compact_isolated.ordinal()];
     }
 
     public long compact_stall() {
-        return compact_stall;
+        return values[Key.compact_stall.ordinal()];
     }
 
     public long compact_fail() {
-        return compact_fail;
+        return values[Key.compact_fail.ordinal()];
     }
 
     public long compact_success() {
-        return compact_success;
+        return values[Key.compact_success.ordinal()];
     }
 
     public long htlb_buddy_alloc_success() {
-        return htlb_buddy_alloc_success;
+        return values[Key.htlb_buddy_alloc_success.ordinal()];
     }
 
     public long htlb_buddy_alloc_fail() {
-        return htlb_buddy_alloc_fail;
+        return values[Key.htlb_buddy_alloc_fail.ordinal()];
     }
 
     public long unevictable_pgs_culled() {
-        return unevictable_pgs_culled;
+        return values[Key.unevictable_pgs_culled.ordinal()];
     }
 
     public long unevictable_pgs_scanned() {
-        return unevictable_pgs_scanned;
+        return values[Key.unevictable_pgs_scanned.ordinal()];
     }
 
     public long unevictable_pgs_rescued() {
-        return unevictable_pgs_rescued;
+        return values[Key.unevictable_pgs_rescued.ordinal()];
     }
 
     public long unevictable_pgs_mlocked() {
-        return unevictable_pgs_mlocked;
+        return values[Key.unevictable_pgs_mlocked.ordinal()];
     }
 
     public long unevictable_pgs_munlocked() {
-        return unevictable_pgs_munlocked;
+        return values[Key.unevictable_pgs_munlocked.ordinal()];
     }
 
     public long unevictable_pgs_cleared() {
-        return unevictable_pgs_cleared;
+        return values[Key.unevictable_pgs_cleared.ordinal()];
     }
 
     public long unevictable_pgs_stranded() {
-        return unevictable_pgs_stranded;
+        return values[Key.unevictable_pgs_stranded.ordinal()];
     }
 
     public long thp_fault_alloc() {
-        return thp_fault_alloc;
+        return values[Key.thp_fault_alloc.ordinal()];
     }
 
     public long thp_fault_fallback() {
-        return thp_fault_fallback;
+        return values[Key.thp_fault_fallback.ordinal()];
     }
 
     public long thp_collapse_alloc() {
-        return thp_collapse_alloc;
+        return values[Key.thp_collapse_alloc.ordinal()];
     }
 
     public long thp_collapse_alloc_failed() {
-        return thp_collapse_alloc_failed;
+        return values[Key.thp_collapse_alloc_failed.ordinal()];
     }
 
     public long thp_zero_page_alloc() {
-        return thp_zero_page_alloc;
+        return values[Key.thp_zero_page_alloc.ordinal()];
     }
 
     public long thp_zero_page_alloc_failed() {
-        return thp_zero_page_alloc_failed;
+        return values[Key.thp_zero_page_alloc_failed.ordinal()];
     }
 
 }
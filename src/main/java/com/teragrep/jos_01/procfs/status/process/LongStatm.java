@@ -0,0 +1,128 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.process;
+
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.LongFields;
+import com.teragrep.jos_01.procfs.status.LongRows;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+// Primitive variant of Statm. The single row of the file is parsed into a long array indexed by Statm.Field.
+public class LongStatm {
+
+    private final Instant timestamp;
+    private final long readStart;
+    private final long readEnd;
+    private final long[] values;
+
+    public LongStatm(ByteText origin) throws Exception {
+        this(new LongRows(origin));
+    }
+
+    public LongStatm(LongFields fields) throws Exception {
+        timestamp = fields.timestamp();
+        if (!fields.next()) {
+            throw new Exception("Statm is empty!");
+        }
+        values = Arrays.copyOf(fields.values(), Statm.Field.values().length);
+        for (int index = fields.size(); index < values.length; index++) {
+            values[index] = 0;
+        }
+        readStart = fields.readStart();
+        readEnd = fields.readEnd();
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public long readStart() {
+        return readStart;
+    }
+
+    public long readEnd() {
+        return readEnd;
+    }
+
+    public long value(Statm.Field field) {
+        return values[field.ordinal()];
+    }
+
+    // Values of every field, indexed by the ordinals of Statm.Field.
+    public long[] values() {
+        return values;
+    }
+
+    public long size() {
+        return values[Statm.Field.size.ordinal()];
+    }
+
+    public long resident() {
+        return values[Statm.Field.resident.ordinal()];
+    }
+
+    public long shared() {
+        return values[Statm.Field.shared.ordinal()];
+    }
+
+    public long text() {
+        return values[Statm.Field.text.ordinal()];
+    }
+
+    public long lib() {
+        return values[Statm.Field.lib.ordinal()];
+    }
+
+    public long data() {
+        return values[Statm.Field.data.ordinal()];
+    }
+
+    public long dt() {
+        return values[Statm.Field.dt.ordinal()];
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.process;
+
+import com.teragrep.jos_01.procfs.status.ByteCursor;
+import com.teragrep.jos_01.procfs.status.ByteText;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+// Opt-in mutable variant of Stat for steady-state sampling. refill() reads the origin again and overwrites the fields in place.
+// The numeric fields are kept in a long array indexed by Stat.Field, and comm is kept as bytes. A String of comm is only created when comm() is called.
+// Every field has the same named accessor as in Stat. Fields added by later kernels are left as 0 when the running kernel does not have them. Not thread-safe.
+public class MutableStat {
+
+    private final ByteText origin;
+    private final ByteCursor cursor;
+    private final long[] values;
+    private byte[] comm;
+    private int commLength;
+    private String state;
+
+    private static final String[] STATES = states();
+
+    public MutableStat(ByteText origin) throws Exception {
+        this.origin = origin;
+        ByteBuffer buffer = origin.bytes();
+        this.cursor = new ByteCursor(buffer);
+        this.values = new long[Stat.Field.values().length];
+        this.comm = new byte[32];
+        fill();
+    }
+
+    public MutableStat refill() throws Exception {
+        try {
+            cursor.reset(origin.bytes());
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to refill Stat!", e);
+        }
+        fill();
+        return this;
+    }
+
+    private void fill() throws Exception {
+        Arrays.fill(values, 0);
+        values[Stat.Field.pid.ordinal()] = cursor.nextLong();
+        cursor.skipBlanks();
+        int commEnd = cursor.lastIndexOf((byte) ')');
+        if (commEnd == -1) {
+            throw new Exception("Stat is missing the closing parenthesis of comm!");
+        }
+        commLength = commEnd + 1 - cursor.position();
+        if (comm.length < commLength) {
+            comm = new byte[commLength];
+        }
+        for (int i = 0; i < commLength; i++) {
+            comm[i] = cursor.at(cursor.position() + i);
+        }
+        cursor.position(commEnd + 1);
+        state = cursor.hasNextToken() ? state(cursor.at(cursor.position())) : "";
+        cursor.skipToken();
+        for (int field = Stat.Field.ppid.ordinal(); field < values.length && cursor.hasNextToken(); field++) {
+            values[field] = cursor.nextLong();
+        }
+    }
+
+    private static String[] states() {
+        String[] states = new String[128];
+        for (int c = 0; c < states.length; c++) {
+            states[c] = String.valueOf((char) c);
+        }
+        return states;
+    }
+
+    private static String state(byte state) {
+        return state >= 0 ? STATES[state] : new String(new byte[] {
+                state
+        }, StandardCharsets.UTF_8);
+    }
+
+    public Instant timestamp() {
+        return origin.timestamp();
+    }
+
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
+    public long value(Stat.Field field) {
+        return values[field.ordinal()];
+    }
+
+    public long pid() {
+        return values[Stat.Field.pid.ordinal()];
+    }
+
+    // Creates a String of comm, including the parentheses.
+    public String comm() {
+        return new String(comm, 0, commLength, StandardCharsets.UTF_8);
+    }
+
+    // The state is one of the shared single character Strings, so no String is created for it.
+    public String state() {
+        return state;
+    }
+
+    public long ppid() {
+        return values[Stat.Field.ppid.ordinal()];
+    }
+
+    public long pgrp() {
+        return values[Stat.Field.pgrp.ordinal()];
+    }
+
+    public long session() {
+        return values[Stat.Field.session.ordinal()];
+    }
+
+    public long tty_nr() {
+        return values[Stat.Field.tty_nr.ordinal()];
+    }
+
+    public long tpgid() {
+        return values[Stat.Field.tpgid.ordinal()];
+    }
+
+    public long flags() {
+        return values[Stat.Field.flags.ordinal()];
+    }
+
+    public long minflt() {
+        return values[Stat.Field.minflt.ordinal()];
+    }
+
+    public long cminflt() {
+        return values[Stat.Field.cminflt.ordinal()];
+    }
+
+    public long majflt() {
+        return values[Stat.Field.majflt.ordinal()];
+    }
+
+    public long cmajflt() {
+        return values[Stat.Field.cmajflt.ordinal()];
+    }
+
+    public long utime() {
+        return values[Stat.Field.utime.ordinal()];
+    }
+
+    public long stime() {
+        return values[Stat.Field.stime.ordinal()];
+    }
+
+    public long cutime() {
+        return values[Stat.Field.cutime.ordinal()];
+    }
+
+    public long cstime() {
+        return values[Stat.Field.cstime.ordinal()];
+    }
+
+    public long priority() {
+        return values[Stat.Field.priority.ordinal()];
+    }
+
+    public long nice() {
+        return values[Stat.Field.nice.ordinal()];
+    }
+
+    public long num_threads() {
+        return values[Stat.Field.num_threads.ordinal()];
+    }
+
+    public long itrealvalue() {
+        return values[Stat.Field.itrealvalue.ordinal()];
+    }
+
+    public long starttime() {
+        return values[Stat.Field.starttime.ordinal()];
+    }
+
+    public long vsize() {
+        return values[Stat.Field.vsize.ordinal()];
+    }
+
+    public long rss() {
+        return values[Stat.Field.rss.ordinal()];
+    }
+
+    public BigInteger rsslim() {
+        return new BigInteger(Long.toUnsignedString(values[Stat.Field.rsslim.ordinal()]));
+    }
+
+    // The soft limit of rss as an unsigned 64 bit value. Unlimited is 2^64-1, which is -1 when read as a signed long.
+    public long rsslimUnsigned() {
+        return values[Stat.Field.rsslim.ordinal()];
+    }
+
+    public long startcode() {
+        return values[Stat.Field.startcode.ordinal()];
+    }
+
+    public long endcode() {
+        return values[Stat.Field.endcode.ordinal()];
+    }
+
+    public long startstack() {
+        return values[Stat.Field.startstack.ordinal()];
+    }
+
+    public long kstkesp() {
+        return values[Stat.Field.kstkesp.ordinal()];
+    }
+
+    public long kstkeip() {
+        return values[Stat.Field.kstkeip.ordinal()];
+    }
+
+    public long signal() {
+        return values[Stat.Field.signal.ordinal()];
+    }
+
+    public long blocked() {
+        return values[Stat.Field.blocked.ordinal()];
+    }
+
+    public long sigignore() {
+        return values[Stat.Field.sigignore.ordinal()];
+    }
+
+    public long sigcatch() {
+        return values[Stat.Field.sigcatch.ordinal()];
+    }
+
+    public long wchan() {
+        return values[Stat.Field.wchan.ordinal()];
+    }
+
+    public long nswap() {
+        return values[Stat.Field.nswap.ordinal()];
+    }
+
+    public long cnswap() {
+        return values[Stat.Field.cnswap.ordinal()];
+    }
+
+    public long exit_signal() {
+        return values[Stat.Field.exit_signal.ordinal()];
+    }
+
+    public long processor() {
+        return values[Stat.Field.processor.ordinal()];
+    }
+
+    public long rt_priority() {
+        return values[Stat.Field.rt_priority.ordinal()];
+    }
+
+    public long policy() {
+        return values[Stat.Field.policy.ordinal()];
+    }
+
+    public long delayacct_blkio_ticks() {
+        return values[Stat.Field.delayacct_blkio_ticks.ordinal()];
+    }
+
+    public long guest_time() {
+        return values[Stat.Field.guest_time.ordinal()];
+    }
+
+    public long cguest_time() {
+        return values[Stat.Field.cguest_time.ordinal()];
+    }
+
+    public long start_data() {
+        return values[Stat.Field.start_data.ordinal()];
+    }
+
+    public long end_data() {
+        return values[Stat.Field.end_data.ordinal()];
+    }
+
+    public long start_brk() {
+        return values[Stat.Field.start_brk.ordinal()];
+    }
+
+    public long arg_start() {
+        return values[Stat.Field.arg_start.ordinal()];
+    }
+
+    public long arg_end() {
+        return values[Stat.Field.arg_end.ordinal()];
+    }
+
+    public long env_start() {
+        return values[Stat.Field.env_start.ordinal()];
+    }
+
+    public long env_end() {
+        return values[Stat.Field.env_end.ordinal()];
+    }
+
+    public long exit_code() {
+        return values[Stat.Field.exit_code.ordinal()];
+    }
+}
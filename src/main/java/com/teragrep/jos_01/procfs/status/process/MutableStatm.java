@@ -0,0 +1,115 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs.status.process;
+
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.LongRows;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+// Opt-in mutable variant of Statm for steady-state sampling. refill() reads the origin again and overwrites the fields in place, without allocating.
+// Fields are indexed by Statm.Field. Not thread-safe.
+public class MutableStatm {
+
+    private final ByteText origin;
+    private final LongRows rows;
+    private final long[] values;
+
+    public MutableStatm(ByteText origin) throws Exception {
+        this.origin = origin;
+        this.rows = new LongRows(origin);
+        this.values = new long[Statm.Field.values().length];
+        fill();
+    }
+
+    public MutableStatm refill() throws Exception {
+        try {
+            rows.reset();
+        }
+        catch (Exception e) {
+            throw new Exception("Failed to refill Statm!", e);
+        }
+        fill();
+        return this;
+    }
+
+    private void fill() throws Exception {
+        if (!rows.next()) {
+            throw new Exception("Statm is empty!");
+        }
+        Arrays.fill(values, 0);
+        System.arraycopy(rows.values(), 0, values, 0, Math.min(rows.size(), values.length));
+    }
+
+    public Instant timestamp() {
+        return origin.timestamp();
+    }
+
+    public long readStart() {
+        return origin.readStart();
+    }
+
+    public long readEnd() {
+        return origin.readEnd();
+    }
+
+    public long value(Statm.Field field) {
+        return values[field.ordinal()];
+    }
+
+    public long size() {
+        return values[Statm.Field.size.ordinal()];
+    }
+
+    public long resident() {
+        return values[Statm.Field.resident.ordinal()];
+    }
+
+    public long shared() {
+        return values[Statm.Field.shared.ordinal()];
+    }
+}
@@ -45,148 +45,184 @@
  */
 package com.teragrep.jos_01.procfs.status.process;
 
+import com.teragrep.jos_01.procfs.status.ByteCursor;
+import com.teragrep.jos_01.procfs.status.ByteLines;
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.Cached;
 import com.teragrep.jos_01.procfs.status.CharacterDelimited;
+import com.teragrep.jos_01.procfs.status.Projection;
 import com.teragrep.jos_01.procfs.status.Text;
+import com.teragrep.jos_01.procfs.status.TimeaddedText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 
 // Provides general information about a Process' status.
 // Stat should always have 52 fields in a single row, delimited by a spacebar.
 // Fields can be either strings or integers.
+// Comm is the filename of the executable in parentheses, and it may contain spaces and parentheses itself. It is read up to the last ')' of the row, so the following fields always stay in place.
+// The numeric fields are decoded straight from the bytes of the row into a long array, indexed by Field.
 public class Stat implements Text {
 
     private final Logger LOGGER = LoggerFactory.getLogger(Stat.class);
+    private static final Projection<Field> ALL = new Projection<Field>(Field.class);
     private final Instant timestamp;
-    private final ArrayList<String> fields;
-    private final long pid;
+    private final Text fields;
     private final String comm;
     private final String state;
-    private final long ppid;
-    private final long pgrp;
-    private final long session;
-    private final long tty_nr;
-    private final long tpgid;
-    private final long flags;
-    private final long minflt;
-    private final long cminflt;
-    private final long majflt;
-    private final long cmajflt;
-    private final long utime;
-    private final long stime;
-    private final long cutime;
-    private final long cstime;
-    private final long priority;
-    private final long nice;
-    private final long num_threads;
-    private final long itrealvalue;
-    private final long starttime;
-    private final long vsize;
-    private final long rss;
-    private final BigInteger rsslim;
-    private final long startcode;
-    private final long endcode;
-    private final long startstack;
-    private final long kstkesp;
-    private final long kstkeip;
-    private final long signal;
-    private final long blocked;
-    private final long sigignore;
-    private final long sigcatch;
-    private final long wchan;
-    private final long nswap;
-    private final long cnswap;
-    private final long exit_signal;
-    private final long processor;
-    private final long rt_priority;
-    private final long policy;
-    private final long delayacct_blkio_ticks;
-    private final long guest_time;
-    private final long cguest_time;
-    private final long start_data;
-    private final long end_data;
-    private final long start_brk;
-    private final long arg_start;
-    private final long arg_end;
-    private final long env_start;
-    private final long env_end;
-    private final long exit_code;
+    private final long[] values;
+
+    // Fields in the order they are listed in the file. Comm and state are Strings, the other fields are numbers.
+    public enum Field {
+        pid,
+        comm,
+        state,
+        ppid,
+        pgrp,
+        session,
+        tty_nr,
+        tpgid,
+        flags,
+        minflt,
+        cminflt,
+        majflt,
+        cmajflt,
+        utime,
+        stime,
+        cutime,
+        cstime,
+        priority,
+        nice,
+        num_threads,
+        itrealvalue,
+        starttime,
+        vsize,
+        rss,
+        rsslim,
+        startcode,
+        endcode,
+        startstack,
+        kstkesp,
+        kstkeip,
+        signal,
+        blocked,
+        sigignore,
+        sigcatch,
+        wchan,
+        nswap,
+        cnswap,
+        exit_signal,
+        processor,
+        rt_priority,
+        policy,
+        delayacct_blkio_ticks,
+        guest_time,
+        cguest_time,
+        start_data,
+        end_data,
+        start_brk,
+        arg_start,
+        arg_end,
+        env_start,
+        env_end,
+        exit_code
+    }
 
     public Stat(Text origin) throws Exception {
-        fields = new CharacterDelimited(origin, " ").read();
-        pid = Long.parseLong(fields.get(0));
-        comm = fields.get(1);
-        state = fields.get(2);
-        ppid = Long.parseLong(fields.get(3));
-        pgrp = Long.parseLong(fields.get(4));
-        session = Long.parseLong(fields.get(5));
-        tty_nr = Long.parseLong(fields.get(6));
-        tpgid = Long.parseLong(fields.get(7));
-        flags = Long.parseLong(fields.get(8));
-        minflt = Long.parseLong(fields.get(9));
-        cminflt = Long.parseLong(fields.get(10));
-        majflt = Long.parseLong(fields.get(11));
-        cmajflt = Long.parseLong(fields.get(12));
-        utime = Long.parseLong(fields.get(13));
-        stime = Long.parseLong(fields.get(14));
-        cutime = Long.parseLong(fields.get(15));
-        cstime = Long.parseLong(fields.get(16));
-        priority = Long.parseLong(fields.get(17));
-        nice = Long.parseLong(fields.get(18));
-        num_threads = Long.parseLong(fields.get(19));
-        itrealvalue = Long.parseLong(fields.get(20));
-        starttime = Long.parseLong(fields.get(21));
-        vsize = Long.parseLong(fields.get(22));
-        rss = Long.parseLong(fields.get(23));
-        rsslim = new BigInteger(fields.get(24));
-        startcode = Long.parseLong(fields.get(25));
-        endcode = Long.parseLong(fields.get(26));
-        startstack = Long.parseLong(fields.get(27));
-        kstkesp = Long.parseLong(fields.get(28));
-        kstkeip = Long.parseLong(fields.get(29));
-        signal = Long.parseLong(fields.get(30));
-        blocked = Long.parseLong(fields.get(31));
-        sigignore = Long.parseLong(fields.get(32));
-        sigcatch = Long.parseLong(fields.get(33));
-        wchan = Long.parseLong(fields.get(34));
-        nswap = Long.parseLong(fields.get(35));
-        cnswap = Long.parseLong(fields.get(36));
-        exit_signal = Long.parseLong(fields.get(37));
-        processor = Long.parseLong(fields.get(38));
-        rt_priority = Long.parseLong(fields.get(39));
-        policy = Long.parseLong(fields.get(40));
-        delayacct_blkio_ticks = Long.parseLong(fields.get(41));
-        guest_time = Long.parseLong(fields.get(42));
-        cguest_time = Long.parseLong(fields.get(43));
-        start_data = Long.parseLong(fields.get(44));
-        end_data = Long.parseLong(fields.get(45));
-        start_brk = Long.parseLong(fields.get(46));
-        arg_start = Long.parseLong(fields.get(47));
-        arg_end = Long.parseLong(fields.get(48));
-        env_start = Long.parseLong(fields.get(49));
-        env_end = Long.parseLong(fields.get(50));
-        exit_code = Long.parseLong(fields.get(51));
-        timestamp = origin.timestamp();
+        this(new TimeaddedText(new CharacterDelimited(origin, " ")));
+    }
+
+    // The row is joined back together from the fields, so a comm split into several fields by spaces is read as a whole.
+    private Stat(TimeaddedText fields) throws Exception {
+        this(
+                fields.timestamp(),
+                fields,
+                ByteBuffer.wrap(String.join(" ", fields.read()).getBytes(StandardCharsets.UTF_8)),
+                ALL
+        );
+    }
+
+    // Parses the values directly from the bytes of the file.
+    // The raw fields returned by read() are decoded only when read() is called.
+    public Stat(ByteText origin) throws Exception {
+        this(origin, ALL);
+    }
+
+    // Parses only the requested fields. The row is read only up to the last requested field.
+    public Stat(ByteText origin, Projection<Field> projection) throws Exception {
+        this(origin.bytes(), origin, projection);
+    }
+
+    private Stat(ByteBuffer buffer, ByteText origin, Projection<Field> projection) throws Exception {
+        this(
+                origin.timestamp(),
+                new Cached(new CharacterDelimited(new ByteLines(buffer, origin), " ")),
+                buffer,
+                projection
+        );
+    }
+
+    private Stat(Instant timestamp, Text fields, ByteBuffer row, Projection<Field> projection) throws Exception {
+        this.timestamp = timestamp;
+        this.fields = fields;
+        this.values = new long[Field.values().length];
+        ByteCursor cursor = new ByteCursor(row);
+        values[Field.pid.ordinal()] = cursor.nextLong();
+        cursor.skipBlanks();
+        int commEnd = cursor.lastIndexOf((byte) ')');
+        if (commEnd == -1) {
+            throw new Exception("Stat is missing the closing parenthesis of comm!");
+        }
+        comm = projection.requested(Field.comm) ? cursor.text(cursor.position(), commEnd + 1) : "";
+        cursor.position(commEnd + 1);
+        if (projection.requested(Field.state)) {
+            state = cursor.nextToken();
+        }
+        else {
+            state = "";
+            cursor.skipToken();
+        }
+        // Fields added by later kernels are left as 0 when the running kernel does not have them.
+        for (int field = Field.ppid.ordinal(); field <= projection.last() && cursor.hasNextToken(); field++) {
+            if (projection.requested(field)) {
+                values[field] = cursor.nextLong();
+            }
+            else {
+                cursor.skipToken();
+            }
+        }
     }
 
     @Override
-    public ArrayList<String> read() {
-        return fields;
+    public ArrayList<String> read() throws Exception {
+        return fields.read();
     }
 
     public Instant timestamp() {
         return timestamp;
     }
 
+    @Override
+    public long readStart() {
+        return fields.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return fields.readEnd();
+    }
+
     public void printTimestamp() {
         LOGGER.info(timestamp.toString());
     }
 
     public long pid() {
-        return pid;
+        return values[Field.pid.ordinal()];
     }
 
     public String comm() {
@@ -198,198 +234,203 @@ public class Stat implements Text {
     }
 
     public long ppid() {
-        return ppid;
+        return values[Field.ppid.ordinal()];
     }
 
     public long pgrp() {
-        return pgrp;
+        return values[Field.pgrp.ordinal()];
     }
 
     public long session() {
-        return session;
+        return values[Field.session.ordinal()];
     }
 
     public long tty_nr() {
-        return tty_nr;
+        return values[Field.tty_nr.ordinal()];
     }
 
     public long tpgid() {
-        return tpgid;
+        return values[Field.tpgid.ordinal()];
     }
 
     public long flags() {
-        return flags;
+        return values[Field.flags.ordinal()];
     }
 
     public long minflt() {
-        return minflt;
+        return values[Field.minflt.ordinal()];
     }
 
     public long cminflt() {
-        return cminflt;
+        return values[Field.cminflt.ordinal()];
     }
 
     public long majflt() {
-        return majflt;
+        return values[Field.majflt.ordinal()];
     }
 
     public long cmajflt() {
-        return cmajflt;
+        return values[Field.cmajflt.ordinal()];
     }
 
     public long utime() {
-        return utime;
+        return values[Field.utime.ordinal()];
     }
 
     public long stime() {
-        return stime;
+        return values[Field.stime.ordinal()];
     }
 
     public long cutime() {
-        return cutime;
+        return values[Field.cutime.ordinal()];
     }
 
     public long cstime() {
-        return cstime;
+        return values[Field.cstime.ordinal()];
     }
 
     public long priority() {
-        return priority;
+        return values[Field.priority.ordinal()];
     }
 
     public long nice() {
-        return nice;
+        return values[Field.nice.ordinal()];
     }
 
     public long num_threads() {
-        return num_threads;
+        return values[Field.num_threads.ordinal()];
     }
 
     public long itrealvalue() {
-        return itrealvalue;
+        return values[Field.itrealvalue.ordinal()];
     }
 
     public long starttime() {
-        return starttime;
+        return values[Field.starttime.ordinal()];
     }
 
     public long vsize() {
-        return vsize;
+        return values[Field.vsize.ordinal()];
     }
 
     public long rss() {
-        return rss;
+        return values[Field.rss.ordinal()];
     }
 
     public BigInteger rsslim() {
-        return rsslim;
+        return new BigInteger(Long.toUnsignedString(values[Field.rsslim.ordinal()]));
+    }
+
+    // The soft limit of rss as an unsigned 64 bit value. Unlimited is 2^64-1, which is -1 when read as a signed long.
+    public long rsslimUnsigned() {
+        return values[Field.rsslim.ordinal()];
     }
 
     public long startcode() {
-        return startcode;
+        return values[Field.startcode.ordinal()];
     }
 
     public long endcode() {
-        return endcode;
+        return values[Field.endcode.ordinal()];
     }
 
     public long startstack() {
-        return startstack;
+        return values[Field.startstack.ordinal()];
     }
 
     public long kstkesp() {
-        return kstkesp;
+        return values[Field.kstkesp.ordinal()];
     }
 
     public long kstkeip() {
-        return kstkeip;
+        return values[Field.kstkeip.ordinal()];
     }
 
     public long signal() {
-        return signal;
+        return values[Field.signal.ordinal()];
     }
 
     public long blocked() {
-        return blocked;
+        return values[Field.blocked.ordinal()];
     }
 
     public long sigignore() {
-        return sigignore;
+        return values[Field.sigignore.ordinal()];
     }
 
     public long sigcatch() {
-        return sigcatch;
+        return values[Field.sigcatch.ordinal()];
     }
 
     public long wchan() {
-        return wchan;
+        return values[Field.wchan.ordinal()];
     }
 
     public long nswap() {
-        return nswap;
+        return values[Field.nswap.ordinal()];
     }
 
     public long cnswap() {
-        return cnswap;
+        return values[Field.cnswap.ordinal()];
     }
 
     public long exit_signal() {
-        return exit_signal;
+        return values[Field.exit_signal.ordinal()];
     }
 
     public long processor() {
-        return processor;
+        return values[Field.processor.ordinal()];
     }
 
     public long rt_priority() {
-        return rt_priority;
+        return values[Field.rt_priority.ordinal()];
     }
 
     public long policy() {
-        return policy;
+        return values[Field.policy.ordinal()];
     }
 
     public long delayacct_blkio_ticks() {
-        return delayacct_blkio_ticks;
+        return values[Field.delayacct_blkio_ticks.ordinal()];
     }
 
     public long guest_time() {
-        return guest_time;
+        return values[Field.guest_time.ordinal()];
     }
 
     public long cguest_time() {
-        return cguest_time;
+        return values[Field.cguest_time.ordinal()];
     }
 
     public long start_data() {
-        return start_data;
+        return values[Field.start_data.ordinal()];
     }
 
     public long end_data() {
-        return end_data;
+        return values[Field.end_data.ordinal()];
     }
 
     public long start_brk() {
-        return start_brk;
+        return values[Field.start_brk.ordinal()];
     }
 
     public long arg_start() {
-        return arg_start;
+        return values[Field.arg_start.ordinal()];
     }
 
     public long arg_end() {
-        return arg_end;
+        return values[Field.arg_end.ordinal()];
     }
 
     public long env_start() {
-        return env_start;
+        return values[Field.env_start.ordinal()];
     }
 
     public long env_end() {
-        return env_end;
+        return values[Field.env_end.ordinal()];
     }
 
     public long exit_code() {
-        return exit_code;
+        return values[Field.exit_code.ordinal()];
     }
 }
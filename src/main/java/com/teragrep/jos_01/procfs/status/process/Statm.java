@@ -45,11 +45,18 @@
  */
 package com.teragrep.jos_01.procfs.status.process;
 
+import com.teragrep.jos_01.procfs.status.ByteCursor;
+import com.teragrep.jos_01.procfs.status.ByteLines;
+import com.teragrep.jos_01.procfs.status.ByteText;
+import com.teragrep.jos_01.procfs.status.Cached;
 import com.teragrep.jos_01.procfs.status.CharacterDelimited;
+import com.teragrep.jos_01.procfs.status.Projection;
 import com.teragrep.jos_01.procfs.status.Text;
+import com.teragrep.jos_01.procfs.status.TimeaddedText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.*;
 
@@ -59,71 +66,101 @@ import java.util.*;
 public class Statm implements Text {
 
     private final Logger LOGGER = LoggerFactory.getLogger(Statm.class);
+    private static final Projection<Field> ALL = new Projection<Field>(Field.class);
     private final Instant timestamp;
-    private final long size;
-    private final long resident;
-    private final long shared;
-    private final long text;
-    private final long lib;
-    private final long data;
-    private final long dt;
-    private final ArrayList<String> fields;
+    private final long[] values;
+    private final Text fields;
+
+    // Fields in the order they are listed in the file.
+    public enum Field {
+        size, resident, shared, text, lib, data, dt
+    }
 
     public Statm(Text origin) throws Exception {
-        fields = new CharacterDelimited(origin, " ").read();
-        size = Long.parseLong(fields.get(0));
-        resident = Long.parseLong(fields.get(1));
-        shared = Long.parseLong(fields.get(2));
-        text = Long.parseLong(fields.get(3));
-        lib = Long.parseLong(fields.get(4));
-        data = Long.parseLong(fields.get(5));
-        dt = Long.parseLong(fields.get(6));
+        fields = new TimeaddedText(new CharacterDelimited(origin, " "));
+        ArrayList<String> rows = fields.read();
+        values = new long[Field.values().length];
+        for (int field = 0; field < values.length; field++) {
+            values[field] = Long.parseLong(rows.get(field));
+        }
         timestamp = origin.timestamp();
 
     }
 
+    // Parses the values directly from the bytes of the file. The raw fields returned by read() are decoded only when read() is called.
+    public Statm(ByteText origin) throws Exception {
+        this(origin, ALL);
+    }
+
+    // Parses only the requested fields. The row is read only up to the last requested field.
+    public Statm(ByteText origin, Projection<Field> projection) throws Exception {
+        ByteBuffer buffer = origin.bytes();
+        timestamp = origin.timestamp();
+        fields = new Cached(new CharacterDelimited(new ByteLines(buffer, origin), " "));
+        values = new long[Field.values().length];
+        ByteCursor cursor = new ByteCursor(buffer);
+        for (int field = 0; field <= projection.last(); field++) {
+            if (projection.requested(field)) {
+                values[field] = cursor.nextLong();
+            }
+            else {
+                cursor.skipToken();
+            }
+        }
+    }
+
     @Override
-    public ArrayList<String> read() {
-        return fields;
+    public ArrayList<String> read() throws Exception {
+        return fields.read();
     }
 
     public void printStatistics() {
-        LOGGER.info("{}\n{}\n{}\n{}\n{}\n{}\n{}\n", size, resident, shared, text, lib, data, dt);
+        LOGGER.info("{}\n{}\n{}\n{}\n{}\n{}\n{}\n", size(), resident(), shared(), text(), lib(), data(), dt());
     }
 
     public Instant timestamp() {
         return timestamp;
     }
 
+    @Override
+    public long readStart() {
+        return fields.readStart();
+    }
+
+    @Override
+    public long readEnd() {
+        return fields.readEnd();
+    }
+
     public void printTimestamp() {
         LOGGER.info(timestamp.toString());
     }
 
     public long size() {
-        return size;
+        return values[Field.size.ordinal()];
     }
 
     public long resident() {
-        return resident;
+        return values[Field.resident.ordinal()];
     }
 
     public long shared() {
-        return shared;
+        return values[Field.shared.ordinal()];
     }
 
     public long text() {
-        return text;
+        return values[Field.text.ordinal()];
     }
 
     public long lib() {
-        return lib;
+        return values[Field.lib.ordinal()];
     }
 
     public long data() {
-        return data;
+        return values[Field.data.ordinal()];
     }
 
     public long dt() {
-        return dt;
+        return values[Field.dt.ordinal()];
     }
 }//
@@ -0,0 +1,125 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+public class AuxvSysconfTest {
+
+    @TempDir
+    File procDirectory;
+
+    private File auxv(int wordSize, long ... words) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * wordSize).order(ByteOrder.nativeOrder());
+        for (long word : words) {
+            if (wordSize == 4) {
+                buffer.putInt((int) word);
+            }
+            else {
+                buffer.putLong(word);
+            }
+        }
+        File file = new File(procDirectory, "auxv" + wordSize);
+        Files.write(file.toPath(), buffer.array());
+        return file;
+    }
+
+    // The auxiliary vector of the JVM should agree with the page size of the running system.
+    @Test
+    public void selfTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            AuxvSysconf sysconf = new AuxvSysconf(new FakeSysconf(1));
+            Assertions.assertTrue(sysconf.main() > 1);
+            Assertions.assertTrue(sysconf.pageSize() >= 4096);
+            Assertions.assertEquals(0, sysconf.pageSize() % 1024);
+        });
+    }
+
+    // Pairs after AT_NULL are ignored, and both word sizes are supported.
+    @Test
+    public void syntheticTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            for (int wordSize : new int[] {
+                    4, 8
+            }) {
+                File file = auxv(wordSize, 33, 12345, 6, 16384, 17, 250, 0, 0, 17, 1000);
+                AuxvSysconf sysconf = new AuxvSysconf(file, wordSize, new FakeSysconf(1));
+                Assertions.assertEquals(250, sysconf.main());
+                Assertions.assertEquals(16384, sysconf.pageSize());
+            }
+        });
+    }
+
+    // Values missing from the vector, or a vector that cannot be read, are asked from the fallback.
+    @Test
+    public void fallbackTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            AuxvSysconf partial = new AuxvSysconf(auxv(8, 6, 65536, 0, 0), 8, new FakeSysconf(300));
+            Assertions.assertEquals(300, partial.main());
+            Assertions.assertEquals(65536, partial.pageSize());
+            AuxvSysconf missing = new AuxvSysconf(new File(procDirectory, "missing"), new FakeSysconf(300));
+            Assertions.assertEquals(300, missing.main());
+            Assertions.assertEquals(4096, missing.pageSize());
+        });
+    }
+
+    // Implementations providing only main() get the page size from the auxiliary vector.
+    @Test
+    public void defaultPageSizeTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            SysconfInterface clockOnly = () -> 100;
+            Assertions.assertTrue(clockOnly.pageSize() > 0);
+            Assertions.assertEquals(new AuxvSysconf().pageSize(), clockOnly.pageSize());
+        });
+    }
+}
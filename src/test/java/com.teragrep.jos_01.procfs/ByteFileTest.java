@@ -0,0 +1,289 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteCursor;
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.ByteLines;
+import com.teragrep.jos_01.procfs.status.KeyTrie;
+import com.teragrep.jos_01.procfs.status.KeyedLongs;
+import com.teragrep.jos_01.procfs.status.RowFile;
+import com.teragrep.jos_01.procfs.status.os.Meminfo;
+import com.teragrep.jos_01.procfs.status.os.Pressure;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+import com.teragrep.jos_01.procfs.status.process.Statm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Arrays;
+
+public class ByteFileTest {
+
+    @TempDir
+    File procDirectory;
+
+    // Byte level Stat should find the same rows as the String based one.
+    @Test
+    public void osStatTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS();
+            Stat stat = os.stat();
+            Stat byteStat = new Stat(new ByteFile(os.procDirectory(), "stat"));
+            Assertions.assertEquals(stat.cpus().size(), byteStat.cpus().size());
+            Assertions.assertEquals(stat.intr().size(), byteStat.intr().size());
+            Assertions.assertEquals(stat.softirq().size(), byteStat.softirq().size());
+            Assertions.assertTrue(byteStat.btime() > 0);
+            Assertions.assertTrue(byteStat.processes() > 0);
+            Assertions.assertEquals(stat.read().size(), byteStat.read().size());
+        });
+    }
+
+    // MemTotal does not change while the system is running, so both parsers must agree.
+    @Test
+    public void meminfoTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS();
+            Meminfo meminfo = os.meminfo();
+            Meminfo byteMeminfo = new Meminfo(new ByteFile(os.procDirectory(), "meminfo"));
+            Assertions.assertEquals(meminfo.MemTotal(), byteMeminfo.MemTotal());
+            Assertions.assertEquals(meminfo.SwapTotal(), byteMeminfo.SwapTotal());
+            Assertions.assertEquals(meminfo.read().size(), byteMeminfo.read().size());
+        });
+    }
+
+    // Statm of a file that does not change should produce identical values and raw fields from both parsers.
+    @Test
+    public void statmTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Files
+                    .write(new File(procDirectory, "statm").toPath(), "2703 288 256 5 0 84 0\n".getBytes(StandardCharsets.US_ASCII));
+            Statm statm = new Statm(new RowFile(procDirectory, "statm"));
+            Statm byteStatm = new Statm(new ByteFile(procDirectory, "statm"));
+            Assertions.assertEquals(statm.size(), byteStatm.size());
+            Assertions.assertEquals(statm.resident(), byteStatm.resident());
+            Assertions.assertEquals(statm.dt(), byteStatm.dt());
+            Assertions.assertEquals(statm.read(), byteStatm.read());
+        });
+    }
+
+    // Comm may contain spaces and parentheses. Byte level parser reads comm up to the last ')' so the following fields stay in place.
+    @Test
+    public void processStatWithSpacesInCommTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Files
+                    .write(new File(procDirectory, "stat").toPath(), "1351 (Web (Content)) R 1343 1351 1343 0 -1 4194304 80 0 0 0 7 3 0 0 20 0 1 0 63090 2703360 288 18446744073709551615 94214936522752 94214936542633 140724349249104 0 0 0 0 0 0 0 0 0 17 0 0 0 0 0 0 94214936558640 94214936560256 94215269617664 140724349252863 140724349252883 140724349252883 140724349255659 0\n".getBytes(StandardCharsets.US_ASCII));
+            com.teragrep.jos_01.procfs.status.process.Stat stat = new com.teragrep.jos_01.procfs.status.process.Stat(
+                    new ByteFile(procDirectory, "stat")
+            );
+            com.teragrep.jos_01.procfs.status.process.Stat rowStat = new com.teragrep.jos_01.procfs.status.process.Stat(
+                    new RowFile(procDirectory, "stat")
+            );
+            for (
+                com.teragrep.jos_01.procfs.status.process.Stat parsed : new com.teragrep.jos_01.procfs.status.process.Stat[] {
+                        stat, rowStat
+            }
+            ) {
+                Assertions.assertEquals(1351, parsed.pid());
+                Assertions.assertEquals("(Web (Content))", parsed.comm());
+                Assertions.assertEquals("R", parsed.state());
+                Assertions.assertEquals(7, parsed.utime());
+                Assertions.assertEquals(3, parsed.stime());
+                Assertions.assertEquals(63090, parsed.starttime());
+                Assertions.assertEquals("18446744073709551615", parsed.rsslim().toString());
+                Assertions.assertEquals(-1L, parsed.rsslimUnsigned());
+                Assertions.assertEquals(140724349255659L, parsed.env_end());
+                Assertions.assertEquals(0, parsed.exit_code());
+            }
+        });
+    }
+
+    // Rows of older kernels end before the fields added later, which are left as 0.
+    @Test
+    public void processStatOfOlderKernelTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Files
+                    .write(new File(procDirectory, "stat").toPath(), "42 (kworker/0:1 a) S 2 0 0 0 -1 69238880 0 0 0 0 5 9 0 0 20 0 1 0 37 0 0 18446744073709551615 0 0 0 0 0 0 0 2147483647 0 1 0 0 17 0 0 0 0 0 0\n".getBytes(StandardCharsets.US_ASCII));
+            com.teragrep.jos_01.procfs.status.process.Stat stat = new com.teragrep.jos_01.procfs.status.process.Stat(
+                    new ByteFile(procDirectory, "stat")
+            );
+            Assertions.assertEquals("(kworker/0:1 a)", stat.comm());
+            Assertions.assertEquals(9, stat.stime());
+            Assertions.assertEquals(37, stat.starttime());
+            Assertions.assertEquals(0, stat.guest_time());
+            Assertions.assertEquals(0, stat.exit_code());
+        });
+    }
+
+    // ByteFile should grow its buffer when the file is larger than the buffer, and the same ByteFile can be read again.
+    @Test
+    public void bufferGrowthTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                content.append("line ").append(i).append('\n');
+            }
+            Files
+                    .write(new File(procDirectory, "large").toPath(), content.toString().getBytes(StandardCharsets.US_ASCII));
+            ByteFile file = new ByteFile(new File(procDirectory, "large"), ByteBuffer.allocate(16));
+            Assertions.assertEquals(content.length(), file.bytes().remaining());
+            Assertions.assertEquals(content.length(), file.bytes().remaining());
+        });
+    }
+
+    // The content of a buffer is copied when the ByteLines is created, so later changes to the buffer do not show in its rows.
+    @Test
+    public void byteLinesTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            ByteBuffer buffer = ByteBuffer.wrap("a 1\nb 2\n".getBytes(StandardCharsets.US_ASCII));
+            ByteLines lines = new ByteLines(buffer, Instant.now());
+            buffer.put(0, (byte) 'c');
+            Assertions.assertEquals(Arrays.asList("a 1", "b 2"), lines.read());
+            Assertions.assertEquals(0, buffer.position());
+        });
+    }
+
+    // A ByteFile reuses its buffer, so the rows of an earlier parse must not change when the same file is read again.
+    @Test
+    public void rereadTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = new File(procDirectory, "meminfo");
+            Files.write(file.toPath(), "MemTotal: 100 kB\nMemFree: 1 kB\n".getBytes(StandardCharsets.US_ASCII));
+            ByteFile meminfoFile = new ByteFile(file);
+            Meminfo first = new Meminfo(meminfoFile);
+            Files.write(file.toPath(), "MemTotal: 777 kB\nMemFree: 1 kB\n".getBytes(StandardCharsets.US_ASCII));
+            Meminfo second = new Meminfo(meminfoFile);
+            Assertions.assertEquals(100, first.MemTotal());
+            Assertions.assertEquals(777, second.MemTotal());
+            Assertions.assertEquals("100", first.read().get(0));
+            Assertions.assertEquals("777", second.read().get(0));
+
+            File pressureFile = new File(procDirectory, "cpu");
+            Files
+                    .write(
+                            pressureFile.toPath(),
+                            "some avg10=0.00 avg60=0.00 avg300=0.00 total=100\n".getBytes(StandardCharsets.US_ASCII)
+                    );
+            ByteFile pressureBytes = new ByteFile(pressureFile);
+            Pressure pressure = new Pressure(pressureBytes);
+            Files
+                    .write(
+                            pressureFile.toPath(),
+                            "some avg10=0.00 avg60=0.00 avg300=0.00 total=999\n".getBytes(StandardCharsets.US_ASCII)
+                    );
+            new Pressure(pressureBytes);
+            Assertions.assertEquals(100, pressure.someTotal());
+            Assertions.assertEquals("some avg10=0.00 avg60=0.00 avg300=0.00 total=100", pressure.read().get(0));
+        });
+    }
+
+    // A token that is not a number leaves the cursor at the start of the token.
+    @Test
+    public void cursorTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            ByteCursor cursor = new ByteCursor(ByteBuffer.wrap(" -x -2.5".getBytes(StandardCharsets.US_ASCII)));
+            Assertions.assertThrows(Exception.class, cursor::nextLong);
+            Assertions.assertEquals(1, cursor.position());
+            Assertions.assertThrows(Exception.class, cursor::nextDouble);
+            Assertions.assertEquals(1, cursor.position());
+            Assertions.assertEquals("-x", cursor.nextToken());
+            Assertions.assertEquals(-2.5, cursor.nextDouble());
+        });
+    }
+
+    // Numbers that do not fit in 64 bits are errors instead of wrapping around, and the cursor stays at the start of the token.
+    @Test
+    public void overflowTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            ByteCursor cursor = new ByteCursor(
+                    ByteBuffer
+                            .wrap(
+                                    ("18446744073709551615 -9223372036854775808 99999999999999999999999 "
+                                            + "18446744073709551616 -9223372036854775809")
+                                                    .getBytes(StandardCharsets.US_ASCII)
+                            )
+            );
+            Assertions.assertEquals(-1L, cursor.nextLong());
+            Assertions.assertEquals(Long.MIN_VALUE, cursor.nextLong());
+            int token = cursor.position() + 1;
+            Assertions.assertThrows(Exception.class, cursor::nextLong);
+            Assertions.assertEquals(token, cursor.position());
+            Assertions.assertEquals("99999999999999999999999", cursor.nextToken());
+            Assertions.assertThrows(Exception.class, cursor::nextLong);
+            Assertions.assertThrows(Exception.class, cursor::nextUnsignedLong);
+            Assertions.assertEquals("18446744073709551616", cursor.nextToken());
+            Assertions.assertThrows(Exception.class, cursor::nextLong);
+            Assertions.assertEquals("-9223372036854775809", cursor.nextToken());
+        });
+    }
+
+    // A cpu row cut off right after its name is an error of the parser, not an index out of the buffer.
+    @Test
+    public void truncatedCpuTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = new File(procDirectory, "stat");
+            Files.write(file.toPath(), "cpu  1 2 3 4\ncpu".getBytes(StandardCharsets.US_ASCII));
+            Exception exception = Assertions.assertThrows(Exception.class, () -> new Stat(new ByteFile(file)));
+            Assertions.assertEquals(Exception.class, exception.getClass());
+        });
+    }
+
+    // A selected key without its delimiter is an error instead of a rewind of the cursor.
+    @Test
+    public void missingDelimiterTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            ByteBuffer buffer = ByteBuffer.wrap("MemFree: 10 kB\nMemTotal\n".getBytes(StandardCharsets.US_ASCII));
+            KeyedLongs table = new KeyedLongs(':');
+            Assertions
+                    .assertThrows(Exception.class, () -> table.table(buffer, new KeyTrie(':', "MemFree", "MemTotal")));
+        });
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.CachedHandles;
+import com.teragrep.jos_01.procfs.status.RowFile;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class CachedHandlesTest {
+
+    @TempDir
+    File procDirectory;
+
+    // Number of open channels should never exceed the capacity, least recently used channels are closed first.
+    @Test
+    public void capacityTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            try (CachedHandles handles = new CachedHandles(2)) {
+                for (int i = 0; i < 5; i++) {
+                    File file = new File(procDirectory, "file" + i);
+                    Files.write(file.toPath(), ("value " + i + "\n").getBytes(StandardCharsets.US_ASCII));
+                    Assertions.assertEquals("value " + i, new RowFile(file, handles).read().get(0));
+                }
+                Assertions.assertEquals(2, handles.size());
+            }
+        });
+    }
+
+    // A capacity below 1 would close the channel open() just returned.
+    @Test
+    public void invalidCapacityTest() {
+        Assertions.assertThrows(Exception.class, () -> new CachedHandles(0));
+        Assertions.assertThrows(Exception.class, () -> new CachedHandles(-1));
+    }
+
+    // A missing file fails when the RowFile is read, not when it is created, with one-shot and cached handles alike.
+    @Test
+    public void missingFileTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File missing = new File(procDirectory, "missing");
+            RowFile oneShot = Assertions.assertDoesNotThrow(() -> new RowFile(missing));
+            Assertions.assertThrows(Exception.class, oneShot::read);
+            try (CachedHandles handles = new CachedHandles(2)) {
+                RowFile cached = new RowFile(missing, handles);
+                Assertions.assertThrows(Exception.class, cached::read);
+                Assertions.assertEquals(0, handles.size());
+            }
+        });
+    }
+
+    // An open channel is reread from the beginning, so changes to the file are visible without reopening it.
+    @Test
+    public void rereadTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = new File(procDirectory, "counter");
+            Files.write(file.toPath(), "1\n".getBytes(StandardCharsets.US_ASCII));
+            try (CachedHandles handles = new CachedHandles(16)) {
+                ByteFile byteFile = new ByteFile(file, handles);
+                Assertions.assertEquals(2, byteFile.bytes().remaining());
+                Files.write(file.toPath(), "1234\n".getBytes(StandardCharsets.US_ASCII));
+                Assertions.assertEquals(5, byteFile.bytes().remaining());
+                Assertions.assertEquals(1, handles.size());
+            }
+        });
+    }
+
+    // LinuxOS should be able to sample the same /proc file repeatedly with one open channel.
+    @Test
+    public void linuxOSTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            try (CachedHandles handles = new CachedHandles(16)) {
+                LinuxOS os = new LinuxOS("/proc", new FakeSysconf(), handles);
+                Stat first = os.stat();
+                Stat second = os.stat();
+                Assertions.assertEquals(first.cpus().size(), second.cpus().size());
+                Assertions.assertTrue(second.ctxt() >= first.ctxt());
+                Assertions.assertEquals(1, handles.size());
+            }
+        });
+    }
+}
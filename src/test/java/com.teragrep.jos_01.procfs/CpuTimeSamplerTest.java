@@ -0,0 +1,92 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class CpuTimeSamplerTest {
+
+    @TempDir
+    File procDirectory;
+
+    private void stat(long utime, long starttime) throws Exception {
+        Files
+                .write(new File(procDirectory, "stat").toPath(), ("42 (worker) S 1 42 42 0 -1 4194560 1146 0 0 0 " + utime + " 3 0 0 20 0 1 0 " + starttime + " 23420928 3072 18446744073709551615 1 1 0 0 0 0 0 4096 0 0 0 0 17 0 0 0 0 0 0 0 0 0 0 0 0 0 0\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // CPU time of the same process gives a positive usage.
+    @Test
+    public void sampleTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            stat(100, 5000);
+            CpuTimeSampler sampler = new CpuTimeSampler(new ByteFile(procDirectory, "stat"), 100);
+            stat(200, 5000);
+            Assertions.assertTrue(sampler.sample() > 0);
+        });
+    }
+
+    // A reused pid is detected by its start time even when the CPU time of the new process is larger, and the next sample uses the new process as the baseline.
+    @Test
+    public void reusedPidTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            stat(100, 5000);
+            CpuTimeSampler sampler = new CpuTimeSampler(new ByteFile(procDirectory, "stat"), 100);
+            stat(1000, 9000);
+            Assertions.assertEquals(0, sampler.sample());
+            stat(1100, 9000);
+            Assertions.assertTrue(sampler.sample() > 0);
+            stat(50, 9500);
+            Assertions.assertEquals(0, sampler.sample());
+        });
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.RowFile;
+import com.teragrep.jos_01.procfs.status.os.LongStat;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class CpuUtilizationTest {
+
+    @TempDir
+    File procDirectory;
+
+    private File stat(String name, String cpuRows) throws Exception {
+        File file = new File(procDirectory, name);
+        Files
+                .write(
+                        file.toPath(),
+                        (cpuRows + "intr 100 0 0\nctxt 1990473\nbtime 1062191376\nprocesses 2915\n"
+                                + "procs_running 1\nprocs_blocked 0\nsoftirq 183433 0 21755\n")
+                                        .getBytes(StandardCharsets.US_ASCII)
+                );
+        return file;
+    }
+
+    // Utilization is computed from the ticks elapsed between the snapshots, core by core.
+    @Test
+    public void intervalTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File before = stat(
+                    "before",
+                    "cpu  100 0 100 800 0 0 0 0 0 0\ncpu0 50 0 50 400 0 0 0 0 0 0\ncpu1 50 0 50 400 0 0 0 0 0 0\n"
+            );
+            File after = stat(
+                    "after",
+                    "cpu  250 0 150 900 50 10 10 30 0 0\ncpu0 200 0 50 400 0 0 0 0 0 0\ncpu1 50 0 100 500 50 10 10 30 0 0\n"
+            );
+            CpuUtilization rows = new CpuUtilization(new Stat(new RowFile(before)), new Stat(new RowFile(after)));
+            CpuUtilization bytes = new CpuUtilization(new Stat(new ByteFile(before)), new Stat(new ByteFile(after)));
+            for (CpuUtilization utilization : new CpuUtilization[] {
+                    rows, bytes
+            }) {
+                Assertions.assertEquals(2, utilization.cores());
+                Assertions.assertArrayEquals(new int[] {
+                        -1, 0, 1
+                }, utilization.ids());
+                Assertions.assertArrayEquals(new long[] {
+                        400, 150, 250
+                }, utilization.totalTicks());
+                Assertions.assertEquals(100.0, utilization.user()[1], 0.0001);
+                Assertions.assertEquals(0.0, utilization.idle()[1], 0.0001);
+                Assertions.assertEquals(20.0, utilization.system()[2], 0.0001);
+                Assertions.assertEquals(40.0, utilization.idle()[2], 0.0001);
+                Assertions.assertEquals(20.0, utilization.iowait()[2], 0.0001);
+                Assertions.assertEquals(12.0, utilization.steal()[2], 0.0001);
+                Assertions.assertEquals(40.0, utilization.busy()[2], 0.0001);
+                Assertions.assertEquals(62.5, utilization.aggregate(), 0.0001);
+            }
+        });
+    }
+
+    // Cores brought online between the snapshots have no interval, and counters that went backwards contribute no ticks.
+    @Test
+    public void hotplugAndResetTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File before = stat(
+                    "before",
+                    "cpu  100 0 100 800 0 0 0 0 0 0\ncpu0 50 0 50 400 0 0 0 0 0 0\ncpu2 50 0 50 400 0 0 0 0 0 0\n"
+            );
+            File after = stat(
+                    "after",
+                    "cpu  200 0 100 900 0 0 0 0 0 0\ncpu0 100 0 50 450 0 0 0 0 0 0\ncpu1 10 0 10 10 0 0 0 0 0 0\ncpu2 10 0 10 500 0 0 0 0 0 0\n"
+            );
+            CpuUtilization utilization = new CpuUtilization(
+                    new Stat(new ByteFile(before)),
+                    new Stat(new ByteFile(after))
+            );
+            Assertions.assertArrayEquals(new int[] {
+                    -1, 0, 1, 2
+            }, utilization.ids());
+            Assertions.assertEquals(50.0, utilization.user()[1], 0.0001);
+            Assertions.assertTrue(Double.isNaN(utilization.user()[2]));
+            Assertions.assertEquals(0.0, utilization.user()[3], 0.0001);
+            Assertions.assertEquals(100.0, utilization.idle()[3], 0.0001);
+        });
+    }
+
+    // The primitive LongStat snapshots give the same utilization as Stat. Changing the arrays returned by LongStat does not change the snapshot.
+    @Test
+    public void longStatTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File before = stat(
+                    "before",
+                    "cpu  100 0 100 800 0 0 0 0 0 0\ncpu0 50 0 50 400 0 0 0 0 0 0\ncpu2 50 0 50 400 0 0 0 0 0 0\n"
+            );
+            File after = stat(
+                    "after",
+                    "cpu  200 0 100 900 0 0 0 0 0 0\ncpu0 100 0 50 450 0 0 0 0 0 0\ncpu1 10 0 10 10 0 0 0 0 0 0\ncpu2 10 0 10 500 0 0 0 0 0 0\n"
+            );
+            LongStat previous = new LongStat(new ByteFile(before));
+            previous.cpus()[1][0] = 0;
+            previous.cpuIds()[1] = 7;
+            CpuUtilization utilization = new CpuUtilization(previous, new LongStat(new ByteFile(after)));
+            Assertions.assertArrayEquals(new int[] {
+                    -1, 0, 1, 2
+            }, utilization.ids());
+            Assertions.assertEquals(50.0, utilization.user()[1], 0.0001);
+            Assertions.assertTrue(Double.isNaN(utilization.user()[2]));
+            Assertions.assertEquals(0.0, utilization.user()[3], 0.0001);
+            Assertions.assertEquals(100.0, utilization.idle()[3], 0.0001);
+        });
+    }
+
+    // The sampler rereads the same file through the byte path on every sample.
+    @Test
+    public void byteSamplerTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = stat("sampled", "cpu  100 0 100 800 0 0 0 0 0 0\ncpu0 100 0 100 800 0 0 0 0 0 0\n");
+            CpuSampler sampler = new CpuSampler(new ByteFile(file));
+            stat("sampled", "cpu  150 0 100 850 0 0 0 0 0 0\ncpu0 150 0 100 850 0 0 0 0 0 0\n");
+            CpuUtilization utilization = sampler.sample();
+            Assertions.assertEquals(50.0, utilization.user()[0], 0.0001);
+            Assertions.assertEquals(100, utilization.totalTicks()[1]);
+            stat("sampled", "cpu  150 0 200 850 0 0 0 0 0 0\ncpu0 150 0 200 850 0 0 0 0 0 0\n");
+            Assertions.assertEquals(100.0, sampler.sample().system()[1], 0.0001);
+        });
+    }
+
+    // The sampler compares each sample with the previous one.
+    @Test
+    public void samplerTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS();
+            CpuSampler sampler = new CpuSampler(os);
+            Thread.sleep(50);
+            CpuUtilization utilization = sampler.sample();
+            Assertions.assertEquals(os.stat().cpus().size() - 1, utilization.cores());
+            Assertions.assertTrue(utilization.totalTicks()[0] >= 0);
+        });
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.*;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+public class DigitsTest {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(DigitsTest.class);
+
+    @TempDir
+    File procDirectory;
+
+    // Writes a /proc/stat of a host with 128 cores and 4096 interrupt columns.
+    private File largeStat() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        builder.append("cpu  10132153 290696 3084719 46828483 16683 0 25195 0 0 0\n");
+        for (int cpu = 0; cpu < 128; cpu++) {
+            builder.append("cpu").append(cpu).append(" 1393280 32966 572056 13343292 6130 0 17875 0 0 0\n");
+        }
+        builder.append("intr 114930548");
+        for (int column = 0; column < 4096; column++) {
+            builder.append(' ').append(column % 7 == 0 ? column * 31 : 0);
+        }
+        builder.append("\nctxt 1990473\nbtime 1062191376\nprocesses 2915\nprocs_running 1\nprocs_blocked 0\n");
+        builder.append("softirq 183433 0 21755 12 39 0 0 0 0 0 0\n");
+        File file = new File(procDirectory, "stat");
+        Files.write(file.toPath(), builder.toString().getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private boolean isBigDecimal(String string) {
+        try {
+            new BigDecimal(string);
+            return true;
+        }
+        catch (NumberFormatException nfe) {
+            return false;
+        }
+    }
+
+    // Numeric should accept exactly the strings BigDecimal accepts.
+    @Test
+    public void numericTest() {
+        String[] values = {
+                "0",
+                "123",
+                "-5",
+                "+5",
+                "1.5",
+                ".5",
+                "5.",
+                ".",
+                "",
+                "-",
+                "+",
+                "1e5",
+                "1E-5",
+                "1e",
+                "1e+",
+                "1.2.3",
+                "cpu0",
+                "intr",
+                "12a",
+                " 1",
+                "1 ",
+                "1e2147483647",
+                "1e2147483648",
+                "1e-2147483648",
+                "1e-2147483649",
+                "--1",
+                "1-",
+                "e5",
+                "0x10"
+        };
+        for (String value : values) {
+            Assertions.assertEquals(isBigDecimal(value), new Numeric(value).isDecimal(), "Value <" + value + ">");
+        }
+    }
+
+    // isLong should accept exactly the strings Long.parseLong accepts.
+    @Test
+    public void numericLongTest() {
+        String[] values = {
+                "0",
+                "123",
+                "-5",
+                "+5",
+                "1.5",
+                "",
+                "-",
+                "+",
+                "cpu0",
+                "9223372036854775807",
+                "9223372036854775808",
+                "-9223372036854775808",
+                "-9223372036854775809",
+                "18446744073709551615",
+                "00000000000000000000001"
+        };
+        Assertions.assertDoesNotThrow(() -> {
+            for (String value : values) {
+                boolean parsed;
+                try {
+                    Long.parseLong(value);
+                    parsed = true;
+                }
+                catch (NumberFormatException nfe) {
+                    parsed = false;
+                }
+                Numeric numeric = new Numeric(value);
+                Assertions.assertEquals(parsed, numeric.isLong(), "Value <" + value + ">");
+                if (parsed) {
+                    Assertions.assertEquals(Long.parseLong(value), numeric.longValue());
+                }
+            }
+        });
+    }
+
+    // LongDigits should produce the same values as parsing the rows of Digits.
+    @Test
+    public void longDigitsTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Text row = new TimeaddedText("intr 114930548 0 44 0 1.5 cpu -3");
+            ArrayList<String> digits = new Digits(new CharacterDelimited(row, " ")).read();
+            long[] longs = new LongDigits(new CharacterDelimited(row, " ")).longs();
+            Assertions.assertArrayEquals(new long[] {
+                    114930548, 0, 44, 0, -3
+            }, longs);
+            Assertions.assertEquals(6, digits.size());
+        });
+    }
+
+    // Numeric should classify every token of a large /proc/stat the same way as BigDecimal.
+    @Test
+    public void largeStatTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = largeStat();
+            ArrayList<String> tokens = new Fused(new RowFile(file), new Pipeline().delimited(" ")).read();
+            for (String token : tokens) {
+                Assertions.assertEquals(isBigDecimal(token), new Numeric(token).isDecimal(), token);
+            }
+
+            Stat stat = new Stat(new RowFile(file));
+            Assertions.assertEquals(129, stat.cpus().size());
+            Assertions.assertEquals(4097, stat.intr().size());
+            Assertions.assertEquals(11, stat.softirq().size());
+            Assertions.assertEquals(31 * 7, stat.intr().get(8));
+        });
+    }
+
+    // Compares the time of classifying every token of a large /proc/stat with BigDecimal and with Numeric. Only logs the timings, so it runs only with -Dbenchmarks=true.
+    @Test
+    public void largeStatBenchmarkTest() {
+        Assumptions.assumeTrue(Boolean.getBoolean("benchmarks"));
+        Assertions.assertDoesNotThrow(() -> {
+            File file = largeStat();
+            ArrayList<String> tokens = new Fused(new RowFile(file), new Pipeline().delimited(" ")).read();
+            int rounds = 50;
+            for (int warmup = 0; warmup < 2; warmup++) {
+                int bigDecimals = 0;
+                int numerics = 0;
+                long start = System.nanoTime();
+                for (int round = 0; round < rounds; round++) {
+                    for (String token : tokens) {
+                        if (isBigDecimal(token)) {
+                            bigDecimals++;
+                        }
+                    }
+                }
+                long bigDecimalNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int round = 0; round < rounds; round++) {
+                    for (String token : tokens) {
+                        if (new Numeric(token).isDecimal()) {
+                            numerics++;
+                        }
+                    }
+                }
+                long numericNanos = System.nanoTime() - start;
+                LOGGER
+                        .info(
+                                "Classified {} tokens {} times: BigDecimal {} ms, Numeric {} ms", tokens.size(), rounds,
+                                bigDecimalNanos / 1000000, numericNanos / 1000000
+                        );
+                Assertions.assertEquals(bigDecimals, numerics);
+            }
+        });
+    }
+}
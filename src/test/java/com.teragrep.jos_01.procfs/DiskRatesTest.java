@@ -0,0 +1,106 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.os.Diskstats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class DiskRatesTest {
+
+    @TempDir
+    File procDirectory;
+
+    private Diskstats diskstats(String name, String content) throws Exception {
+        File file = new File(procDirectory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return new Diskstats(new ByteFile(file));
+    }
+
+    // A decreased counter restarts from 0 like the counters of NetRates, so its current value is the increase over the interval.
+    // The 32-bit millisecond counters wrap around, which is treated the same way.
+    @Test
+    public void decreasingCounterTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Diskstats previous = diskstats(
+                    "before", "   8       0 sda 100 0 1000 500 200 0 2000 1000 0 4294967000 1500\n"
+            );
+            Thread.sleep(5);
+            Diskstats current = diskstats("after", "   8       0 sda 40 0 1080 520 230 0 2160 1120 0 200 1640\n");
+            DiskRates rates = new DiskRates(previous, current);
+            double seconds = rates.intervalNanos() / 1e9;
+            double milliseconds = rates.intervalNanos() / 1e6;
+            Assertions.assertEquals(40 / seconds, rates.readsPerSecond()[0], 1e-6);
+            Assertions.assertEquals(30 / seconds, rates.writesPerSecond()[0], 1e-6);
+            Assertions.assertEquals(20 / 40.0, rates.readAwait()[0], 1e-9);
+            Assertions.assertEquals(Math.min(100, 100 * 200 / milliseconds), rates.utilization()[0], 1e-6);
+        });
+    }
+
+    // Counters above Long.MAX_VALUE are unsigned and increase across the signed boundary.
+    @Test
+    public void unsignedCounterTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Diskstats previous = diskstats("before", "   8       0 sda 9223372036854775800 0 0 0 0 0 0 0 0 0 0\n");
+            Thread.sleep(5);
+            Diskstats current = diskstats("after", "   8       0 sda 9223372036854775810 0 0 0 0 0 0 0 0 0 0\n");
+            Assertions.assertEquals(-9223372036854775806L, current.value(0, Diskstats.Column.reads_completed));
+            DiskRates rates = new DiskRates(previous, current);
+            Assertions.assertEquals(10 / (rates.intervalNanos() / 1e9), rates.readsPerSecond()[0], 1e-6);
+            Assertions
+                    .assertThrows(
+                            Exception.class,
+                            () -> diskstats("large", "   8       0 sda 18446744073709551616 0 0 0 0 0 0 0 0 0 0\n")
+                    );
+        });
+    }
+}
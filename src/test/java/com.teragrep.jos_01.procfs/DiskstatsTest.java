@@ -0,0 +1,181 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.os.Diskstats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class DiskstatsTest {
+
+    @TempDir
+    File procDirectory;
+
+    private File file(String content) throws Exception {
+        File file = new File(procDirectory, "diskstats");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    // Rows of kernels before 4.18, from 4.18 and from 5.5 have 11, 15 and 17 counters.
+    @Test
+    public void columnsTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file(
+                    "   8       0 sda 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17\n"
+                            + " 259       0 nvme0n1 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17\n"
+            );
+            Diskstats diskstats = new Diskstats(new ByteFile(file));
+            Assertions.assertEquals(2, diskstats.count());
+            Assertions.assertEquals(17, diskstats.columns());
+            Assertions.assertEquals("nvme0n1", diskstats.name(1));
+            Assertions.assertEquals(259, diskstats.major(1));
+            Assertions.assertEquals(0, diskstats.minor(1));
+            Assertions.assertEquals(1, diskstats.index("nvme0n1"));
+            Assertions.assertEquals(-1, diskstats.index("sdb"));
+            for (Diskstats.Column column : Diskstats.Column.values()) {
+                Assertions.assertEquals(column.ordinal() + 1, diskstats.value(0, column));
+            }
+
+            Diskstats old = new Diskstats(new ByteFile(file("   8       0 sda 1 2 3 4 5 6 7 8 9 10 11\n")));
+            Assertions.assertEquals(11, old.columns());
+            Assertions.assertEquals(11, old.value(0, Diskstats.Column.weighted_time_doing_io));
+            Assertions.assertEquals(0, old.value(0, Diskstats.Column.discards_completed));
+            Assertions.assertEquals(0, old.value(0, Diskstats.Column.time_flushing));
+
+            Diskstats discard = new Diskstats(
+                    new ByteFile(file("   8       0 sda 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15\n"))
+            );
+            Assertions.assertEquals(15, discard.columns());
+            Assertions.assertEquals(15, discard.value(0, Diskstats.Column.time_discarding));
+
+            Assertions
+                    .assertThrows(Exception.class, () -> new Diskstats(new ByteFile(file("   8       0 sda 1 2 3\n"))));
+        });
+    }
+
+    // Names of devices listed at the same positions are reused from the previous snapshot, and the index follows the devices that are listed.
+    @Test
+    public void namesTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file(
+                    "   8       0 sda 1 2 3 4 5 6 7 8 9 10 11\n" + "   8      16 sdb 1 2 3 4 5 6 7 8 9 10 11\n"
+            );
+            Diskstats first = new Diskstats(new ByteFile(file));
+            file("   8       0 sda 1 2 3 4 5 6 7 8 9 10 11\n" + "   8      32 sdc 1 2 3 4 5 6 7 8 9 10 11\n");
+            Diskstats second = new Diskstats(new ByteFile(file), first);
+            Assertions.assertSame(first.name(0), second.name(0));
+            Assertions.assertEquals("sdc", second.name(1));
+            Assertions.assertEquals(1, first.index("sdb"));
+            Assertions.assertEquals(-1, second.index("sdb"));
+            Assertions.assertEquals(1, second.index("sdc"));
+            Diskstats third = new Diskstats(new ByteFile(file), second);
+            Assertions.assertEquals(1, third.index("sdc"));
+            file("   8       0 sda 1 2 3 4 5 6 7 8 9 10 11\n");
+            Diskstats fourth = new Diskstats(new ByteFile(file), third);
+            Assertions.assertEquals(0, fourth.index("sda"));
+            Assertions.assertEquals(-1, fourth.index("sdc"));
+        });
+    }
+
+    @Test
+    public void ratesTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file(
+                    "   8       0 sda 100 0 1000 500 200 0 2000 1000 0 400 1500\n"
+                            + "   8      16 sdb 100 0 1000 500 200 0 2000 1000 0 400 1500\n"
+            );
+            DiskstatsSampler sampler = new DiskstatsSampler(new ByteFile(file));
+            Thread.sleep(20);
+            // sdb is replaced by sdc, and the counters of sda grow by 10 reads and 30 writes.
+            file(
+                    "   8       0 sda 110 0 1080 520 230 0 2160 1120 1 410 1640\n"
+                            + "   8      32 sdc 5 0 10 5 5 0 10 5 0 1 10\n"
+            );
+            DiskRates rates = sampler.sample();
+            double seconds = rates.intervalNanos() / 1e9;
+            double milliseconds = rates.intervalNanos() / 1e6;
+            Assertions.assertArrayEquals(new String[] {
+                    "sda", "sdc"
+            }, rates.names());
+            Assertions.assertEquals(10 / seconds, rates.readsPerSecond()[0], 1e-6);
+            Assertions.assertEquals(30 / seconds, rates.writesPerSecond()[0], 1e-6);
+            Assertions.assertEquals(40 / seconds, rates.iops()[0], 1e-6);
+            Assertions.assertEquals(80 * 512 / seconds, rates.readBytesPerSecond()[0], 1e-6);
+            Assertions.assertEquals(160 * 512 / seconds, rates.writeBytesPerSecond()[0], 1e-6);
+            Assertions.assertEquals(2.0, rates.readAwait()[0], 1e-9);
+            Assertions.assertEquals(4.0, rates.writeAwait()[0], 1e-9);
+            Assertions.assertEquals(3.5, rates.await()[0], 1e-9);
+            Assertions.assertEquals(Math.min(100, 1000 / milliseconds), rates.utilization()[0], 1e-6);
+            Assertions.assertEquals(140 / milliseconds, rates.averageQueueSize()[0], 1e-6);
+            Assertions.assertEquals(0, rates.discardsPerSecond()[0]);
+            Assertions.assertTrue(Double.isNaN(rates.readsPerSecond()[1]));
+
+            // Decreased counters restart from 0, so counters reset to 0 report no I/O, and an interval without I/O has no await.
+            file("   8       0 sda 0 0 0 0 230 0 2160 1120 1 410 1640\n");
+            DiskRates reset = sampler.sample();
+            Assertions.assertEquals(0, reset.readsPerSecond()[0]);
+            Assertions.assertEquals(0, reset.writesPerSecond()[0]);
+            Assertions.assertTrue(Double.isNaN(reset.await()[0]));
+        });
+    }
+
+    @Test
+    public void linuxOSTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS();
+            Diskstats diskstats = os.diskstats();
+            Assertions.assertTrue(diskstats.columns() == 0 || diskstats.columns() >= 11);
+            Assertions.assertEquals(diskstats.count(), os.diskstatsSampler().sample().names().length);
+        });
+    }
+}
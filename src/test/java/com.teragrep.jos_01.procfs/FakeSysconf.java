@@ -61,4 +61,14 @@ final class FakeSysconf implements SysconfInterface {
     public long main() {
         return tickRate;
     }
+
+    @Override
+    public long pageSize() {
+        return 4096;
+    }
+
+    @Override
+    public SysconfValues values() {
+        return new SysconfValues(tickRate, 4096, 1, 1, 1048576, 1024);
+    }
 }
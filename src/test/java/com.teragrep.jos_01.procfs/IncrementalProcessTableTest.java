@@ -0,0 +1,156 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class IncrementalProcessTableTest {
+
+    @TempDir
+    File procDirectory;
+
+    private void process(long pid, long utime, long starttime, long resident) throws Exception {
+        File directory = new File(procDirectory, Long.toString(pid));
+        directory.mkdir();
+        Files
+                .write(new File(directory, "stat").toPath(), (pid + " (worker " + pid + ") S 1 " + pid + " " + pid + " 0 -1 4194560 1146 0 0 0 " + utime + " 3 0 0 20 0 1 0 " + starttime + " 23420928 3072 18446744073709551615 1 1 0 0 0 0 0 4096 0 0 0 0 17 0 0 0 0 0 0 0 0 0 0 0 0 0 0\n").getBytes(StandardCharsets.US_ASCII));
+        Files
+                .write(new File(directory, "statm").toPath(), ("5718 " + resident + " 640 5 0 133 0\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void exit(long pid) {
+        File directory = new File(procDirectory, Long.toString(pid));
+        new File(directory, "stat").delete();
+        new File(directory, "statm").delete();
+        directory.delete();
+    }
+
+    // Only processes whose CPU ticks have moved are parsed again, and new and exited processes are reported.
+    @Test
+    public void sweepTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            for (int pid = 1; pid <= 100; pid++) {
+                process(pid, 10, 1000 + pid, 768);
+            }
+            IncrementalProcessTable table = new IncrementalProcessTable(
+                    new LinuxOS(procDirectory.getPath(), new FakeSysconf())
+            );
+            ProcessColumns first = table.sweep();
+            Assertions.assertEquals(100, first.count());
+            Assertions.assertEquals(100, table.parsed());
+            Assertions.assertEquals(100, table.started().length);
+
+            ProcessColumns second = table.sweep();
+            Assertions.assertEquals(100, second.count());
+            Assertions.assertEquals(0, table.parsed());
+            Assertions.assertEquals(0, table.started().length);
+            Assertions.assertEquals(0, table.exited().length);
+
+            process(7, 11, 1007, 900);
+            exit(8);
+            process(101, 0, 5000, 768);
+            ProcessColumns third = table.sweep();
+            Assertions.assertEquals(2, table.parsed());
+            Assertions.assertArrayEquals(new long[] {
+                    101
+            }, table.started());
+            Assertions.assertArrayEquals(new long[] {
+                    8
+            }, table.exited());
+            Assertions.assertEquals(100, third.count());
+            Assertions.assertEquals(11, third.utimes()[third.row(7)]);
+            Assertions.assertEquals(900, third.residents()[third.row(7)]);
+            Assertions.assertEquals(-1, third.row(8));
+        });
+    }
+
+    // A pid reused by a new process has a different starttime, so the old process has exited and a new one has started.
+    @Test
+    public void reusedPidTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            process(42, 10, 1000, 768);
+            IncrementalProcessTable table = new IncrementalProcessTable(
+                    new LinuxOS(procDirectory.getPath(), new FakeSysconf())
+            );
+            table.sweep();
+            process(42, 10, 2000, 512);
+            ProcessColumns columns = table.sweep();
+            Assertions.assertEquals(1, table.parsed());
+            Assertions.assertArrayEquals(new long[] {
+                    42
+            }, table.started());
+            Assertions.assertArrayEquals(new long[] {
+                    42
+            }, table.exited());
+            Assertions.assertEquals(2000, columns.starttimes()[0]);
+            Assertions.assertEquals(512, columns.residents()[0]);
+        });
+    }
+
+    // Idle processes are parsed fully once per refresh interval, so changes to their memory are eventually seen.
+    @Test
+    public void refreshIntervalTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            process(1, 10, 1000, 768);
+            IncrementalProcessTable table = new IncrementalProcessTable(
+                    new LinuxOS(procDirectory.getPath(), new FakeSysconf()),
+                    3
+            );
+            table.sweep();
+            process(1, 10, 1000, 100);
+            Assertions.assertEquals(768, table.sweep().residents()[0]);
+            Assertions.assertEquals(768, table.sweep().residents()[0]);
+            Assertions.assertEquals(100, table.sweep().residents()[0]);
+            Assertions.assertEquals(1, table.parsed());
+        });
+    }
+}
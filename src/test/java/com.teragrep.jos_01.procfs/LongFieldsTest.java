@@ -0,0 +1,139 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.LongRows;
+import com.teragrep.jos_01.procfs.status.os.LongStat;
+import com.teragrep.jos_01.procfs.status.os.LongVmstat;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+import com.teragrep.jos_01.procfs.status.os.Vmstat;
+import com.teragrep.jos_01.procfs.status.process.LongStatm;
+import com.teragrep.jos_01.procfs.status.process.Statm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+public class LongFieldsTest {
+
+    @TempDir
+    File procDirectory;
+
+    private File file(String name, String content) throws Exception {
+        File file = new File(procDirectory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    // Labels are separated from the values, and values end at the first token that is not a number.
+    @Test
+    public void rowsTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LongRows rows = new LongRows(
+                    new ByteFile(file("rows", "cpu12 1 -2 3\n" + "\n" + "MemTotal:  6158152 kB\n" + "4 5 6 7\n"))
+            );
+            Assertions.assertTrue(rows.next());
+            Assertions.assertTrue(rows.labelled("cpu".getBytes(StandardCharsets.US_ASCII)));
+            Assertions.assertEquals(12, rows.labelNumber(3));
+            Assertions.assertEquals(3, rows.size());
+            Assertions.assertEquals(-2, rows.values()[1]);
+            Assertions.assertTrue(rows.next());
+            Assertions.assertEquals(1, rows.size());
+            Assertions.assertEquals(6158152, rows.values()[0]);
+            Assertions.assertEquals(-1, rows.labelNumber(0));
+            Assertions.assertTrue(rows.next());
+            Assertions.assertFalse(rows.labelled("4".getBytes(StandardCharsets.US_ASCII)));
+            Assertions.assertEquals(4, rows.size());
+            Assertions.assertFalse(rows.next());
+        });
+    }
+
+    // The primitive variants should agree with the parsers producing Strings and boxed Longs.
+    @Test
+    public void variantsTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS(new FakeSysconf());
+            File stat = file(
+                    "stat", new String(Files.readAllBytes(new File("/proc/stat").toPath()), StandardCharsets.US_ASCII)
+            );
+            Stat boxed = new Stat(new ByteFile(stat));
+            LongStat primitive = new LongStat(new ByteFile(stat));
+            Assertions.assertEquals(boxed.cpus().size(), primitive.cpus().length);
+            for (int cpu = 0; cpu < primitive.cpus().length; cpu++) {
+                Assertions.assertEquals(boxed.cpuIds().get(cpu), primitive.cpuIds()[cpu]);
+                ArrayList<Long> row = boxed.cpus().get(cpu);
+                Assertions.assertEquals(row.size(), primitive.cpus()[cpu].length);
+                for (int i = 0; i < row.size(); i++) {
+                    Assertions.assertEquals(row.get(i), primitive.cpus()[cpu][i]);
+                }
+            }
+            Assertions.assertEquals(boxed.intr().size(), primitive.intr().length);
+            Assertions.assertEquals(boxed.softirq().size(), primitive.softirq().length);
+            Assertions.assertEquals(boxed.ctxt(), primitive.ctxt());
+            Assertions.assertEquals(boxed.btime(), primitive.btime());
+            Assertions.assertEquals(boxed.procs_blocked(), primitive.procs_blocked());
+
+            File vmstat = file("vmstat", "nr_free_pages 100\n" + "nr_mapped 25\n" + "unknown_counter 7\n");
+            LongVmstat longVmstat = new LongVmstat(new ByteFile(vmstat));
+            Vmstat boxedVmstat = new Vmstat(new ByteFile(vmstat));
+            Assertions.assertEquals(boxedVmstat.nr_free_pages(), longVmstat.value(Vmstat.Key.nr_free_pages));
+            Assertions.assertEquals(25, longVmstat.value(Vmstat.Key.nr_mapped));
+            Assertions.assertFalse(longVmstat.contains(Vmstat.Key.pgpgin));
+
+            File statm = file("statm", "100 20 10 5 0 30 0\n");
+            LongStatm longStatm = new LongStatm(new ByteFile(statm));
+            Statm boxedStatm = new Statm(new ByteFile(statm));
+            Assertions.assertEquals(boxedStatm.resident(), longStatm.resident());
+            Assertions.assertEquals(boxedStatm.data(), longStatm.data());
+            Assertions.assertTrue(os.longVmstat().values().length > 0);
+        });
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.KeyedLongs;
+import com.teragrep.jos_01.procfs.status.LongTable;
+import com.teragrep.jos_01.procfs.status.RowFile;
+import com.teragrep.jos_01.procfs.status.os.Meminfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class MeminfoTest {
+
+    @TempDir
+    File procDirectory;
+
+    // Every row of the real meminfo should end up in the table, and both parsers should agree on the fields that do not change.
+    @Test
+    public void tableTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS();
+            Meminfo meminfo = os.meminfo();
+            Meminfo byteMeminfo = new Meminfo(new ByteFile(os.procDirectory(), "meminfo"));
+            int rows = 0;
+            for (String row : new RowFile(os.procDirectory(), "meminfo").read()) {
+                if (row.contains(":")) {
+                    rows++;
+                }
+            }
+            Assertions.assertEquals(rows, meminfo.table().size());
+            Assertions.assertEquals(rows, byteMeminfo.table().size());
+            Assertions.assertEquals(meminfo.MemTotal(), meminfo.value("MemTotal"));
+            Assertions.assertEquals(meminfo.value("HugePages_Total"), byteMeminfo.value("HugePages_Total"));
+            Assertions.assertEquals(meminfo.value("Hugepagesize"), byteMeminfo.value("Hugepagesize"));
+        });
+    }
+
+    // Fields are found by their names even when the rows are in a different order, and unknown rows are kept in the table.
+    @Test
+    public void reorderedTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            ArrayList<String> rows = new ArrayList<String>();
+            for (String row : new RowFile(new LinuxOS().procDirectory(), "meminfo").read()) {
+                if (row.contains(":")) {
+                    rows.add(row);
+                }
+            }
+            ArrayList<String> reordered = new ArrayList<String>(rows);
+            Collections.reverse(reordered);
+            reordered.add(3, "CmaTotal:        1024 kB");
+            File file = new File(procDirectory, "meminfo");
+            Files.write(file.toPath(), reordered);
+            Meminfo original = new Meminfo(new ByteFile(new LinuxOS().procDirectory(), "meminfo"));
+            Meminfo meminfo = new Meminfo(new RowFile(file));
+            Meminfo byteMeminfo = new Meminfo(new ByteFile(file));
+            Assertions.assertEquals(original.MemTotal(), meminfo.MemTotal());
+            Assertions.assertEquals(original.MemTotal(), byteMeminfo.MemTotal());
+            Assertions.assertEquals(original.VmallocTotal(), byteMeminfo.VmallocTotal());
+            Assertions.assertEquals(1024, meminfo.value("CmaTotal"));
+            Assertions.assertEquals(1024, byteMeminfo.value("CmaTotal"));
+            Assertions.assertFalse(meminfo.table().contains("Cma"));
+            Assertions.assertThrows(Exception.class, () -> meminfo.value("Cma"));
+        });
+    }
+
+    // The names of the previous parse are reused while the layout stays the same, and replaced when it changes.
+    @Test
+    public void layoutTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            KeyedLongs keyedLongs = new KeyedLongs(':');
+            LongTable first = keyedLongs.table(ByteBuffer.wrap("A: 1\nB: 2 kB\n".getBytes(StandardCharsets.US_ASCII)));
+            LongTable second = keyedLongs.table(ByteBuffer.wrap("A: 3\nB: 4 kB\n".getBytes(StandardCharsets.US_ASCII)));
+            Assertions.assertSame(first.keys(), second.keys());
+            Assertions.assertEquals(4, second.value("B"));
+            LongTable third = keyedLongs.table(new ArrayList<String>(Arrays.asList("A: 5", "C: 6", "B: 7 kB")));
+            Assertions.assertNotSame(second.keys(), third.keys());
+            Assertions.assertEquals(3, third.size());
+            Assertions.assertEquals(6, third.value("C"));
+            Assertions.assertEquals(7, third.value("B"));
+            LongTable fourth = keyedLongs.table(ByteBuffer.wrap("A: 8\n".getBytes(StandardCharsets.US_ASCII)));
+            Assertions.assertEquals(1, fourth.size());
+            Assertions.assertFalse(fourth.contains("B"));
+        });
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.CachedHandles;
+import com.teragrep.jos_01.procfs.status.os.Meminfo;
+import com.teragrep.jos_01.procfs.status.os.MutableMeminfo;
+import com.teragrep.jos_01.procfs.status.os.MutableStat;
+import com.teragrep.jos_01.procfs.status.os.MutableVmstat;
+import com.teragrep.jos_01.procfs.status.os.Vmstat;
+import com.teragrep.jos_01.procfs.status.process.MutableStatm;
+import com.teragrep.jos_01.procfs.status.process.Stat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class MutableTest {
+
+    @TempDir
+    File procDirectory;
+
+    private File file(String name, String content) throws Exception {
+        File file = new File(procDirectory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    // Refilling should overwrite the values in place with the values of the next read, reusing the same arrays.
+    @Test
+    public void refillTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File stat = file(
+                    "stat",
+                    "cpu  10 0 20 300\n" + "cpu0 10 0 20 300\n" + "intr 100 1 2 3\n" + "ctxt 5000\n"
+                            + "btime 1700000000\n"
+            );
+            MutableStat mutableStat = new MutableStat(new ByteFile(stat));
+            long[] intr = mutableStat.intr();
+            Assertions.assertEquals(2, mutableStat.cpuCount());
+            Assertions.assertEquals(-1, mutableStat.cpuId(0));
+            Assertions.assertEquals(5000, mutableStat.ctxt());
+            file(
+                    "stat",
+                    "cpu  11 0 21 301\n" + "cpu0 11 0 21 301\n" + "intr 101 1 2 4\n" + "ctxt 5100\n"
+                            + "btime 1700000000\n"
+            );
+            Assertions.assertSame(mutableStat, mutableStat.refill());
+            Assertions.assertSame(intr, mutableStat.intr());
+            Assertions.assertEquals(101, mutableStat.intr()[0]);
+            Assertions.assertEquals(4, mutableStat.intrCount());
+            Assertions.assertEquals(11, mutableStat.cpu(1)[0]);
+            Assertions.assertEquals(5100, mutableStat.ctxt());
+
+            File vmstat = file("vmstat", "nr_free_pages 100\n" + "pgpgin 5\n");
+            MutableVmstat mutableVmstat = new MutableVmstat(new ByteFile(vmstat));
+            file("vmstat", "nr_free_pages 90\n");
+            mutableVmstat.refill();
+            Assertions.assertEquals(90, mutableVmstat.value(Vmstat.Key.nr_free_pages));
+            Assertions.assertFalse(mutableVmstat.contains(Vmstat.Key.pgpgin));
+            Assertions.assertEquals(0, mutableVmstat.value(Vmstat.Key.pgpgin));
+            Assertions.assertEquals(90, mutableVmstat.nr_free_pages());
+            Assertions.assertEquals(0, mutableVmstat.pgpgin());
+
+            File meminfo = file("meminfo", "MemTotal:        1000 kB\n" + "Dirty:             10 kB\n");
+            MutableMeminfo mutableMeminfo = new MutableMeminfo(new ByteFile(meminfo));
+            Assertions.assertTrue(mutableMeminfo.contains(Meminfo.Key.Dirty));
+            file("meminfo", "MemTotal:        1000 kB\n");
+            mutableMeminfo.refill();
+            Assertions.assertFalse(mutableMeminfo.contains(Meminfo.Key.Dirty));
+            Assertions.assertEquals(0, mutableMeminfo.value(Meminfo.Key.Dirty));
+            Assertions.assertEquals(1000, mutableMeminfo.MemTotal());
+
+            File statm = file("statm", "100 20 10 5 0 30 0\n");
+            MutableStatm mutableStatm = new MutableStatm(new ByteFile(statm));
+            file("statm", "200 40 10 5 0 30 0\n");
+            Assertions.assertEquals(40, mutableStatm.refill().resident());
+        });
+    }
+
+    // The mutable variants should agree with the immutable parsers on the real files.
+    @Test
+    public void realFilesTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File self = new File("/proc/self");
+            com.teragrep.jos_01.procfs.status.process.MutableStat mutable = new com.teragrep.jos_01.procfs.status.process.MutableStat(
+                    new ByteFile(self, "stat")
+            );
+            Stat stat = new Stat(new ByteFile(self, "stat"));
+            Assertions.assertEquals(stat.pid(), mutable.pid());
+            Assertions.assertEquals(stat.comm(), mutable.comm());
+            Assertions.assertEquals(stat.state(), mutable.state());
+            Assertions.assertEquals(stat.starttime(), mutable.starttime());
+            Assertions.assertEquals(stat.rsslimUnsigned(), mutable.value(Stat.Field.rsslim));
+            Assertions.assertEquals(stat.rsslim(), mutable.rsslim());
+            Assertions.assertEquals(stat.exit_code(), mutable.exit_code());
+            Assertions.assertEquals(stat.pgrp(), mutable.pgrp());
+
+            MutableMeminfo meminfo = new MutableMeminfo(new ByteFile(new File("/proc"), "meminfo"));
+            Assertions
+                    .assertEquals(new Meminfo(new ByteFile(new File("/proc"), "meminfo")).MemTotal(), meminfo.MemTotal());
+            Meminfo immutable = new Meminfo(new ByteFile(new File("/proc"), "meminfo"));
+            Assertions.assertEquals(immutable.SwapTotal(), meminfo.SwapTotal());
+            Assertions.assertEquals(immutable.VmallocTotal(), meminfo.VmallocTotal());
+        });
+    }
+
+    // Steady-state refills through kept open channels should allocate next to nothing per tick. The mutable variants parse with a ByteCursor over the read buffer and do not build rows.
+    @Test
+    public void allocationTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+                return;
+            }
+            com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            long thread = Thread.currentThread().getId();
+            try (CachedHandles handles = new CachedHandles(4)) {
+                MutableStat stat = new MutableStat(new ByteFile(new File("/proc/stat"), handles));
+                com.teragrep.jos_01.procfs.status.process.MutableStat self = new com.teragrep.jos_01.procfs.status.process.MutableStat(
+                        new ByteFile(new File("/proc/self/stat"), handles)
+                );
+                for (int i = 0; i < 1000; i++) {
+                    stat.refill();
+                    self.refill().state();
+                }
+                long before = allocations.getThreadAllocatedBytes(thread);
+                for (int i = 0; i < 1000; i++) {
+                    stat.refill();
+                    self.refill().state();
+                }
+                long perRefill = (allocations.getThreadAllocatedBytes(thread) - before) / 1000;
+                Assertions.assertTrue(perRefill < 1024, "Allocated " + perRefill + " bytes per refill");
+            }
+        });
+    }
+}
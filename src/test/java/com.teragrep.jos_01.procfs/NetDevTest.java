@@ -0,0 +1,210 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.RowFile;
+import com.teragrep.jos_01.procfs.status.os.NetDev;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class NetDevTest {
+
+    @TempDir
+    File procDirectory;
+
+    private static final String HEADER = "Inter-|   Receive                                                |  Transmit\n"
+            + " face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier compressed\n";
+
+    private File file(String rows) throws Exception {
+        File directory = new File(procDirectory, "net");
+        directory.mkdirs();
+        File file = new File(directory, "dev");
+        Files.write(file.toPath(), (HEADER + rows).getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private static String row(String name, long base) {
+        StringBuilder row = new StringBuilder(name).append(':');
+        for (int column = 0; column < 16; column++) {
+            row.append(' ').append(base + column);
+        }
+        return row.append('\n').toString();
+    }
+
+    // The byte level parser and the row parser should agree on every value.
+    @Test
+    public void parseTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file(
+                    row("    lo", 100) + row("  eth0", 200) + "veth1:300 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15\n"
+            );
+            NetDev bytes = new NetDev(new ByteFile(file));
+            NetDev rows = new NetDev(new RowFile(file));
+            for (NetDev netDev : new NetDev[] {
+                    bytes, rows
+            }) {
+                Assertions.assertEquals(3, netDev.count());
+                Assertions.assertEquals("lo", netDev.name(0));
+                Assertions.assertEquals("eth0", netDev.name(1));
+                Assertions.assertEquals("veth1", netDev.name(2));
+                Assertions.assertEquals(1, netDev.index("eth0"));
+                Assertions.assertEquals(-1, netDev.index("eth1"));
+                for (NetDev.Column column : NetDev.Column.values()) {
+                    Assertions.assertEquals(200 + column.ordinal(), netDev.value(1, column));
+                }
+                Assertions.assertEquals(300, netDev.value(2, NetDev.Column.rx_bytes));
+                Assertions.assertEquals(8, netDev.value(2, NetDev.Column.tx_bytes));
+            }
+        });
+    }
+
+    // Both parsers skip blank rows, reject rows without a colon, and accept counters up to 2^64-1 but nothing larger.
+    @Test
+    public void malformedRowsTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File blank = file(row("    lo", 100) + "\n" + row("  eth0", 200));
+            Assertions.assertEquals(2, new NetDev(new ByteFile(blank)).count());
+            Assertions.assertEquals(2, new NetDev(new RowFile(blank)).count());
+            Assertions.assertEquals(1, new NetDev(new RowFile(blank)).index("eth0"));
+
+            File noColon = file(row("    lo", 100) + "  eth0 1 2 3\n");
+            Assertions.assertThrows(Exception.class, () -> new NetDev(new ByteFile(noColon)));
+            Assertions.assertThrows(Exception.class, () -> new NetDev(new RowFile(noColon)));
+
+            File largest = file("  eth0: 18446744073709551615 0\n");
+            Assertions.assertEquals(-1L, new NetDev(new ByteFile(largest)).value(0, NetDev.Column.rx_bytes));
+            Assertions.assertEquals(-1L, new NetDev(new RowFile(largest)).value(0, NetDev.Column.rx_bytes));
+
+            for (String counter : new String[] {
+                    "18446744073709551616", "99999999999999999999", "000000000000000000001"
+            }) {
+                File tooLarge = file("  eth0: " + counter + " 0\n");
+                Assertions.assertThrows(Exception.class, () -> new NetDev(new ByteFile(tooLarge)), counter);
+                Assertions.assertThrows(Exception.class, () -> new NetDev(new RowFile(tooLarge)), counter);
+            }
+        });
+    }
+
+    // Columns are placed by the names of the header, unknown columns are skipped.
+    @Test
+    public void headerTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File directory = new File(procDirectory, "net");
+            directory.mkdirs();
+            File file = new File(directory, "dev");
+            Files
+                    .write(
+                            file.toPath(),
+                            ("Inter-|   Receive  |  Transmit\n" + " face |bytes extra packets|packets bytes\n"
+                                    + "  eth0: 1 2 3 4 5\n").getBytes(StandardCharsets.US_ASCII)
+                    );
+            NetDev netDev = new NetDev(new ByteFile(file));
+            Assertions.assertEquals(1, netDev.value(0, NetDev.Column.rx_bytes));
+            Assertions.assertEquals(3, netDev.value(0, NetDev.Column.rx_packets));
+            Assertions.assertEquals(4, netDev.value(0, NetDev.Column.tx_packets));
+            Assertions.assertEquals(5, netDev.value(0, NetDev.Column.tx_bytes));
+            Assertions.assertEquals(0, netDev.value(0, NetDev.Column.rx_errs));
+            Assertions
+                    .assertEquals(netDev.value(0, NetDev.Column.tx_bytes), new NetDev(new RowFile(file)).value(0, NetDev.Column.tx_bytes));
+        });
+    }
+
+    @Test
+    public void samplerTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file(row("  eth0", 1000) + row("  eth1", 1000));
+            NetDevSampler sampler = new NetDevSampler(new ByteFile(file));
+            Thread.sleep(20);
+            // eth1 is replaced by eth2, eth0 receives 500 bytes.
+            file(row("  eth0", 1500).replace(" 1501 ", " 1001 ") + row("  eth2", 10));
+            NetRates rates = sampler.sample();
+            double seconds = rates.intervalNanos() / 1e9;
+            Assertions.assertEquals(2, rates.count());
+            Assertions.assertEquals("eth2", rates.name(1));
+            Assertions.assertEquals(500 / seconds, rates.rate(0, NetDev.Column.rx_bytes), 1e-6);
+            Assertions.assertEquals(0, rates.rate(0, NetDev.Column.rx_packets), 1e-6);
+            Assertions.assertTrue(Double.isNaN(rates.rate(1, NetDev.Column.rx_bytes)));
+            Assertions.assertEquals(rates.rate(0, NetDev.Column.tx_bytes), rates.rates(NetDev.Column.tx_bytes)[0]);
+
+            // A reset counter counts from 0, and counters above Long.MAX_VALUE are unsigned.
+            file("  eth0: 100 18446744073709551615 0 0 0 0 0 0 0 0 0 0 0 0 0 0\n");
+            NetRates reset = sampler.sample();
+            double resetSeconds = reset.intervalNanos() / 1e9;
+            Assertions.assertEquals(100 / resetSeconds, reset.rate(0, NetDev.Column.rx_bytes), 1e-6);
+            Assertions
+                    .assertEquals((18446744073709551615.0 - 1001) / resetSeconds, reset.rate(0, NetDev.Column.rx_packets), 1e6);
+        });
+    }
+
+    // LinuxOS reads net/dev of its proc directory with the byte level parser.
+    @Test
+    public void procDirectoryTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            file(row("    lo", 100) + "  eth0: 18446744073709551615 1\n");
+            NetDev netDev = new LinuxOS(procDirectory.getPath(), new FakeSysconf()).netDev();
+            Assertions.assertEquals(2, netDev.count());
+            Assertions.assertEquals(100, netDev.value(0, NetDev.Column.rx_bytes));
+            Assertions.assertEquals(-1L, netDev.value(1, NetDev.Column.rx_bytes));
+        });
+    }
+
+    @Test
+    public void linuxOSTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS();
+            NetDev rows = os.netDev();
+            Assertions.assertTrue(rows.count() > 0);
+            Assertions.assertTrue(rows.index("lo") != -1);
+            Assertions.assertEquals(rows.count(), os.netDevSampler().sample().count());
+        });
+    }
+}
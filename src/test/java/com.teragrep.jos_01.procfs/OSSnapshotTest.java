@@ -0,0 +1,101 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class OSSnapshotTest {
+
+    // Every file of a snapshot should be read within the read window, and the values should agree with separate reads.
+    @Test
+    public void snapshotTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS(new FakeSysconf());
+            long before = System.nanoTime();
+            OSSnapshot snapshot = os.snapshot();
+            long after = System.nanoTime();
+            Assertions.assertTrue(snapshot.readStart() >= before);
+            Assertions.assertTrue(snapshot.readEnd() <= after);
+            Assertions.assertTrue(snapshot.skew() >= 0);
+            Assertions
+                    .assertEquals(new Stat(new ByteFile(os.procDirectory(), "stat")).btime(), snapshot.stat().btime());
+            Assertions.assertEquals(os.meminfo().MemTotal(), snapshot.meminfo().MemTotal());
+            Assertions.assertTrue(snapshot.vmstat().table().size() > 0);
+            Assertions.assertTrue(snapshot.uptime().uptimeSeconds() <= os.uptime().uptimeSeconds());
+        });
+    }
+
+    // Only the requested files are read, and reading them in parallel gives the same values.
+    @Test
+    public void sourcesTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS(new FakeSysconf());
+            EnumSet<OSSnapshot.Source> sources = EnumSet.of(OSSnapshot.Source.stat, OSSnapshot.Source.meminfo);
+            OSSnapshot snapshot = os.snapshot(sources);
+            Assertions.assertTrue(snapshot.contains(OSSnapshot.Source.stat));
+            Assertions.assertFalse(snapshot.contains(OSSnapshot.Source.uptime));
+            Assertions.assertThrows(Exception.class, snapshot::vmstat);
+            Assertions.assertThrows(Exception.class, snapshot::uptime);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                OSSnapshot parallel = os.snapshot(sources, executor);
+                Assertions.assertEquals(sources, parallel.sources());
+                Assertions.assertEquals(snapshot.stat().btime(), parallel.stat().btime());
+                Assertions.assertEquals(snapshot.meminfo().MemTotal(), parallel.meminfo().MemTotal());
+            }
+            finally {
+                executor.shutdown();
+            }
+        });
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.RowFile;
+import com.teragrep.jos_01.procfs.status.os.Pressure;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class PressureTest {
+
+    @TempDir
+    File procDirectory;
+
+    private File file(String name, String content) throws Exception {
+        File directory = new File(procDirectory, "pressure");
+        directory.mkdirs();
+        File file = new File(directory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private static String content(long someTotal, long fullTotal) {
+        return "some avg10=47.34 avg60=38.92 avg300=33.27 total=" + someTotal + "\n"
+                + "full avg10=1.05 avg60=0.50 avg300=0.00 total=" + fullTotal + "\n";
+    }
+
+    // The byte level parser and the row parser should agree on every value.
+    @Test
+    public void parseTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file("io", content(1292051732L, 8028629L));
+            Pressure bytes = new Pressure(new ByteFile(file));
+            Pressure rows = new Pressure(new RowFile(file));
+            for (Pressure pressure : new Pressure[] {
+                    bytes, rows
+            }) {
+                Assertions.assertEquals(47.34, pressure.someAvg10(), 1e-9);
+                Assertions.assertEquals(38.92, pressure.someAvg60(), 1e-9);
+                Assertions.assertEquals(33.27, pressure.someAvg300(), 1e-9);
+                Assertions.assertEquals(1292051732L, pressure.someTotal());
+                Assertions.assertTrue(pressure.full());
+                Assertions.assertEquals(1.05, pressure.fullAvg10(), 1e-9);
+                Assertions.assertEquals(0.5, pressure.fullAvg60(), 1e-9);
+                Assertions.assertEquals(0, pressure.fullAvg300(), 1e-9);
+                Assertions.assertEquals(8028629L, pressure.fullTotal());
+            }
+            Assertions.assertEquals(rows.read(), bytes.read());
+        });
+    }
+
+    // The cpu file of kernels before 5.13 has only the some row.
+    @Test
+    public void someOnlyTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file("cpu", "some avg10=0.00 avg60=0.10 avg300=0.05 total=100\n");
+            Pressure pressure = new Pressure(new ByteFile(file));
+            Assertions.assertFalse(pressure.full());
+            Assertions.assertEquals(0, pressure.fullTotal());
+            Assertions.assertEquals(100, pressure.someTotal());
+            Assertions.assertFalse(new Pressure(new RowFile(file)).full());
+            Assertions.assertThrows(Exception.class, () -> new Pressure(new ByteFile(file("memory", "\n"))));
+        });
+    }
+
+    @Test
+    public void samplerTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file("memory", content(1000000, 500000));
+            PressureSampler sampler = new PressureSampler(new ByteFile(file));
+            Thread.sleep(20);
+            file("memory", content(1010000, 505000));
+            PressureRate rate = sampler.sample();
+            Assertions.assertTrue(rate.intervalNanos() > 0);
+            // 10 ms of some stall and 5 ms of full stall over an interval of at least 20 ms.
+            Assertions.assertEquals(10000 / (rate.intervalNanos() / 1e9), rate.some(), 1e-6);
+            Assertions.assertEquals(rate.some() / 2, rate.full(), 1e-6);
+            Assertions.assertTrue(rate.some() <= 500000);
+
+            // A decreased counter contributes no stall time.
+            file("memory", content(10, 5));
+            PressureRate reset = sampler.sample();
+            Assertions.assertEquals(0, reset.some());
+            Assertions.assertEquals(0, reset.full());
+
+            file("memory", "some avg10=0.00 avg60=0.00 avg300=0.00 total=20\n");
+            Assertions.assertTrue(Double.isNaN(sampler.sample().full()));
+        });
+    }
+
+    @Test
+    public void linuxOSTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            file("cpu", content(200, 100));
+            file("memory", content(300, 150));
+            file("io", content(400, 200));
+            LinuxOS os = new LinuxOS(procDirectory.getPath(), new FakeSysconf());
+            Assertions.assertEquals(200, os.cpuPressure().someTotal());
+            Assertions.assertEquals(300, os.memoryPressure().someTotal());
+            Assertions.assertEquals(400, os.ioPressure().someTotal());
+            Assertions.assertEquals(200, os.pressure(Pressure.Resource.io).fullTotal());
+            Assertions.assertEquals(0, os.pressureSampler(Pressure.Resource.cpu).sample().some());
+        });
+    }
+}
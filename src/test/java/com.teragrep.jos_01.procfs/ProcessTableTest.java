@@ -0,0 +1,153 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+public class ProcessTableTest {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ProcessTableTest.class);
+
+    @TempDir
+    File procDirectory;
+
+    private void process(long pid, String comm) throws Exception {
+        File directory = new File(procDirectory, Long.toString(pid));
+        Assertions.assertTrue(directory.mkdir());
+        Files
+                .write(new File(directory, "stat").toPath(), (pid + " (" + comm + ") S 1 " + pid + " " + pid + " 0 -1 4194560 1146 0 0 0 " + pid % 100 + " 3 0 0 20 0 1 0 " + (pid + 1000) + " 23420928 3072 18446744073709551615 1 1 0 0 0 0 0 4096 0 0 0 0 17 0 0 0 0 0 0 0 0 0 0 0 0 0 0\n").getBytes(StandardCharsets.US_ASCII));
+        Files
+                .write(new File(directory, "statm").toPath(), "5718 768 640 5 0 133 0\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // The real process table should contain the JVM running the test.
+    @Test
+    public void scanTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            long jvmPid = Long.parseLong(ManagementFactory.getRuntimeMXBean().getName().split("@")[0]);
+            ProcessColumns columns = new ProcessTable(new LinuxOS()).scan();
+            int row = columns.row(jvmPid);
+            Assertions.assertNotEquals(-1, row);
+            Assertions.assertEquals("(java)", columns.comms()[row]);
+            Assertions.assertTrue(columns.residents()[row] > 0);
+        });
+    }
+
+    // Directories that are not processes are ignored, and processes that can not be read are left out.
+    @Test
+    public void vanishedProcessTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            process(1, "init");
+            process(42, "Web Content");
+            Assertions.assertTrue(new File(procDirectory, "43").mkdir());
+            Assertions.assertTrue(new File(procDirectory, "self").mkdir());
+            Files.write(new File(procDirectory, "stat").toPath(), "cpu 1 2 3\n".getBytes(StandardCharsets.US_ASCII));
+            ProcessTable table = new ProcessTable(new LinuxOS(procDirectory.getPath(), new FakeSysconf()));
+            Assertions.assertArrayEquals(new long[] {
+                    1, 42, 43
+            }, table.pids());
+            ProcessColumns columns = table.scan();
+            Assertions.assertEquals(2, columns.count());
+            Assertions.assertArrayEquals(new long[] {
+                    1, 42
+            }, columns.pids());
+            Assertions.assertEquals("(Web Content)", columns.comms()[1]);
+            Assertions.assertEquals('S', columns.states()[1]);
+            Assertions.assertEquals(1042, columns.starttimes()[1]);
+            Assertions.assertEquals(768, columns.residents()[1]);
+            Assertions.assertEquals(-1, columns.row(43));
+            columns.residents()[1] = 0;
+            Assertions.assertEquals(768, columns.residents()[1]);
+        });
+    }
+
+    // Compares a serial scan with a parallel one over a synthetic tree of processes. The tree has 300 processes by default, a larger tree for benchmarking can be set with the processTable.pids property. Only logs the timings, so it runs only with -Dbenchmarks=true.
+    @Test
+    public void syntheticTreeBenchmarkTest() {
+        Assumptions.assumeTrue(Boolean.getBoolean("benchmarks"));
+        Assertions.assertDoesNotThrow(() -> {
+            int pids = Integer.getInteger("processTable.pids", 300);
+            for (int pid = 1; pid <= pids; pid++) {
+                process(pid, "worker " + pid);
+            }
+            LinuxOS os = new LinuxOS(procDirectory.getPath(), new FakeSysconf());
+            ForkJoinPool serialPool = new ForkJoinPool(1);
+            ForkJoinPool parallelPool = new ForkJoinPool(Math.min(Runtime.getRuntime().availableProcessors(), 8));
+            ProcessColumns serial = null;
+            ProcessColumns parallel = null;
+            for (int round = 0; round < 2; round++) {
+                long start = System.nanoTime();
+                serial = new ProcessTable(os, serialPool).scan();
+                long serialNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                parallel = new ProcessTable(os, parallelPool).scan();
+                long parallelNanos = System.nanoTime() - start;
+                LOGGER
+                        .info(
+                                "Scanned {} processes: serial {} ms, parallel {} ms with parallelism {}", pids,
+                                serialNanos / 1000000, parallelNanos / 1000000, parallelPool.getParallelism()
+                        );
+            }
+            serialPool.shutdown();
+            parallelPool.shutdown();
+            Assertions.assertEquals(pids, serial.count());
+            Assertions.assertEquals(pids, parallel.count());
+            Assertions.assertArrayEquals(serial.utimes(), parallel.utimes());
+            Assertions.assertEquals("(worker " + pids + ")", parallel.comms()[pids - 1]);
+        });
+    }
+}
@@ -57,6 +57,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.Iterator;
 
@@ -386,4 +387,46 @@ public class ProcessTest {
             Assertions.assertNotEquals(cpuUsage1, cpuUsage2);
         });
     }
+
+    // The test thread spins until it has used a known amount of CPU time, so the expectation does not depend on how the scheduler shares the CPUs.
+    // Usage over the interval is at least that CPU time divided by the wall time around both samples, and the bound is halved for tick granularity.
+    @Test
+    public void cpuSamplerTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            long pid = Long.parseLong(ManagementFactory.getRuntimeMXBean().getName().split("@")[0]);
+            Process jvm = new Process(pid, new LinuxOS(new FakeSysconf()));
+            CpuTimeSampler processSampler = jvm.cpuSampler();
+            ArrayList<CpuTimeSampler> taskSamplers = new ArrayList<CpuTimeSampler>();
+            for (Task task : jvm.tasks()) {
+                taskSamplers.add(task.cpuSampler());
+            }
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            long start = System.nanoTime();
+            long spinUntil = threads.getCurrentThreadCpuTime() + 300000000L;
+            long spins = 0;
+            while (threads.getCurrentThreadCpuTime() < spinUntil) {
+                spins++;
+            }
+            double processUsage = processSampler.sample();
+            double busiestTask = 0;
+            for (CpuTimeSampler taskSampler : taskSamplers) {
+                busiestTask = Math.max(busiestTask, taskSampler.sample());
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            double lowerBound = 0.5 * 0.3 / elapsedSeconds;
+            Assertions.assertTrue(spins > 0);
+            Assertions
+                    .assertTrue(
+                            processUsage >= lowerBound,
+                            "Process usage was " + processUsage + ", expected at least " + lowerBound
+                    );
+            Assertions
+                    .assertTrue(
+                            busiestTask >= lowerBound,
+                            "Busiest task usage was " + busiestTask + ", expected at least " + lowerBound
+                    );
+            // CPU time is monotonic, so an immediate second sample is never negative.
+            Assertions.assertTrue(processSampler.sample() >= 0);
+        });
+    }
 }
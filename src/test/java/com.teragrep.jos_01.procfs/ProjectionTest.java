@@ -0,0 +1,178 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.Projection;
+import com.teragrep.jos_01.procfs.status.os.Meminfo;
+import com.teragrep.jos_01.procfs.status.os.Vmstat;
+import com.teragrep.jos_01.procfs.status.process.Stat;
+import com.teragrep.jos_01.procfs.status.process.Statm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.EnumSet;
+
+public class ProjectionTest {
+
+    @TempDir
+    File procDirectory;
+
+    private File file(String name, String content) throws Exception {
+        File file = new File(procDirectory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    // Requested fields of a process stat should equal the full parse, the other fields are left as 0.
+    @Test
+    public void processStatTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            StringBuilder content = new StringBuilder("1234 (a (b) c) S");
+            for (int field = 4; field <= 52; field++) {
+                content.append(' ').append(field * 10);
+            }
+            File file = file("stat", content.append('\n').toString());
+            Stat full = new Stat(new ByteFile(file));
+            Stat projected = new Stat(
+                    new ByteFile(file),
+                    new Projection<Stat.Field>(EnumSet.of(Stat.Field.ppid, Stat.Field.rss))
+            );
+            Assertions.assertEquals(1234, projected.pid());
+            Assertions.assertEquals(full.ppid(), projected.ppid());
+            Assertions.assertEquals(full.rss(), projected.rss());
+            Assertions.assertEquals(240, projected.rss());
+            Assertions.assertEquals("", projected.comm());
+            Assertions.assertEquals("", projected.state());
+            Assertions.assertEquals(0, projected.pgrp());
+            Assertions.assertEquals(0, projected.exit_code());
+            Assertions.assertEquals("(a (b) c)", full.comm());
+            Assertions.assertEquals(520, full.exit_code());
+        });
+    }
+
+    @Test
+    public void statmTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file("statm", "100 20 10 5 0 30 0\n");
+            Statm projected = new Statm(
+                    new ByteFile(file),
+                    new Projection<Statm.Field>(EnumSet.of(Statm.Field.resident))
+            );
+            Assertions.assertEquals(20, projected.resident());
+            Assertions.assertEquals(0, projected.size());
+            Assertions.assertEquals(0, projected.data());
+        });
+    }
+
+    // Rows that are not requested are skipped, and only the requested rows have to be present.
+    @Test
+    public void osStatTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = file(
+                    "stat",
+                    "cpu  10 0 20 300 0 0 0 0 0 0\n" + "cpu0 10 0 20 300 0 0 0 0 0 0\n" + "intr 1000 1 2 3 4\n"
+                            + "ctxt 5000\n" + "btime 1700000000\n" + "processes 42\n"
+            );
+            com.teragrep.jos_01.procfs.status.os.Stat projected = new com.teragrep.jos_01.procfs.status.os.Stat(
+                    new ByteFile(file),
+                    new Projection<com.teragrep.jos_01.procfs.status.os.Stat.Row>(
+                            EnumSet
+                                    .of(
+                                            com.teragrep.jos_01.procfs.status.os.Stat.Row.cpu,
+                                            com.teragrep.jos_01.procfs.status.os.Stat.Row.btime
+                                    )
+                    )
+            );
+            Assertions.assertEquals(2, projected.cpus().size());
+            Assertions.assertEquals(1700000000, projected.btime());
+            Assertions.assertEquals(0, projected.ctxt());
+            Assertions.assertTrue(projected.intr().isEmpty());
+            Assertions
+                    .assertThrows(Exception.class, () -> new com.teragrep.jos_01.procfs.status.os.Stat(new ByteFile(file)));
+        });
+    }
+
+    // Only the requested keys end up in the table. Meminfo does not require the other keys to be present.
+    @Test
+    public void keyedTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File vmstatFile = file("vmstat", "nr_free_pages 100\n" + "nr_zone_active_anon 5\n" + "pgpgin 300\n");
+            Vmstat vmstat = new Vmstat(
+                    new ByteFile(vmstatFile),
+                    new Projection<Vmstat.Key>(EnumSet.of(Vmstat.Key.pgpgin, Vmstat.Key.pgpgout))
+            );
+            Assertions.assertEquals(300, vmstat.pgpgin());
+            Assertions.assertEquals(0, vmstat.nr_free_pages());
+            Assertions.assertEquals(1, vmstat.table().size());
+            Assertions.assertFalse(vmstat.contains("pgpgout"));
+
+            File meminfoFile = file("meminfo", "MemTotal:        6158152 kB\n" + "MemFree:         5257468 kB\n");
+            Meminfo meminfo = new Meminfo(
+                    new ByteFile(meminfoFile),
+                    new Projection<Meminfo.Key>(EnumSet.of(Meminfo.Key.MemFree))
+            );
+            Assertions.assertEquals(5257468, meminfo.MemFree());
+            Assertions.assertEquals(0, meminfo.MemTotal());
+            // Fields missing from the file are absent like missing Vmstat counters, not an error.
+            Meminfo full = new Meminfo(new ByteFile(meminfoFile));
+            Assertions.assertEquals(6158152, full.MemTotal());
+            Assertions.assertEquals(0, full.Dirty());
+            Assertions.assertFalse(full.contains(Meminfo.Key.Dirty));
+            Assertions.assertTrue(full.contains(Meminfo.Key.MemTotal));
+            Meminfo dirty = new Meminfo(
+                    new ByteFile(meminfoFile),
+                    new Projection<Meminfo.Key>(EnumSet.of(Meminfo.Key.Dirty))
+            );
+            Assertions.assertEquals(0, dirty.Dirty());
+            Assertions.assertFalse(dirty.contains("Dirty"));
+        });
+    }
+}
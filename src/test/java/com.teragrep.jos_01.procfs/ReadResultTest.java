@@ -0,0 +1,219 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.Handles;
+import com.teragrep.jos_01.procfs.status.OneShotHandles;
+import com.teragrep.jos_01.procfs.status.ReadResult;
+import com.teragrep.jos_01.procfs.status.ReadStatus;
+import com.teragrep.jos_01.procfs.status.process.Stat;
+import com.teragrep.jos_01.procfs.status.process.Statm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+public class ReadResultTest {
+
+    @TempDir
+    File procDirectory;
+
+    private void write(String name, String content) throws Exception {
+        File file = new File(procDirectory, name);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private LinuxOS os(Handles handles) throws Exception {
+        write("stat", "cpu  10 0 20 300 0 0 0 0 0 0\n" + "cpu0 10 0 20 300 0 0 0 0 0 0\n" + "btime 1700000000\n");
+        write("meminfo", "MemTotal:       8000000 kB\n");
+        write("uptime", "1000.00 900.00\n");
+        return new LinuxOS(
+                procDirectory.getPath(),
+                new FakeSysconf(),
+                handles,
+                new SharedOSContext(procDirectory, new FakeSysconf(), TimeUnit.MINUTES.toNanos(1))
+        );
+    }
+
+    private void process(long pid) throws Exception {
+        StringBuilder content = new StringBuilder(pid + " (a (b) c) S");
+        for (int field = 4; field <= 52; field++) {
+            content.append(' ').append(field * 10);
+        }
+        write(pid + "/stat", content.append('\n').toString());
+        write(pid + "/statm", "100 20 10 5 0 30 0\n");
+    }
+
+    @Test
+    public void okTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = os(new OneShotHandles());
+            process(100);
+            Process process = new Process(100, os);
+            ReadResult<Stat> stat = process.tryStat();
+            Assertions.assertEquals(ReadStatus.ok, stat.status());
+            Assertions.assertTrue(stat.ok());
+            Assertions.assertEquals(100, stat.value().pid());
+            Assertions.assertEquals(140, stat.value().utime());
+            Assertions.assertNull(stat.cause());
+            Assertions.assertEquals(20, process.tryStatm().value().resident());
+            Assertions.assertEquals(process.residentSetSize(), process.tryResidentSetSize().value());
+            Assertions.assertEquals(process.cpuUsage(), process.tryCpuUsage().value(), 1e-9);
+        });
+    }
+
+    // A process without a directory is gone, and every gone result is the same shared object.
+    @Test
+    public void goneTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = os(new OneShotHandles());
+            Process process = new Process(200, os);
+            ReadResult<Stat> stat = process.tryStat();
+            ReadResult<Statm> statm = process.tryStatm();
+            Assertions.assertEquals(ReadStatus.gone, stat.status());
+            Assertions.assertFalse(stat.ok());
+            Assertions.assertSame(stat, statm);
+            Assertions.assertEquals(ReadStatus.gone, process.tryResidentSetSize().status());
+            Assertions.assertEquals(ReadStatus.gone, process.tryCpuUsage().status());
+            Assertions.assertThrows(Exception.class, stat::value);
+            Task task = new Task(201, process);
+            Assertions.assertEquals(ReadStatus.gone, task.tryStat().status());
+            Assertions.assertEquals(ReadStatus.gone, task.tryStatm().status());
+        });
+    }
+
+    // A file emptied while the process is torn down is gone as well.
+    @Test
+    public void emptyTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = os(new OneShotHandles());
+            write("300/stat", "");
+            Assertions.assertEquals(ReadStatus.gone, new Process(300, os).tryStat().status());
+        });
+    }
+
+    // Content that can not be parsed is a parse error carrying the exception of the parser.
+    @Test
+    public void parseErrorTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = os(new OneShotHandles());
+            write("400/statm", "not numbers\n");
+            ReadResult<Statm> statm = new Process(400, os).tryStatm();
+            Assertions.assertEquals(ReadStatus.parseError, statm.status());
+            Assertions.assertNotNull(statm.cause());
+            Exception exception = Assertions.assertThrows(Exception.class, statm::value);
+            Assertions.assertSame(statm.cause(), exception.getCause());
+        });
+    }
+
+    @Test
+    public void permissionDeniedTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Handles denying = new Handles() {
+
+                @Override
+                public FileChannel open(File file) throws Exception {
+                    throw new AccessDeniedException(file.getPath());
+                }
+
+                @Override
+                public void release(File file, FileChannel channel) {
+                }
+
+                @Override
+                public void discard(File file, FileChannel channel) {
+                }
+            };
+            LinuxOS os = os(denying);
+            process(500);
+            Process process = new Process(500, os);
+            Assertions.assertEquals(ReadStatus.permissionDenied, process.tryStat().status());
+            Assertions.assertEquals(ReadStatus.permissionDenied, process.tryResidentSetSize().status());
+            Assertions.assertEquals(ReadStatus.permissionDenied, new Task(500, process).tryStat().status());
+        });
+    }
+
+    // The process files were read but the uptime of the system was not, so the failure is not a parse error of the process.
+    @Test
+    public void osErrorTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = os(new OneShotHandles());
+            process(600);
+            Assertions.assertTrue(new File(procDirectory, "uptime").delete());
+            ReadResult<Double> cpuUsage = new Process(600, os).tryCpuUsage();
+            Assertions.assertEquals(ReadStatus.osError, cpuUsage.status());
+            Assertions.assertNotNull(cpuUsage.cause());
+        });
+    }
+
+    // Shared failures keep their status, and a failure can not be ok.
+    @Test
+    public void failedTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            for (ReadStatus status : ReadStatus.values()) {
+                if (status == ReadStatus.ok) {
+                    Assertions.assertThrows(IllegalArgumentException.class, () -> ReadResult.failed(status));
+                    Assertions
+                            .assertThrows(
+                                    IllegalArgumentException.class, () -> new ReadResult<Object>(status, new Exception())
+                            );
+                }
+                else {
+                    Assertions.assertEquals(status, ReadResult.failed(status).status());
+                    Assertions.assertSame(ReadResult.failed(status), ReadResult.failed(status));
+                    Assertions.assertNull(ReadResult.failed(status).cause());
+                }
+            }
+        });
+    }
+}
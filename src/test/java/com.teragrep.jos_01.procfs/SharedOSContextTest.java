@@ -0,0 +1,161 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.OneShotHandles;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class SharedOSContextTest {
+
+    @TempDir
+    File procDirectory;
+
+    private void write(String name, String content) throws Exception {
+        Files.write(new File(procDirectory, name).toPath(), content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void files(long memTotal) throws Exception {
+        write(
+                "stat",
+                "cpu  10 0 20 300 0 0 0 0 0 0\n" + "cpu0 5 0 10 150 0 0 0 0 0 0\n" + "cpu2 5 0 10 150 0 0 0 0 0 0\n"
+                        + "intr 1000 1 2 3\n" + "ctxt 5000\n" + "btime 1700000000\n" + "processes 42\n"
+                        + "procs_running 1\n" + "procs_blocked 0\n"
+        );
+        write(
+                "meminfo",
+                "MemTotal:       " + memTotal + " kB\n" + "MemFree:         1000 kB\n" + "Mapped:          4000 kB\n"
+        );
+        write("vmstat", "nr_free_pages 250\n" + "nr_mapped 1000\n");
+    }
+
+    @Test
+    public void contextTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            files(8000000);
+            OSContext context = new SharedOSContext(procDirectory, new FakeSysconf(), TimeUnit.MINUTES.toNanos(1))
+                    .context();
+            Assertions.assertEquals(4, context.pageSize());
+            Assertions.assertEquals(8000000, context.totalRAM());
+            Assertions.assertEquals(1700000000, context.bootTime());
+            Assertions.assertArrayEquals(new int[] {
+                    0, 2
+            }, context.cpuIds());
+            Assertions.assertEquals(2, context.cpuCount());
+            Assertions.assertEquals(1, context.version());
+        });
+    }
+
+    // The context is kept for the time to live, changes to the files show up only after it is loaded again.
+    @Test
+    public void timeToLiveTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            files(8000000);
+            SharedOSContext shared = new SharedOSContext(procDirectory, new FakeSysconf(), TimeUnit.MINUTES.toNanos(1));
+            OSContext first = shared.context();
+            files(16000000);
+            Assertions.assertSame(first, shared.context());
+            shared.invalidate();
+            OSContext second = shared.context();
+            Assertions.assertEquals(16000000, second.totalRAM());
+            Assertions.assertEquals(2, second.version());
+
+            SharedOSContext expiring = new SharedOSContext(procDirectory, new FakeSysconf(), 0);
+            Assertions.assertEquals(1, expiring.context().version());
+            Assertions.assertEquals(2, expiring.context().version());
+        });
+    }
+
+    // Threads asking for the context at the same time should share a single load.
+    @Test
+    public void singleFlightTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            files(8000000);
+            SharedOSContext shared = new SharedOSContext(procDirectory, new FakeSysconf(), TimeUnit.MINUTES.toNanos(1));
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                ArrayList<Callable<OSContext>> calls = new ArrayList<Callable<OSContext>>();
+                for (int i = 0; i < 32; i++) {
+                    calls.add(shared::context);
+                }
+                for (Future<OSContext> future : executor.invokeAll(calls)) {
+                    Assertions.assertEquals(1, future.get().version());
+                }
+            }
+            finally {
+                executor.shutdown();
+            }
+        });
+    }
+
+    // LinuxOS objects given the same SharedOSContext share the loaded context.
+    @Test
+    public void sharedTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            SharedOSContext shared = new SharedOSContext(
+                    new File("/proc"),
+                    new FakeSysconf(),
+                    TimeUnit.MINUTES.toNanos(1)
+            );
+            LinuxOS os = new LinuxOS("/proc", new FakeSysconf(), new OneShotHandles(), shared);
+            LinuxOS other = new LinuxOS("/proc", new FakeSysconf(), new OneShotHandles(), shared);
+            Assertions.assertSame(os.context(), other.context());
+            Assertions.assertTrue(os.context().cpuCount() > 0);
+            Assertions.assertEquals(os.totalRAM(), os.context().totalRAM());
+        });
+    }
+}
@@ -63,4 +63,23 @@ public class SysconfTest {
             Assertions.assertFalse(tickrate == 0);
         });
     }
+
+    // All constants should be read with one call and agree with the JVM and the auxiliary vector. The clock tick rate and the page size stay the same between calls.
+    @Test
+    public void valuesTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Sysconf sysconf = new Sysconf();
+            SysconfValues values = sysconf.values();
+            SysconfValues again = sysconf.values();
+            Assertions.assertEquals(values.clockTicks(), again.clockTicks());
+            Assertions.assertEquals(values.pageSize(), again.pageSize());
+            Assertions.assertEquals(values.pageSize(), sysconf.pageSize());
+            Assertions.assertEquals(values.clockTicks(), sysconf.main());
+            Assertions.assertEquals(new AuxvSysconf(new FakeSysconf()).pageSize(), values.pageSize());
+            Assertions.assertTrue(values.onlineProcessors() > 0);
+            Assertions.assertTrue(values.configuredProcessors() >= values.onlineProcessors());
+            Assertions.assertTrue(values.physicalPages() > 0);
+            Assertions.assertTrue(values.openMax() > 0 || values.openMax() == -1);
+        });
+    }
 }
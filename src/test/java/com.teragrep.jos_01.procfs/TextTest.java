@@ -0,0 +1,262 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.*;
+import com.teragrep.jos_01.procfs.status.os.Meminfo;
+import com.teragrep.jos_01.procfs.status.os.Stat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+
+public class TextTest {
+
+    @TempDir
+    File procDirectory;
+
+    private File meminfo() throws Exception {
+        File file = new File(procDirectory, "meminfo");
+        Files
+                .write(
+                        file.toPath(),
+                        ("MemTotal:        6158152 kB\n" + "MemFree:         5257468 kB\n" + "\n"
+                                + "Active(anon):         20 kB\n" + "HugePages_Total:       0\n")
+                                        .getBytes(StandardCharsets.US_ASCII)
+                );
+        return file;
+    }
+
+    private Text chain(Text origin) {
+        return new Digits(
+                new Trimmed(new Replaced(new CharacterDelimited(new NonEmptyLines(new Matched(origin, "Mem.*|Active.*")), ":"), "kB", ""))
+        );
+    }
+
+    // Streaming a decorator chain should produce the same rows as reading it.
+    @Test
+    public void streamedChainTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            ArrayList<String> read = chain(new RowFile(meminfo())).read();
+            ArrayList<String> streamed = new ArrayList<String>();
+            Lines lines = chain(new RowFile(meminfo())).lines();
+            while (lines.next()) {
+                streamed.add(lines.line());
+            }
+            Assertions.assertEquals(3, read.size());
+            Assertions.assertEquals("6158152", read.get(0));
+            Assertions.assertEquals(read, streamed);
+        });
+    }
+
+    // Streaming a RowFile should not keep the rows, and rows read before streaming are streamed first.
+    @Test
+    public void rowFileStreamTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            RowFile rowFile = new RowFile(meminfo());
+            Lines lines = rowFile.lines();
+            int count = 0;
+            while (lines.next()) {
+                count++;
+            }
+            Assertions.assertEquals(5, count);
+            Assertions.assertEquals(0, rowFile.read().size());
+        });
+    }
+
+    // Texts that do not stream their rows lazily should stream the result of read().
+    @Test
+    public void defaultLinesTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Lines lines = new TimeaddedText("single row").lines();
+            Assertions.assertTrue(lines.next());
+            Assertions.assertEquals("single row", lines.line());
+            Assertions.assertFalse(lines.next());
+        });
+    }
+
+    // A fused pipeline should produce the same rows as the equivalent chain of decorators.
+    @Test
+    public void fusedChainTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Pipeline pipeline = new Pipeline()
+                    .matched("Mem.*|Active.*")
+                    .nonEmpty()
+                    .delimited(":")
+                    .replaced("kB", "")
+                    .trimmed()
+                    .digits();
+            ArrayList<String> fused = new Fused(new RowFile(meminfo()), pipeline).read();
+            ArrayList<String> streamed = new ArrayList<String>();
+            Lines lines = new Fused(new RowFile(meminfo()), pipeline).lines();
+            while (lines.next()) {
+                streamed.add(lines.line());
+            }
+            Assertions.assertEquals(chain(new RowFile(meminfo())).read(), fused);
+            Assertions.assertEquals(fused, streamed);
+        });
+    }
+
+    // Delimiting in a pipeline should split rows the same way CharacterDelimited does.
+    @Test
+    public void fusedDelimitedTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            String[] rows = {
+                    "", ":", "a:b", ":a", "a:", "a::b::", "::", "key: value"
+            };
+            for (String row : rows) {
+                ArrayList<String> delimited = new CharacterDelimited(new TimeaddedText(row), ":").read();
+                ArrayList<String> fused = new Fused(new TimeaddedText(row), new Pipeline().delimited(":")).read();
+                Assertions.assertEquals(delimited, fused, "Row <" + row + ">");
+            }
+        });
+    }
+
+    // A row is selected only when its whole key is known, so prefixes of keys and longer keys are not selected.
+    @Test
+    public void selectedTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            KeyTrie keys = new KeyTrie(':', "MemTotal", "Active", "Active(anon)", "HugePages_Total");
+            ArrayList<String> selected = new Selected(new RowFile(meminfo()), keys).read();
+            Assertions.assertEquals(3, selected.size());
+            Assertions.assertEquals("MemTotal:        6158152 kB", selected.get(0));
+            Assertions.assertEquals(2, keys.slot("Active(anon):         20 kB"));
+            Assertions.assertEquals(-1, keys.slot("Activ: 1"));
+            Assertions.assertEquals(-1, keys.slot("ActiveX: 1"));
+            Assertions.assertEquals(1, keys.slot("Active"));
+
+            ByteCursor cursor = new ByteCursor(new ByteFile(meminfo()).bytes());
+            int[] slots = new int[5];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = keys.slot(cursor);
+                cursor.nextLine();
+            }
+            Assertions.assertArrayEquals(new int[] {
+                    0, -1, -1, 2, 3
+            }, slots);
+        });
+    }
+
+    // Read times are taken around the actual read, not when the Text is created, and decorators and parsers report the times of their origin.
+    @Test
+    public void readTimeTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            RowFile rowFile = new RowFile(meminfo());
+            long created = System.nanoTime();
+            Thread.sleep(5);
+            Text chain = chain(rowFile);
+            chain.read();
+            long read = System.nanoTime();
+            Assertions.assertTrue(rowFile.readStart() > created);
+            Assertions.assertTrue(rowFile.readEnd() >= rowFile.readStart() && rowFile.readEnd() <= read);
+            Assertions.assertEquals(rowFile.readStart(), chain.readStart());
+            Assertions.assertEquals(rowFile.readEnd(), chain.readEnd());
+
+            ByteFile byteFile = new ByteFile(meminfo());
+            long before = System.nanoTime();
+            Meminfo meminfo = new Meminfo(byteFile, new Projection<Meminfo.Key>(EnumSet.of(Meminfo.Key.MemTotal)));
+            Assertions.assertTrue(byteFile.readStart() >= before);
+            Assertions.assertTrue(byteFile.readEnd() <= System.nanoTime());
+            Assertions.assertEquals(byteFile.readStart(), meminfo.readStart());
+            Assertions.assertEquals(byteFile.readEnd(), meminfo.readEnd());
+        });
+    }
+
+    // Parsers of a lazily read RowFile take the timestamp after reading, so it is the time of the read and not the time the RowFile was created.
+    @Test
+    public void lazyTimestampTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = new File(procDirectory, "stat");
+            Files
+                    .write(
+                            file.toPath(),
+                            ("cpu  100 0 100 800 0 0 0 0 0 0\ncpu0 100 0 100 800 0 0 0 0 0 0\nintr 100 0 0\nctxt 1990473\n"
+                                    + "btime 1062191376\nprocesses 2915\nprocs_running 1\nprocs_blocked 0\nsoftirq 183433 0 21755\n")
+                                            .getBytes(StandardCharsets.US_ASCII)
+                    );
+            RowFile statFile = new RowFile(file);
+            RowFile meminfoFile = new RowFile(meminfo());
+            Instant created = Instant.now();
+            Thread.sleep(5);
+            Stat stat = new Stat(statFile);
+            Meminfo meminfo = new Meminfo(meminfoFile);
+            Assertions.assertTrue(stat.timestamp().isAfter(created));
+            Assertions.assertEquals(statFile.timestamp(), stat.timestamp());
+            Assertions.assertTrue(meminfo.timestamp().isAfter(created));
+            Assertions.assertEquals(meminfoFile.timestamp(), meminfo.timestamp());
+        });
+    }
+
+    // A Text that does not know its read times still compiles and reports the time of the call.
+    @Test
+    public void defaultReadTimeTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            Instant now = Instant.now();
+            Text text = new Text() {
+
+                @Override
+                public ArrayList<String> read() {
+                    return new ArrayList<String>();
+                }
+
+                @Override
+                public Instant timestamp() {
+                    return now;
+                }
+            };
+            long before = System.nanoTime();
+            long readStart = text.readStart();
+            long readEnd = text.readEnd();
+            Assertions.assertTrue(before <= readStart && readStart <= readEnd && readEnd <= System.nanoTime());
+        });
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Java Operating System Statistics JOS-01
+ * Copyright (C) 2021-2024 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.jos_01.procfs;
+
+import com.teragrep.jos_01.procfs.status.ByteFile;
+import com.teragrep.jos_01.procfs.status.RowFile;
+import com.teragrep.jos_01.procfs.status.os.Vmstat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class VmstatTest {
+
+    @TempDir
+    File procDirectory;
+
+    // Every counter of the real vmstat should end up in the table.
+    @Test
+    public void tableTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            LinuxOS os = new LinuxOS();
+            int rows = new RowFile(os.procDirectory(), "vmstat").read().size();
+            Vmstat vmstat = os.vmstat();
+            Vmstat byteVmstat = new Vmstat(new ByteFile(os.procDirectory(), "vmstat"));
+            Assertions.assertEquals(rows, vmstat.table().size());
+            Assertions.assertEquals(rows, byteVmstat.table().size());
+            Assertions.assertEquals(vmstat.table().name(0), byteVmstat.table().name(0));
+            Assertions.assertTrue(vmstat.nr_free_pages() > 0);
+        });
+    }
+
+    // Counters the kernel does not have are reported as 0, and counters without an accessor are available by name.
+    @Test
+    public void missingCountersTest() {
+        Assertions.assertDoesNotThrow(() -> {
+            File file = new File(procDirectory, "vmstat");
+            Files
+                    .write(
+                            file.toPath(),
+                            "nr_free_pages 1385\nnr_zone_inactive_anon 48727\nnr_mapped 35965\npgfault 9000000000\n"
+                                    .getBytes(StandardCharsets.US_ASCII)
+                    );
+            Vmstat vmstat = new Vmstat(new RowFile(file));
+            Vmstat byteVmstat = new Vmstat(new ByteFile(file));
+            for (Vmstat parsed : new Vmstat[] {
+                    vmstat, byteVmstat
+            }) {
+                Assertions.assertEquals(1385, parsed.nr_free_pages());
+                Assertions.assertEquals(35965, parsed.nr_mapped());
+                Assertions.assertEquals(9000000000L, parsed.pgfault());
+                Assertions.assertEquals(0, parsed.numa_hit());
+                Assertions.assertFalse(parsed.contains("numa_hit"));
+                Assertions.assertEquals(48727, parsed.value("nr_zone_inactive_anon"));
+                Assertions.assertEquals(4, parsed.table().size());
+                Assertions.assertEquals(3, parsed.read().size());
+            }
+        });
+    }
+}